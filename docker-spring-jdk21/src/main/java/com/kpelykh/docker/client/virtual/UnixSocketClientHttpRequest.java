@@ -0,0 +1,101 @@
+package com.kpelykh.docker.client.virtual;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * A HTTP/1.1 request over a unix socket. The body is buffered and sent with the headers on {@link #execute()}.
+ */
+class UnixSocketClientHttpRequest implements ClientHttpRequest {
+
+	private final Path socketPath;
+
+	private final URI uri;
+
+	private final HttpMethod method;
+
+	private final HttpHeaders headers = new HttpHeaders();
+
+	private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+	UnixSocketClientHttpRequest(Path socketPath, URI uri, HttpMethod method) {
+		this.socketPath = socketPath;
+		this.uri = uri;
+		this.method = method;
+	}
+
+	@Override
+	public HttpMethod getMethod() {
+		return method;
+	}
+
+	@Override
+	public URI getURI() {
+		return uri;
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		return headers;
+	}
+
+	@Override
+	public OutputStream getBody() {
+		return body;
+	}
+
+	@Override
+	public ClientHttpResponse execute() throws IOException {
+		SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+		try {
+			channel.connect(UnixDomainSocketAddress.of(socketPath));
+			OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+			out.write(requestHead().getBytes(StandardCharsets.ISO_8859_1));
+			body.writeTo(out);
+			out.flush();
+			return new UnixSocketClientHttpResponse(channel);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private String requestHead() {
+		StringBuilder head = new StringBuilder();
+		String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+		head.append(method.name()).append(' ').append(path);
+		if (uri.getRawQuery() != null) {
+			head.append('?').append(uri.getRawQuery());
+		}
+		head.append(" HTTP/1.1\r\n");
+		head.append("Host: docker\r\n");
+		head.append("Connection: close\r\n");
+		for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+			for (String value : header.getValue()) {
+				head.append(header.getKey()).append(": ").append(value).append("\r\n");
+			}
+		}
+		if (!headers.containsKey("Content-Length")) {
+			head.append("Content-Length: ").append(body.size()).append("\r\n");
+		}
+		head.append("\r\n");
+		return head.toString();
+	}
+
+}
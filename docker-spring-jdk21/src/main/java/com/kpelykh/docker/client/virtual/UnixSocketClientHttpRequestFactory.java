@@ -0,0 +1,37 @@
+package com.kpelykh.docker.client.virtual;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+/**
+ * Sends the requests of a {@link com.kpelykh.docker.client.DockerClient} to the unix socket of the docker daemon, using
+ * the unix domain socket channels of the JDK. The host of the request URI is ignored.
+ * <p>
+ * Every request uses its own connection and blocks in plain channel I/O without holding a monitor, so a virtual thread
+ * waiting for the daemon unmounts from its carrier thread. Interrupting the thread closes the connection.
+ */
+public class UnixSocketClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+	public static final Path DEFAULT_SOCKET_PATH = Path.of("/var/run/docker.sock");
+
+	private final Path socketPath;
+
+	public UnixSocketClientHttpRequestFactory(Path socketPath) {
+		this.socketPath = socketPath;
+	}
+
+	public UnixSocketClientHttpRequestFactory() {
+		this(DEFAULT_SOCKET_PATH);
+	}
+
+	@Override
+	public ClientHttpRequest createRequest(URI uri, HttpMethod method) throws IOException {
+		return new UnixSocketClientHttpRequest(socketPath, uri, method);
+	}
+
+}
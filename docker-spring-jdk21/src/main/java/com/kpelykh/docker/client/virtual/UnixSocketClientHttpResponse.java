@@ -0,0 +1,198 @@
+package com.kpelykh.docker.client.virtual;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * The response to a {@link UnixSocketClientHttpRequest}. The head is parsed up front, the body is read from the socket
+ * as the caller consumes it, decoding a chunked transfer encoding if present. Closing the response closes the
+ * connection.
+ */
+class UnixSocketClientHttpResponse implements ClientHttpResponse {
+
+	private final SocketChannel channel;
+
+	private final InputStream in;
+
+	private final int statusCode;
+
+	private final String statusText;
+
+	private final HttpHeaders headers = new HttpHeaders();
+
+	private final InputStream body;
+
+	UnixSocketClientHttpResponse(SocketChannel channel) throws IOException {
+		this.channel = channel;
+		this.in = new BufferedInputStream(Channels.newInputStream(channel));
+
+		String statusLine = readLine();
+		String[] status = statusLine.split(" ", 3);
+		if (status.length < 2 || !status[0].startsWith("HTTP/")) {
+			throw new IOException("Malformed status line '" + statusLine + "'.");
+		}
+		statusCode = Integer.parseInt(status[1]);
+		statusText = status.length > 2 ? status[2] : "";
+		for (String line = readLine(); !line.isEmpty(); line = readLine()) {
+			int colon = line.indexOf(':');
+			if (colon > 0) {
+				headers.add(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+			}
+		}
+
+		String transferEncoding = headers.getFirst("Transfer-Encoding");
+		String contentLength = headers.getFirst("Content-Length");
+		if (transferEncoding != null && transferEncoding.equalsIgnoreCase("chunked")) {
+			body = new ChunkedInputStream();
+		} else if (contentLength != null) {
+			body = new LimitedInputStream(in, Long.parseLong(contentLength));
+		} else {
+			body = in;
+		}
+	}
+
+	@Override
+	public HttpStatus getStatusCode() {
+		return HttpStatus.valueOf(statusCode);
+	}
+
+	@Override
+	public int getRawStatusCode() {
+		return statusCode;
+	}
+
+	@Override
+	public String getStatusText() {
+		return statusText;
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		return headers;
+	}
+
+	@Override
+	public InputStream getBody() {
+		return body;
+	}
+
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException ignore) {
+			// nothing left to release
+		}
+	}
+
+	private String readLine() throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+		int b;
+		while ((b = in.read()) != '\n') {
+			if (b < 0) {
+				throw new EOFException("Connection closed within the response head.");
+			}
+			if (b != '\r') {
+				line.write(b);
+			}
+		}
+		return line.toString(StandardCharsets.ISO_8859_1);
+	}
+
+	private static class LimitedInputStream extends FilterInputStream {
+
+		private long remaining;
+
+		LimitedInputStream(InputStream in, long length) {
+			super(in);
+			this.remaining = length;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int b = super.read();
+			if (b >= 0) {
+				remaining--;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+			if (read > 0) {
+				remaining -= read;
+			}
+			return read;
+		}
+
+	}
+
+	private class ChunkedInputStream extends InputStream {
+
+		private long remaining;
+
+		private boolean eof;
+
+		@Override
+		public int read() throws IOException {
+			byte[] single = new byte[1];
+			return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			if (remaining == 0 && !nextChunk()) {
+				return -1;
+			}
+			int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+			if (read < 0) {
+				throw new EOFException("Connection closed within a chunk.");
+			}
+			remaining -= read;
+			if (remaining == 0) {
+				readLine();
+			}
+			return read;
+		}
+
+		private boolean nextChunk() throws IOException {
+			if (eof) {
+				return false;
+			}
+			String size = readLine();
+			int extension = size.indexOf(';');
+			remaining = Long.parseLong((extension < 0 ? size : size.substring(0, extension)).trim(), 16);
+			if (remaining == 0) {
+				// skip trailers
+				while (!readLine().isEmpty()) {
+				}
+				eof = true;
+				return false;
+			}
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.kpelykh.docker.client.virtual;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * Runs the calls of a {@link DockerClient} on virtual threads, so callers are no longer bound by the size of a platform
+ * thread pool. Besides single calls it offers fan-out helpers which keep the calls structured: they return only once
+ * every call they started has finished, and the first failure cancels the remaining calls.
+ * <p>
+ * The blocking client is used as is. Use {@link #unixSocket(Path)} to talk to the daemon through a transport which
+ * does not pin virtual threads to their carriers.
+ */
+public class VirtualThreadDocker implements AutoCloseable {
+
+	private static final ThreadFactory THREAD_FACTORY = Thread.ofVirtual().name("docker-", 0).factory();
+
+	private final DockerClient dockerClient;
+
+	private final ExecutorService executor = Executors.newThreadPerTaskExecutor(THREAD_FACTORY);
+
+	public VirtualThreadDocker(DockerClient dockerClient) {
+		this.dockerClient = dockerClient;
+	}
+
+	/**
+	 * Connect to the daemon through its unix socket.
+	 */
+	public static VirtualThreadDocker unixSocket(Path socketPath) {
+		// the host is ignored by the unix socket transport
+		DockerClient dockerClient = new DockerClient("http://docker");
+		dockerClient.setRequestFactory(new UnixSocketClientHttpRequestFactory(socketPath));
+		return new VirtualThreadDocker(dockerClient);
+	}
+
+	public DockerClient getDockerClient() {
+		return dockerClient;
+	}
+
+	/**
+	 * Run a single call on its own virtual thread.
+	 */
+	public <T> CompletableFuture<T> call(Function<? super DockerClient, ? extends T> call) {
+		return CompletableFuture.supplyAsync(() -> call.apply(dockerClient), executor);
+	}
+
+	/**
+	 * Apply the call to every item concurrently, each on its own virtual thread.
+	 * @return the results in the order of the items.
+	 * @throws RuntimeException the failure of the first call which failed, after the other calls were cancelled.
+	 */
+	public <I, T> List<T> fanOut(Collection<? extends I> items, BiFunction<? super DockerClient, ? super I, ? extends T> call) {
+		return fanOut(items, call, null);
+	}
+
+	/**
+	 * @param timeout for all calls together, <code>null</code> to wait without limit.
+	 * @throws DockerException if the calls did not finish in time. The unfinished calls are cancelled.
+	 * @see #fanOut(Collection, BiFunction)
+	 */
+	public <I, T> List<T> fanOut(Collection<? extends I> items, BiFunction<? super DockerClient, ? super I, ? extends T> call,
+			Duration timeout) {
+		long deadline = timeout == null ? Long.MAX_VALUE : System.nanoTime() + timeout.toNanos();
+		// a scope of its own, closing it waits for cancelled calls to finish so none of them outlives the fan-out
+		try (ExecutorService scope = Executors.newThreadPerTaskExecutor(THREAD_FACTORY)) {
+			CompletionService<T> completions = new ExecutorCompletionService<>(scope);
+			List<Future<T>> futures = new ArrayList<>(items.size());
+			for (I item : items) {
+				futures.add(completions.submit(() -> call.apply(dockerClient, item)));
+			}
+			try {
+				// in order of completion, so the first failure cancels the others right away
+				for (int i = 0; i < futures.size(); i++) {
+					Future<T> completed = timeout == null ? completions.take()
+							: completions.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+					if (completed == null) {
+						cancel(futures);
+						throw new DockerException("Fan-out over " + items.size() + " items did not finish within " + timeout + ".");
+					}
+					completed.get();
+				}
+				List<T> results = new ArrayList<>(futures.size());
+				for (Future<T> future : futures) {
+					results.add(future.get());
+				}
+				return results;
+			} catch (ExecutionException e) {
+				cancel(futures);
+				throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new DockerException(e.getCause());
+			} catch (InterruptedException e) {
+				cancel(futures);
+				Thread.currentThread().interrupt();
+				throw new DockerException("Interrupted while waiting for fan-out.", e);
+			}
+		}
+	}
+
+	private static void cancel(List<? extends Future<?>> futures) {
+		for (Future<?> future : futures) {
+			future.cancel(true);
+		}
+	}
+
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+
+}
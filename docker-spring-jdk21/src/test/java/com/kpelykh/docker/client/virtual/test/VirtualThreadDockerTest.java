@@ -0,0 +1,159 @@
+package com.kpelykh.docker.client.virtual.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.NotFoundException;
+import com.kpelykh.docker.client.virtual.UnixSocketClientHttpRequestFactory;
+import com.kpelykh.docker.client.virtual.VirtualThreadDocker;
+
+/**
+ * Runs against a fake daemon on a temporary unix socket, no docker installation is needed.
+ */
+public class VirtualThreadDockerTest {
+
+	private Path socketPath;
+
+	private ServerSocketChannel server;
+
+	private volatile String lastRequestLine;
+
+	@Before
+	public void startFakeDaemon() throws IOException {
+		socketPath = Files.createTempDirectory("docker-test").resolve("docker.sock");
+		server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		server.bind(UnixDomainSocketAddress.of(socketPath));
+		Thread.ofVirtual().start(() -> {
+			while (server.isOpen()) {
+				try {
+					respond(server.accept());
+				} catch (IOException e) {
+					return;
+				}
+			}
+		});
+	}
+
+	@After
+	public void stopFakeDaemon() throws IOException {
+		server.close();
+		Files.deleteIfExists(socketPath);
+	}
+
+	private void respond(SocketChannel channel) throws IOException {
+		try (channel) {
+			BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.ISO_8859_1));
+			lastRequestLine = in.readLine();
+			while (!in.readLine().isEmpty()) {
+			}
+			OutputStream out = Channels.newOutputStream(channel);
+			if (lastRequestLine.startsWith("GET /events")) {
+				out.write("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n6\r\n{\"a\":1\r\n1\r\n}\r\n0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+			} else {
+				out.write("HTTP/1.1 404 Not Found\r\nContent-Length: 9\r\n\r\nnot found".getBytes(StandardCharsets.ISO_8859_1));
+			}
+		}
+	}
+
+	@Test
+	public void shouldSendRequestThroughUnixSocket() throws Exception {
+		UnixSocketClientHttpRequestFactory requestFactory = new UnixSocketClientHttpRequestFactory(socketPath);
+
+		ClientHttpRequest request = requestFactory.createRequest(URI.create("http://docker/containers/json?all=1"), HttpMethod.GET);
+		try (AutoCloseableResponse response = new AutoCloseableResponse(request.execute())) {
+			assertThat(response.get().getRawStatusCode(), is(404));
+			assertThat(new String(response.get().getBody().readAllBytes(), StandardCharsets.ISO_8859_1), is("not found"));
+		}
+		assertThat(lastRequestLine, is("GET /containers/json?all=1 HTTP/1.1"));
+	}
+
+	@Test
+	public void shouldDecodeChunkedResponse() throws Exception {
+		UnixSocketClientHttpRequestFactory requestFactory = new UnixSocketClientHttpRequestFactory(socketPath);
+
+		ClientHttpRequest request = requestFactory.createRequest(URI.create("http://docker/events"), HttpMethod.GET);
+		try (AutoCloseableResponse response = new AutoCloseableResponse(request.execute())) {
+			assertThat(new String(response.get().getBody().readAllBytes(), StandardCharsets.ISO_8859_1), is("{\"a\":1}"));
+		}
+	}
+
+	@Test
+	public void shouldReturnFanOutResultsInOrder() {
+		try (VirtualThreadDocker docker = new VirtualThreadDocker(new DockerClient())) {
+			List<Integer> results = docker.fanOut(List.of(3, 1, 2), (dockerClient, item) -> {
+				sleep(item * 50);
+				return item * 10;
+			});
+
+			assertThat(results, contains(30, 10, 20));
+		}
+	}
+
+	@Test
+	public void shouldCancelFanOutOnFirstFailure() {
+		AtomicBoolean interrupted = new AtomicBoolean();
+		try (VirtualThreadDocker docker = new VirtualThreadDocker(new DockerClient())) {
+			docker.fanOut(List.of("slow", "missing"), (dockerClient, item) -> {
+				if (item.equals("missing")) {
+					throw new NotFoundException("missing");
+				}
+				try {
+					Thread.sleep(10000);
+				} catch (InterruptedException e) {
+					interrupted.set(true);
+				}
+				return item;
+			});
+			fail("Fan-out should have failed");
+		} catch (NotFoundException e) {
+			assertThat(e.getMessage(), startsWith("missing"));
+		}
+		assertThat(interrupted.get(), is(equalTo(true)));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private record AutoCloseableResponse(ClientHttpResponse get) implements AutoCloseable {
+
+		@Override
+		public void close() {
+			get.close();
+		}
+
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.kpelykh.docker.client;
+
+/**
+ * Indicates that the request conflicts with the current state, e.g. a container name which is already in use.
+ */
+public class ConflictException extends DockerException {
+
+	private static final long serialVersionUID = -3071287427410442538L;
+
+	public ConflictException(String message) {
+		super(message);
+	}
+
+}
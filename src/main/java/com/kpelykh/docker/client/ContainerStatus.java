@@ -0,0 +1,26 @@
+package com.kpelykh.docker.client;
+
+/**
+ * Outcome of {@link DockerClient#probeContainer(String)}.
+ */
+public enum ContainerStatus {
+
+	/**
+	 * No container with the given id or name exists.
+	 */
+	ABSENT,
+
+	RUNNING,
+
+	PAUSED,
+
+	/**
+	 * The container exists but is not running, either because it exited or because it was never started.
+	 */
+	STOPPED;
+
+	public boolean exists() {
+		return this != ABSENT;
+	}
+
+}
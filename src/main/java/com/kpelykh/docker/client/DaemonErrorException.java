@@ -0,0 +1,29 @@
+package com.kpelykh.docker.client;
+
+/**
+ * Indicates that the docker daemon failed to process a request. Carries the status code and the error message the
+ * daemon responded with.
+ */
+public class DaemonErrorException extends DockerException {
+
+	private static final long serialVersionUID = 5254316911373386214L;
+
+	private final int statusCode;
+
+	private final String responseBody;
+
+	public DaemonErrorException(int statusCode, String responseBody) {
+		super("Docker daemon responded with " + statusCode + (responseBody == null || responseBody.isEmpty() ? "" : ": " + responseBody));
+		this.statusCode = statusCode;
+		this.responseBody = responseBody;
+	}
+
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	public String getResponseBody() {
+		return responseBody;
+	}
+
+}
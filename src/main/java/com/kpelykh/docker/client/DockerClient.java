@@ -15,24 +15,36 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriTemplate;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonGenerationException;
@@ -40,6 +52,15 @@ import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.codec.ModelCodecs;
+import com.kpelykh.docker.client.endpoint.EndpointTransport;
+import com.kpelykh.docker.client.governor.RequestGovernor;
+import com.kpelykh.docker.client.lanes.ConnectionLanes;
+import com.kpelykh.docker.client.projection.FieldProjection;
+import com.kpelykh.docker.client.projection.ProjectedFields;
+import com.kpelykh.docker.client.retry.RetryInterceptor;
+import com.kpelykh.docker.client.model.AuthConfig;
+import com.kpelykh.docker.client.model.BoundHostVolumes;
 import com.kpelykh.docker.client.model.ChangeLog;
 import com.kpelykh.docker.client.model.CommitConfig;
 import com.kpelykh.docker.client.model.Container;
@@ -48,31 +69,66 @@ import com.kpelykh.docker.client.model.ContainerCreateResponse;
 import com.kpelykh.docker.client.model.ContainerInspectResponse;
 import com.kpelykh.docker.client.model.ContainerTopResponse;
 import com.kpelykh.docker.client.model.ContainerWaitResponse;
+import com.kpelykh.docker.client.model.CopyConfig;
+import com.kpelykh.docker.client.model.DriverStatus;
+import com.kpelykh.docker.client.model.Event;
 import com.kpelykh.docker.client.model.HostConfig;
+import com.kpelykh.docker.client.model.HostPortBinding;
 import com.kpelykh.docker.client.model.Image;
 import com.kpelykh.docker.client.model.ImageCreateResponse;
 import com.kpelykh.docker.client.model.ImageInspectResponse;
 import com.kpelykh.docker.client.model.Info;
+import com.kpelykh.docker.client.model.Port;
+import com.kpelykh.docker.client.model.Ports;
+import com.kpelykh.docker.client.model.ProgressMessage;
 import com.kpelykh.docker.client.model.SearchItem;
 import com.kpelykh.docker.client.model.Version;
+import com.kpelykh.docker.client.stats.StatsListener;
+import com.kpelykh.docker.client.stats.StatsMonitor;
+import com.kpelykh.docker.client.stats.StatsSubscription;
 import com.kpelykh.docker.client.utils.CompressArchiveUtil;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
 
 /**
  * @author Konstantin Pelykh (kpelykh@gmail.com)
  * @author Florian Waibel (fwaibel@eclipsesource.com)
  */
-public class DockerClient {
+public class DockerClient implements InitializingBean {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(DockerClient.class);
 
-	private String dockerDeamonUrl;
+	// shared, so the serializers it resolved are reused by every call
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private static final FieldProjection STATE_PROJECTION = FieldProjection.of("State.Running", "State.Paused");
+
+	// read once per call, so every call goes to one daemon even while the URL changes
+	private volatile String dockerDeamonUrl;
 
 	private RestTemplate restTemplate;
 
+	private final DockerDaemonResponseErrorHandler errorHandler = new DockerDaemonResponseErrorHandler();
+
 	// info and version return ContentType text/plain which is ignored by the
 	// MJHMC by default.
 	private RestTemplate textRestTemplate;
 
+	private RequestGovernor requestGovernor;
+
+	private RetryInterceptor retryInterceptor;
+
+	private ConnectionLanes connectionLanes;
+
+	private EndpointTransport endpointTransport;
+
+	private volatile boolean stacklessNotFound;
+
+	private int warmUpConnections;
+
+	private volatile boolean ready = true;
+
+	private volatile ObjectMapper mapper = MAPPER;
+
 	public DockerClient() {
 		this("http://localhost:4243");
 	}
@@ -89,19 +145,31 @@ public class DockerClient {
 		@Override
 		public void handleError(ClientHttpResponse response) throws IOException {
 			if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
-				throw new NotFoundException("Image or container not found.");
+				String message = "Image or container not found: " + responseBody(response);
+				throw stacklessNotFound ? NotFoundException.withoutStackTrace(message) : new NotFoundException(message);
+			}
+			if (response.getStatusCode() == HttpStatus.CONFLICT) {
+				throw new ConflictException(responseBody(response));
 			}
-			if (response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR) {
-				throw new DockerException();
+			if (response.getStatusCode().series() == HttpStatus.Series.SERVER_ERROR) {
+				throw new DaemonErrorException(response.getRawStatusCode(), responseBody(response));
 			}
 			super.handleError(response);
 		}
+
+		private String responseBody(ClientHttpResponse response) {
+			try {
+				return IOUtils.toString(response.getBody(), "UTF-8").trim();
+			} catch (IOException e) {
+				return "";
+			}
+		}
 	}
 
 	public DockerClient(String serverUrl) {
 		dockerDeamonUrl = serverUrl;
 		restTemplate = new RestTemplate();
-		restTemplate.setErrorHandler(new DockerDaemonResponseErrorHandler());
+		restTemplate.setErrorHandler(errorHandler);
 
 		textRestTemplate = new RestTemplate();
 		List<HttpMessageConverter<?>> messageConverters = textRestTemplate.getMessageConverters();
@@ -118,11 +186,237 @@ public class DockerClient {
 		// client.addFilter(new LoggingFilter());
 	}
 
+	/**
+	 * Send further calls to another daemon. With an {@link EndpointTransport}, calls in flight finish on the connections
+	 * of the previous URL.
+	 */
 	public void setDockerDeamonUrl(String dockerDeamonUrl) {
 		LOGGER.info("Changing docker deamon URL to '{}'", dockerDeamonUrl);
+		EndpointTransport transport = endpointTransport;
+		if (transport != null) {
+			// the pool of the new URL has to exist before the first call uses it
+			transport.switchTo(dockerDeamonUrl);
+		}
 		this.dockerDeamonUrl = dockerDeamonUrl;
 	}
 
+	public String getDockerDeamonUrl() {
+		return dockerDeamonUrl;
+	}
+
+	/**
+	 * Replace the transport used to talk to the docker daemon, e.g. to connect through a unix socket. Replaces connection
+	 * lanes or an endpoint transport set before.
+	 */
+	public void setRequestFactory(ClientHttpRequestFactory requestFactory) {
+		replaceTransport("a request factory");
+		useRequestFactory(requestFactory);
+	}
+
+	/**
+	 * Send streaming requests and short control calls over separate connection pools, so open streams cannot starve
+	 * control calls of connections. Replaces an endpoint transport set before, the daemon URL is then switched without
+	 * draining. Use {@link EndpointTransport#setSchemeRegistry} to combine TLS with draining instead.
+	 */
+	public void setConnectionLanes(ConnectionLanes connectionLanes) {
+		replaceTransport("connection lanes");
+		useRequestFactory(connectionLanes);
+		this.connectionLanes = connectionLanes;
+	}
+
+	/**
+	 * Give every daemon URL its own connection pool and drain the pool of the previous URL when the URL changes. Replaces
+	 * connection lanes set before, the transport creates the lanes of every URL itself.
+	 */
+	public void setEndpointTransport(EndpointTransport endpointTransport) {
+		if (dockerDeamonUrl != null) {
+			endpointTransport.switchTo(dockerDeamonUrl);
+		}
+		replaceTransport("an endpoint transport");
+		useRequestFactory(endpointTransport);
+		this.endpointTransport = endpointTransport;
+	}
+
+	/**
+	 * Forget the transport set before, only one of them sends the requests.
+	 */
+	private void replaceTransport(String replacement) {
+		if (endpointTransport != null) {
+			LOGGER.warn("Replacing the endpoint transport by {}, the daemon URL is switched without draining from now on.",
+					replacement);
+		}
+		endpointTransport = null;
+		connectionLanes = null;
+	}
+
+	private void useRequestFactory(ClientHttpRequestFactory requestFactory) {
+		restTemplate.setRequestFactory(requestFactory);
+		textRestTemplate.setRequestFactory(requestFactory);
+	}
+
+	/**
+	 * @return the endpoint transport in use, or <code>null</code> if the daemon URL is switched without draining.
+	 */
+	public EndpointTransport getEndpointTransport() {
+		return endpointTransport;
+	}
+
+	/**
+	 * @return the connection lanes in use, or <code>null</code> if all requests share the default transport.
+	 */
+	public ConnectionLanes getConnectionLanes() {
+		return connectionLanes;
+	}
+
+	/**
+	 * Send all requests through the given governor to limit the load on the docker daemon.
+	 */
+	public void setRequestGovernor(RequestGovernor requestGovernor) {
+		this.requestGovernor = requestGovernor;
+		updateInterceptors();
+	}
+
+	/**
+	 * Repeat requests which failed for transient reasons and stop sending requests to a daemon which keeps failing.
+	 */
+	public void setRetryInterceptor(RetryInterceptor retryInterceptor) {
+		this.retryInterceptor = retryInterceptor;
+		updateInterceptors();
+	}
+
+	private void updateInterceptors() {
+		List<ClientHttpRequestInterceptor> interceptors = new ArrayList<ClientHttpRequestInterceptor>();
+		if (requestGovernor != null) {
+			interceptors.add(requestGovernor);
+		}
+		// every retry continues the execution from where the interceptor was called, so it has to come last
+		if (retryInterceptor != null) {
+			interceptors.add(retryInterceptor);
+		}
+		restTemplate.setInterceptors(interceptors);
+		textRestTemplate.setInterceptors(interceptors);
+	}
+
+	/**
+	 * @param stacklessNotFound whether a {@link NotFoundException} skips capturing its stack trace, for callers which
+	 *            expect many misses.
+	 */
+	public void setStacklessNotFound(boolean stacklessNotFound) {
+		this.stacklessNotFound = stacklessNotFound;
+	}
+
+	/**
+	 * Bind container and image lists, inspect responses, info and the container config with the hand-written codecs of
+	 * {@link ModelCodecs} instead of Jackson's annotation introspection and reflection.
+	 */
+	public void setStreamingCodecs(boolean streamingCodecs) {
+		mapper = streamingCodecs ? ModelCodecs.sharedMapper() : MAPPER;
+		for (RestTemplate template : Arrays.asList(restTemplate, textRestTemplate)) {
+			for (HttpMessageConverter<?> converter : template.getMessageConverters()) {
+				if (converter instanceof MappingJackson2HttpMessageConverter) {
+					((MappingJackson2HttpMessageConverter) converter).setObjectMapper(mapper);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Opt in to warming up the client when it is initialized as a Spring bean, see {@link #warmUp(int)}. The client is
+	 * not {@link #isReady() ready} before the warm-up succeeded.
+	 * @param warmUpConnections number of connections to open, 0 to skip the warm-up.
+	 */
+	public void setWarmUpConnections(int warmUpConnections) {
+		Preconditions.checkArgument(warmUpConnections >= 0, "Number of connections can't be negative");
+		this.warmUpConnections = warmUpConnections;
+		ready = warmUpConnections == 0;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (warmUpConnections > 0) {
+			try {
+				warmUp(warmUpConnections);
+			} catch (RuntimeException e) {
+				LOGGER.warn("Warm-up of the docker client failed, it is not ready.", e);
+			}
+		}
+	}
+
+	/**
+	 * Do the one-time work of the first calls up front: resolve the JSON serializers of all model types, open
+	 * connections to the daemon and send a first request through both templates.
+	 * @param connections number of connections to open concurrently, they stay in the pool of the transport. With 0 no
+	 *            extra connections are opened, only the first requests are sent.
+	 */
+	public void warmUp(int connections) throws DockerException {
+		Preconditions.checkArgument(connections >= 0, "Number of connections can't be negative");
+		long start = System.nanoTime();
+		List<ObjectMapper> mappers = new ArrayList<ObjectMapper>();
+		mappers.add(mapper);
+		for (RestTemplate template : Arrays.asList(restTemplate, textRestTemplate)) {
+			for (HttpMessageConverter<?> converter : template.getMessageConverters()) {
+				if (converter instanceof MappingJackson2HttpMessageConverter) {
+					mappers.add(((MappingJackson2HttpMessageConverter) converter).getObjectMapper());
+				}
+			}
+		}
+		for (ObjectMapper objectMapper : mappers) {
+			for (Class<?> type : ModelTypes.ALL) {
+				objectMapper.canSerialize(type);
+				objectMapper.canDeserialize(objectMapper.constructType(type));
+				// lists are read as arrays
+				objectMapper.canDeserialize(objectMapper.getTypeFactory().constructArrayType(type));
+			}
+		}
+
+		if (connections > 0) {
+			openConnections(connections);
+		}
+		version();
+		restTemplate.getForObject(dockerDeamonUrl + "/_ping", String.class);
+		ready = true;
+		LOGGER.info("Docker client warmed up in {}ms.", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	private void openConnections(int connections) {
+		ExecutorService executor = Executors.newFixedThreadPool(connections, new DaemonThreadFactory("docker-warm-up"));
+		try {
+			final CountDownLatch started = new CountDownLatch(connections);
+			List<Future<Integer>> pings = new ArrayList<Future<Integer>>();
+			for (int i = 0; i < connections; i++) {
+				pings.add(executor.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() throws Exception {
+						// wait for the others, so the pings do not reuse each other's connections
+						started.countDown();
+						started.await();
+						return ping();
+					}
+				}));
+			}
+			for (Future<Integer> ping : pings) {
+				ping.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DockerException("Interrupted while warming up.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof DockerException) {
+				throw (DockerException) e.getCause();
+			}
+			throw new DockerException("Failed to open connections to " + dockerDeamonUrl, e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return whether the client can be used, <code>false</code> while an opted-in warm-up did not succeed yet.
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
 	/**
 	 * * MISC API *
 	 */
@@ -136,10 +430,24 @@ public class DockerClient {
 	}
 
 	public int ping() {
-		ResponseEntity<Object> entity = textRestTemplate.getForEntity(dockerDeamonUrl + "_ping", null);
+		ResponseEntity<Object> entity = textRestTemplate.getForEntity(dockerDeamonUrl + "/_ping", null);
 		return entity.getStatusCode().value();
 	}
 
+	/**
+	 * Stream the events of the docker daemon.
+	 * @param since unix timestamp of the first event to return, events since then are replayed.
+	 */
+	public EventStream events(long since) throws DockerException {
+		ClientHttpResponse response = openStream(HttpMethod.GET, "/events?since={since}", since);
+		try {
+			return new EventStream(response);
+		} catch (IOException e) {
+			response.close();
+			throw new DockerException("Failed to open the event stream.", e);
+		}
+	}
+
 	/**
 	 ** IMAGES API
 	 **/
@@ -242,6 +550,15 @@ public class DockerClient {
 		return Arrays.asList(response);
 	}
 
+	/**
+	 * Like {@link #getImages(String, boolean)}, but binds the images one at a time while the response is read.
+	 */
+	public JsonArrayStream<Image> streamImages(String name, boolean allImages) throws DockerException {
+		ClientHttpResponse response = openStream(HttpMethod.GET, "/images/json?filter={filter}&all={all}", name == null ? "" : name,
+				allImages ? "1" : "0");
+		return jsonArrayStream(response, Image.class);
+	}
+
 	public ImageInspectResponse inspectImage(String imageId) throws DockerException {
 		return restTemplate.getForObject(dockerDeamonUrl + "/images/{imageId}/json", ImageInspectResponse.class, imageId);
 	}
@@ -262,7 +579,7 @@ public class DockerClient {
 
 		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 		try {
-			new ObjectMapper().writeValue(outputStream, containerConfig);
+			mapper.writeValue(outputStream, containerConfig);
 			LOGGER.debug("Creating a container with the following configuration: {}.", new String(outputStream.toByteArray()));
 		} catch (JsonGenerationException e1) {
 			e1.printStackTrace();
@@ -279,7 +596,7 @@ public class DockerClient {
 		String response = null;
 		response = restTemplate.postForObject(dockerDeamonUrl + "/containers/create" + containerParameter, requestEntity, String.class);
 		try {
-			return new ObjectMapper().readValue(response, ContainerCreateResponse.class);
+			return mapper.readValue(response, ContainerCreateResponse.class);
 		} catch (JsonParseException e) {
 			throw new IllegalStateException(e);
 		} catch (JsonMappingException e) {
@@ -289,6 +606,51 @@ public class DockerClient {
 		}
 	}
 
+	/**
+	 * Check whether a container exists without parsing the inspect response and without throwing if it does not.
+	 */
+	public boolean containerExists(String containerId) throws DockerException {
+		ClientHttpResponse response = execute(HttpMethod.GET, null, "/containers/{containerId}/json", containerId);
+		try {
+			if (response.getRawStatusCode() == HttpStatus.NOT_FOUND.value()) {
+				return false;
+			}
+			if (errorHandler.hasError(response)) {
+				errorHandler.handleError(response);
+			}
+			return true;
+		} catch (IOException e) {
+			throw new DockerException("Failed to query container '" + containerId + "'.", e);
+		} finally {
+			response.close();
+		}
+	}
+
+	/**
+	 * Query the state of a container. Only the state flags of the inspect response are read, a missing container is
+	 * reported as {@link ContainerStatus#ABSENT} instead of an exception.
+	 */
+	public ContainerStatus probeContainer(String containerId) throws DockerException {
+		ClientHttpResponse response = execute(HttpMethod.GET, null, "/containers/{containerId}/json", containerId);
+		try {
+			if (response.getRawStatusCode() == HttpStatus.NOT_FOUND.value()) {
+				return ContainerStatus.ABSENT;
+			}
+			if (errorHandler.hasError(response)) {
+				errorHandler.handleError(response);
+			}
+			ProjectedFields state = STATE_PROJECTION.read(response.getBody(), mapper);
+			if (state.getBoolean("State.Paused")) {
+				return ContainerStatus.PAUSED;
+			}
+			return state.getBoolean("State.Running") ? ContainerStatus.RUNNING : ContainerStatus.STOPPED;
+		} catch (IOException e) {
+			throw new DockerException("Failed to query container '" + containerId + "'.", e);
+		} finally {
+			response.close();
+		}
+	}
+
 	public List<Container> listContainers(boolean listAll) {
 		Container[] response = restTemplate.getForObject(dockerDeamonUrl + "/containers/json?all={all}", Container[].class, listAll);
 		return Arrays.asList(response);
@@ -322,6 +684,41 @@ public class DockerClient {
 		return Arrays.asList(response);
 	}
 
+	/**
+	 * Like {@link #listContainers(boolean)}, but binds the containers one at a time while the response is read, e.g. to
+	 * filter or count tens of thousands of exited containers without holding all of them in memory.
+	 */
+	public JsonArrayStream<Container> streamContainers(boolean allContainers) throws DockerException {
+		ClientHttpResponse response = openStream(HttpMethod.GET, "/containers/json?all={all}", allContainers ? "1" : "0");
+		return jsonArrayStream(response, Container.class);
+	}
+
+	private <T> JsonArrayStream<T> jsonArrayStream(ClientHttpResponse response, Class<T> type) {
+		try {
+			return new JsonArrayStream<T>(response, mapper, type);
+		} catch (IOException e) {
+			response.close();
+			throw new DockerException("Failed to read the JSON array.", e);
+		} catch (DockerException e) {
+			response.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Like {@link #listContainers(boolean)}, but only reads the given fields of each container.
+	 */
+	public List<ProjectedFields> listContainers(boolean allContainers, FieldProjection projection) throws DockerException {
+		ClientHttpResponse response = openStream(HttpMethod.GET, "/containers/json?all={all}", allContainers ? "1" : "0");
+		try {
+			return projection.readArray(response.getBody(), mapper);
+		} catch (IOException e) {
+			throw new DockerException("Failed to read the container list.", e);
+		} finally {
+			response.close();
+		}
+	}
+
 	public void startContainer(String containerId) throws DockerException {
 		this.startContainer(containerId, null);
 	}
@@ -334,10 +731,37 @@ public class DockerClient {
 		return restTemplate.getForObject(dockerDeamonUrl + "/containers/{containerId}/json", ContainerInspectResponse.class, containerId);
 	}
 
+	/**
+	 * Like {@link #inspectContainer(String)}, but only reads the given fields, e.g. {@code State.Running}, and skips the
+	 * rest of the response.
+	 */
+	public ProjectedFields inspectContainer(String containerId, FieldProjection projection) throws DockerException {
+		ClientHttpResponse response = openStream(HttpMethod.GET, "/containers/{containerId}/json", containerId);
+		try {
+			return projection.read(response.getBody(), mapper);
+		} catch (IOException e) {
+			throw new DockerException("Failed to read container '" + containerId + "'.", e);
+		} finally {
+			response.close();
+		}
+	}
+
 	public ContainerTopResponse top(String containerId) throws DockerException {
 		return restTemplate.getForObject(dockerDeamonUrl + "/containers/{containerId}/top", ContainerTopResponse.class, containerId);
 	}
 
+	/**
+	 * Stream the resource usage of a container on a new daemon thread until the returned subscription is closed. Use a
+	 * {@link StatsMonitor} to watch many containers.
+	 */
+	public StatsSubscription stats(String containerId, StatsListener listener) {
+		StatsSubscription subscription = new StatsSubscription(this, containerId, listener);
+		Thread thread = new Thread(subscription, "docker-stats-" + containerId);
+		thread.setDaemon(true);
+		thread.start();
+		return subscription;
+	}
+
 	public void removeContainer(String container) throws DockerException {
 		this.removeContainer(container, false);
 	}
@@ -414,6 +838,14 @@ public class DockerClient {
 		restTemplate.postForLocation(dockerDeamonUrl + "/containers/{containerId}/kill", null, containerId);
 	}
 
+	public void pauseContainer(String containerId) throws DockerException {
+		restTemplate.postForLocation(dockerDeamonUrl + "/containers/{containerId}/pause", null, containerId);
+	}
+
+	public void unpauseContainer(String containerId) throws DockerException {
+		restTemplate.postForLocation(dockerDeamonUrl + "/containers/{containerId}/unpause", null, containerId);
+	}
+
 	private static class CommitResponse {
 
 		@JsonProperty("Id")
@@ -441,7 +873,7 @@ public class DockerClient {
 				+ "/commit?container={container}&repo={repo}&tag={tag}&m={m}&author={author}&run={run}", null, String.class, params);
 
 		try {
-			return new ObjectMapper().readValue(response, CommitResponse.class).id;
+			return mapper.readValue(response, CommitResponse.class).id;
 		} catch (JsonParseException e) {
 			throw new IllegalStateException(e);
 		} catch (JsonMappingException e) {
@@ -470,6 +902,22 @@ public class DockerClient {
 	}
 
 	public InputStream build(File dockerFolder, String tag, boolean noCache) throws DockerException {
+		HttpEntity<byte[]> requestEntity = buildContext(dockerFolder);
+		final ResponseEntity<String> response = restTemplate.exchange(dockerDeamonUrl + "/build?t={tag}", HttpMethod.POST, requestEntity,
+				String.class, tag);
+
+		return new ByteArrayInputStream(response.getBody().getBytes());
+	}
+
+	/**
+	 * Start a build and return its progress stream as it is produced. The caller has to close the returned response.
+	 */
+	public ClientHttpResponse openBuild(File dockerFolder, String tag, boolean noCache) throws DockerException {
+		HttpEntity<byte[]> requestEntity = buildContext(dockerFolder);
+		return openStream(HttpMethod.POST, requestEntity, "/build?t={tag}&nocache={nocache}", tag, noCache ? "true" : "false");
+	}
+
+	private HttpEntity<byte[]> buildContext(File dockerFolder) throws DockerException {
 		Preconditions.checkNotNull(dockerFolder, "Folder is null");
 		Preconditions.checkArgument(dockerFolder.exists(), "Folder %s doesn't exist", dockerFolder);
 		Preconditions.checkState(new File(dockerFolder, "Dockerfile").exists(), "Dockerfile doesn't exist in " + dockerFolder);
@@ -536,15 +984,74 @@ public class DockerClient {
 		} catch (IOException e) {
 			throw new IllegalStateException(e);
 		}
+		return requestEntity;
+	}
 
-		final ResponseEntity<String> response = restTemplate.exchange(dockerDeamonUrl + "/build?t={tag}", HttpMethod.POST, requestEntity,
-				String.class, tag);
+	/**
+	 * Execute a request whose response is consumed while it is still being received, as opposed to the RestTemplate methods
+	 * which read the response completely. The caller has to close the returned response.
+	 */
+	public ClientHttpResponse openStream(HttpMethod method, String path, Object... uriVariables) throws DockerException {
+		return openStream(method, null, path, uriVariables);
+	}
 
-		return new ByteArrayInputStream(response.getBody().getBytes());
+	/**
+	 * @param requestEntity headers and body to send, may be <code>null</code>.
+	 * @see #openStream(HttpMethod, String, Object...)
+	 */
+	public ClientHttpResponse openStream(HttpMethod method, HttpEntity<byte[]> requestEntity, String path, Object... uriVariables)
+			throws DockerException {
+		ClientHttpResponse response = execute(method, requestEntity, path, uriVariables);
+		try {
+			if (errorHandler.hasError(response)) {
+				try {
+					errorHandler.handleError(response);
+				} finally {
+					response.close();
+				}
+			}
+		} catch (IOException e) {
+			throw new DockerException("I/O error on " + method + " request for " + path, e);
+		}
+		return response;
+	}
+
+	/**
+	 * Execute a request and return its response whatever its status is.
+	 */
+	private ClientHttpResponse execute(HttpMethod method, HttpEntity<byte[]> requestEntity, String path, Object... uriVariables)
+			throws DockerException {
+		URI uri = new UriTemplate(dockerDeamonUrl + path).expand(uriVariables);
+		try {
+			ClientHttpRequest request = restTemplate.getRequestFactory().createRequest(uri, method);
+			if (requestEntity != null) {
+				request.getHeaders().putAll(requestEntity.getHeaders());
+				if (requestEntity.getBody() != null) {
+					request.getBody().write(requestEntity.getBody());
+				}
+			}
+			return request.execute();
+		} catch (IOException e) {
+			throw new DockerException("I/O error on " + method + " request for " + uri, e);
+		}
 	}
 
 	public RestTemplate getRestTemplate() {
 		return restTemplate;
 	}
 
+	/**
+	 * The model types resolved by {@link #warmUp(int)}. Kept apart, so loading the client does not load every model class,
+	 * e.g. for a command line call which only needs a few of them.
+	 */
+	private static final class ModelTypes {
+
+		static final Class<?>[] ALL = { AuthConfig.class, BoundHostVolumes.class, ChangeLog.class, CommitConfig.class,
+				Container.class, ContainerConfig.class, ContainerCreateResponse.class, ContainerInspectResponse.class,
+				ContainerTopResponse.class, ContainerWaitResponse.class, CopyConfig.class, DriverStatus.class, Event.class,
+				HostConfig.class, HostPortBinding.class, Image.class, ImageCreateResponse.class, ImageInspectResponse.class,
+				Info.class, Port.class, Ports.class, ProgressMessage.class, SearchItem.class, Version.class };
+
+	}
+
 }
@@ -0,0 +1,166 @@
+package com.kpelykh.docker.client;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.endpoint.EndpointTransport;
+import com.kpelykh.docker.client.governor.RequestGovernor;
+import com.kpelykh.docker.client.lanes.ConnectionLanes;
+import com.kpelykh.docker.client.model.IBuilder;
+import com.kpelykh.docker.client.retry.RetryInterceptor;
+
+/**
+ * Sets up a {@link DockerClient} in code, without a Spring application context, e.g. for command line tools which
+ * should start quickly:
+ * 
+ * <pre>
+ * DockerClient dockerClient = DockerClientBuilder.fromConfig().withStacklessNotFound(true).build();
+ * </pre>
+ */
+public class DockerClientBuilder implements IBuilder<DockerClient> {
+
+	private String url;
+
+	private ClientHttpRequestFactory requestFactory;
+
+	private ConnectionLanes connectionLanes;
+
+	private EndpointTransport endpointTransport;
+
+	private RequestGovernor requestGovernor;
+
+	private RetryInterceptor retryInterceptor;
+
+	private boolean stacklessNotFound;
+
+	private boolean streamingCodecs;
+
+	private int warmUpConnections;
+
+	/**
+	 * @param url e.g. {@code http://localhost:4243}.
+	 */
+	public static DockerClientBuilder forUrl(String url) {
+		return new DockerClientBuilder().withUrl(url);
+	}
+
+	/**
+	 * Take the daemon URL from {@code docker.io.url}, which may be set as system property, in
+	 * {@code ~/.docker.io.properties} or falls back to the default of the library.
+	 */
+	public static DockerClientBuilder fromConfig() {
+		return forUrl(Config.createConfig().url.toString());
+	}
+
+	public DockerClientBuilder withUrl(String url) {
+		this.url = url;
+		return this;
+	}
+
+	/**
+	 * @see DockerClient#setRequestFactory(ClientHttpRequestFactory)
+	 */
+	public DockerClientBuilder withRequestFactory(ClientHttpRequestFactory requestFactory) {
+		this.requestFactory = requestFactory;
+		return this;
+	}
+
+	/**
+	 * @see DockerClient#setConnectionLanes(ConnectionLanes)
+	 */
+	public DockerClientBuilder withConnectionLanes(ConnectionLanes connectionLanes) {
+		this.connectionLanes = connectionLanes;
+		return this;
+	}
+
+	/**
+	 * @see DockerClient#setEndpointTransport(EndpointTransport)
+	 */
+	public DockerClientBuilder withEndpointTransport(EndpointTransport endpointTransport) {
+		this.endpointTransport = endpointTransport;
+		return this;
+	}
+
+	/**
+	 * @see DockerClient#setRequestGovernor(RequestGovernor)
+	 */
+	public DockerClientBuilder withRequestGovernor(RequestGovernor requestGovernor) {
+		this.requestGovernor = requestGovernor;
+		return this;
+	}
+
+	/**
+	 * @see DockerClient#setRetryInterceptor(RetryInterceptor)
+	 */
+	public DockerClientBuilder withRetryInterceptor(RetryInterceptor retryInterceptor) {
+		this.retryInterceptor = retryInterceptor;
+		return this;
+	}
+
+	/**
+	 * @see DockerClient#setStacklessNotFound(boolean)
+	 */
+	public DockerClientBuilder withStacklessNotFound(boolean stacklessNotFound) {
+		this.stacklessNotFound = stacklessNotFound;
+		return this;
+	}
+
+	/**
+	 * @see DockerClient#setStreamingCodecs(boolean)
+	 */
+	public DockerClientBuilder withStreamingCodecs(boolean streamingCodecs) {
+		this.streamingCodecs = streamingCodecs;
+		return this;
+	}
+
+	/**
+	 * Warm the client up while building it.
+	 * @see DockerClient#warmUp(int)
+	 */
+	public DockerClientBuilder withWarmUp(int connections) {
+		this.warmUpConnections = connections;
+		return this;
+	}
+
+	/**
+	 * @throws DockerException if the warm-up failed.
+	 */
+	@Override
+	public DockerClient build() throws DockerException {
+		Preconditions.checkState(url != null, "Daemon URL was not specified");
+		int transports = (requestFactory == null ? 0 : 1) + (connectionLanes == null ? 0 : 1) + (endpointTransport == null ? 0 : 1);
+		Preconditions.checkState(transports <= 1, "Only one of request factory, connection lanes and endpoint transport can be set");
+		DockerClient dockerClient = new DockerClient(url);
+		if (requestFactory != null) {
+			dockerClient.setRequestFactory(requestFactory);
+		}
+		if (connectionLanes != null) {
+			dockerClient.setConnectionLanes(connectionLanes);
+		}
+		if (endpointTransport != null) {
+			dockerClient.setEndpointTransport(endpointTransport);
+		}
+		if (requestGovernor != null) {
+			dockerClient.setRequestGovernor(requestGovernor);
+		}
+		if (retryInterceptor != null) {
+			dockerClient.setRetryInterceptor(retryInterceptor);
+		}
+		dockerClient.setStacklessNotFound(stacklessNotFound);
+		if (streamingCodecs) {
+			dockerClient.setStreamingCodecs(true);
+		}
+		if (warmUpConnections > 0) {
+			dockerClient.warmUp(warmUpConnections);
+		}
+		return dockerClient;
+	}
+
+	/**
+	 * Build a client and a template using it. The template has to be closed when it is no longer used.
+	 */
+	public DockerTemplate buildTemplate() throws DockerException {
+		return new DockerTemplate(build());
+	}
+
+}
@@ -33,6 +33,31 @@ public interface DockerOperations {
 
 	boolean containerExists(String containerName);
 
+	/**
+	 * Wait for a container to run.
+	 * @param containerName id or name of the container.
+	 * @param timeoutMillis how long to wait at most.
+	 * @return whether the container is running.
+	 */
+	boolean awaitRunning(String containerName, long timeoutMillis);
+
+	/**
+	 * Wait for a container to exit.
+	 * @param containerName id or name of the container.
+	 * @param timeoutMillis how long to wait at most.
+	 * @return the exit code of the container, null if it is still running.
+	 */
+	Integer awaitExit(String containerName, long timeoutMillis);
+
+	/**
+	 * Wait for an exposed port of a container to accept connections.
+	 * @param containerName id or name of the container.
+	 * @param containerPort exposed tcp port, mapped to the host.
+	 * @param timeoutMillis how long to wait at most.
+	 * @return whether the port accepts connections.
+	 */
+	boolean awaitHealthy(String containerName, int containerPort, long timeoutMillis);
+
 	String getServerVersion();
 
 }
@@ -4,32 +4,56 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.web.client.HttpClientErrorException;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kpelykh.docker.client.model.ContainerConfig;
 import com.kpelykh.docker.client.model.ContainerCreateResponse;
-import com.kpelykh.docker.client.model.ContainerInspectResponse;
 import com.kpelykh.docker.client.model.HostConfig;
 import com.kpelykh.docker.client.model.Ports;
 import com.kpelykh.docker.client.model.Ports.Port;
+import com.kpelykh.docker.client.watch.ContainerWatcher;
 
 public class DockerTemplate implements DockerOperations {
 
 	private static final Logger LOG = LoggerFactory.getLogger(DockerTemplate.class);
 
+	private static final long AWAIT_MARGIN_MILLIS = 5000;
+
 	private DockerClient dockerClient;
 
+	private ContainerWatcher containerWatcher;
+
 	public DockerTemplate(DockerClient dockerClient) {
 		this.dockerClient = dockerClient;
 	}
 
+	private synchronized ContainerWatcher getContainerWatcher() {
+		if (containerWatcher == null) {
+			containerWatcher = new ContainerWatcher(dockerClient);
+		}
+		return containerWatcher;
+	}
+
+	/**
+	 * Stop watching containers, pending awaits fail.
+	 */
+	public synchronized void close() {
+		if (containerWatcher != null) {
+			containerWatcher.close();
+			containerWatcher = null;
+		}
+	}
+
 	@Override
 	public String build(String tag, String dockerFolderName) {
 		LOG.info("Building new image '{}' from directory '{}'", tag, dockerFolderName);
@@ -103,28 +127,77 @@ public class DockerTemplate implements DockerOperations {
 	@Override
 	public boolean containerExists(String containerName) {
 		try {
-			dockerClient.inspectContainer(containerName);
-			return true;
+			return dockerClient.containerExists(containerName);
 		} catch (DockerException e) {
-			throw new RuntimeException("Failed to query the docker daemon.");
-		} catch (HttpClientErrorException e) {
-			return false;
+			throw new RuntimeException("Failed to query the docker daemon.", e);
 		}
 	}
 
 	@Override
 	public boolean isRunning(String containerName) {
-		ContainerInspectResponse response;
+		ContainerStatus status;
 		try {
-			response = dockerClient.inspectContainer(containerName);
-			return response.getState().running;
-		} catch (NotFoundException e) {
+			status = dockerClient.probeContainer(containerName);
+		} catch (DockerException e) {
+			throw new RuntimeException("Failed to query the docker daemon.", e);
+		}
+		if (status == ContainerStatus.ABSENT) {
 			throw new IllegalArgumentException("Container '" + containerName + "' does not exist.");
+		}
+		// a paused container is still running
+		return status == ContainerStatus.RUNNING || status == ContainerStatus.PAUSED;
+	}
+
+	@Override
+	public boolean awaitRunning(String containerName, long timeoutMillis) {
+		return await(getContainerWatcher().awaitRunning(containerName, timeoutMillis, TimeUnit.MILLISECONDS), containerName,
+				timeoutMillis) != null;
+	}
+
+	@Override
+	public Integer awaitExit(String containerName, long timeoutMillis) {
+		String containerId = await(getContainerWatcher().awaitExit(containerName, timeoutMillis, TimeUnit.MILLISECONDS),
+				containerName, timeoutMillis);
+		if (containerId == null) {
+			return null;
+		}
+		try {
+			return dockerClient.inspectContainer(containerId).getState().exitCode;
 		} catch (DockerException e) {
 			throw new RuntimeException("Failed to query the docker daemon.", e);
 		}
 	}
 
+	@Override
+	public boolean awaitHealthy(String containerName, int containerPort, long timeoutMillis) {
+		return await(getContainerWatcher().awaitHealthy(containerName, containerPort, timeoutMillis, TimeUnit.MILLISECONDS),
+				containerName, timeoutMillis) != null;
+	}
+
+	/**
+	 * @return the result of the future, null if it timed out.
+	 */
+	private <T> T await(Future<T> future, String containerName, long timeoutMillis) {
+		try {
+			// the watcher enforces the timeout, this is a backstop in case it never completes the future
+			return future.get(timeoutMillis + AWAIT_MARGIN_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(false);
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for container '" + containerName + "'.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof TimeoutException) {
+				return null;
+			}
+			if (e.getCause() instanceof NotFoundException) {
+				throw new IllegalArgumentException("Container '" + containerName + "' does not exist.");
+			}
+			throw new RuntimeException("Failed to query the docker daemon.", e.getCause());
+		}
+	}
+
 	public void stop(String containerId) {
 		try {
 			dockerClient.stopContainer(containerId);
@@ -0,0 +1,60 @@
+package com.kpelykh.docker.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kpelykh.docker.client.model.Event;
+
+/**
+ * Iterates over the events of the docker daemon as they happen. {@link #hasNext()} blocks until the next event arrives, the
+ * stream has to be closed to release the connection.
+ */
+public class EventStream implements Iterator<Event>, Closeable {
+
+	private final ClientHttpResponse response;
+
+	private final MappingIterator<Event> events;
+
+	EventStream(ClientHttpResponse response) throws IOException {
+		this.response = response;
+		this.events = new ObjectMapper().reader(Event.class).readValues(response.getBody());
+	}
+
+	@Override
+	public boolean hasNext() {
+		try {
+			return events.hasNextValue();
+		} catch (IOException e) {
+			throw new DockerException("Failed to read the event stream.", e);
+		}
+	}
+
+	@Override
+	public Event next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		try {
+			return events.nextValue();
+		} catch (IOException e) {
+			throw new DockerException("Failed to read the event stream.", e);
+		}
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void close() {
+		response.close();
+	}
+
+}
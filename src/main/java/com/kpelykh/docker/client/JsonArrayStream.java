@@ -0,0 +1,92 @@
+package com.kpelykh.docker.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Iterates over the elements of a JSON array response, binding one element at a time while the response is read, so a
+ * large listing never has to fit into memory as a whole. The response is released once the last element was read;
+ * streams which are abandoned earlier have to be closed.
+ */
+public class JsonArrayStream<T> implements Iterator<T>, Closeable {
+
+	private final ClientHttpResponse response;
+
+	private final JsonParser parser;
+
+	private final ObjectReader reader;
+
+	private boolean pending;
+
+	private boolean exhausted;
+
+	JsonArrayStream(ClientHttpResponse response, ObjectMapper mapper, Class<T> type) throws IOException {
+		this.response = response;
+		this.parser = mapper.getFactory().createParser(response.getBody());
+		this.reader = mapper.reader(type);
+		if (parser.nextToken() != JsonToken.START_ARRAY) {
+			throw new DockerException("Expected a JSON array but got " + parser.getCurrentToken());
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (!pending && !exhausted) {
+			JsonToken token;
+			try {
+				token = parser.nextToken();
+			} catch (IOException e) {
+				close();
+				throw new DockerException("Failed to read the JSON array.", e);
+			}
+			if (token == null || token == JsonToken.END_ARRAY) {
+				exhausted = true;
+				close();
+			} else {
+				pending = true;
+			}
+		}
+		return pending;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		pending = false;
+		try {
+			return reader.readValue(parser);
+		} catch (IOException e) {
+			close();
+			throw new DockerException("Failed to read the JSON array.", e);
+		}
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void close() {
+		exhausted = true;
+		pending = false;
+		try {
+			parser.close();
+		} catch (IOException ignore) {
+			// the response is closed anyway
+		}
+		response.close();
+	}
+
+}
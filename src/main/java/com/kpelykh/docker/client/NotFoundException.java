@@ -19,4 +19,26 @@ public class NotFoundException extends DockerException {
 		super(message, cause);
 	}
 
+	/**
+	 * @return an exception which does not capture the stack trace, for misses which are expected and frequent.
+	 */
+	public static NotFoundException withoutStackTrace(String message) {
+		return new Stackless(message);
+	}
+
+	private static class Stackless extends NotFoundException {
+
+		private static final long serialVersionUID = -2386197462301948117L;
+
+		Stackless(String message) {
+			super(message);
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+
+	}
+
 }
@@ -0,0 +1,181 @@
+package com.kpelykh.docker.client.batch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
+
+/**
+ * Creates and starts a set of containers concurrently. Every container runs through create and start on its own, so the
+ * topology is up after roughly the time of its slowest container instead of the sum of all round trips.
+ * <p>
+ * A container linking to another container of the batch by name is only created once that container is running. If
+ * the linked container fails, its dependents fail as well without being created.
+ */
+public class ContainerBatch {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ContainerBatch.class);
+
+	private final DockerClient dockerClient;
+
+	private final int concurrency;
+
+	/**
+	 * @param concurrency maximum number of containers being created or started at the same time.
+	 */
+	public ContainerBatch(DockerClient dockerClient, int concurrency) {
+		Preconditions.checkArgument(concurrency > 0, "Concurrency must be positive");
+		this.dockerClient = dockerClient;
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Create and start all containers, blocking until every one of them is either running or failed.
+	 * @return one result per spec, in the order of the given specs.
+	 */
+	public List<ContainerBatchResult> createAndStart(List<ContainerSpec> specs) {
+		int count = specs.size();
+		Map<String, Integer> byName = new HashMap<String, Integer>();
+		for (int i = 0; i < count; i++) {
+			String name = normalize(specs.get(i).getName());
+			if (name != null) {
+				Preconditions.checkArgument(byName.put(name, i) == null, "Duplicate container name '" + name + "' in batch");
+			}
+		}
+
+		int[] pendingLinks = new int[count];
+		List<List<Integer>> dependents = new ArrayList<List<Integer>>(count);
+		for (int i = 0; i < count; i++) {
+			dependents.add(new ArrayList<Integer>());
+		}
+		for (int i = 0; i < count; i++) {
+			for (String link : links(specs.get(i))) {
+				Integer dependency = byName.get(link);
+				if (dependency != null && dependency != i) {
+					pendingLinks[i]++;
+					dependents.get(dependency).add(i);
+				}
+			}
+		}
+
+		ContainerBatchResult[] results = new ContainerBatchResult[count];
+		if (count == 0) {
+			return Arrays.asList(results);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, count),
+				new DaemonThreadFactory("docker-batch"));
+		CompletionService<Integer> completionService = new ExecutorCompletionService<Integer>(executor);
+		int inFlight = 0;
+		int done = 0;
+		try {
+			for (int i = 0; i < count; i++) {
+				if (pendingLinks[i] == 0) {
+					completionService.submit(task(specs, i, results));
+					inFlight++;
+				}
+			}
+			while (inFlight > 0) {
+				List<Integer> finished = new ArrayList<Integer>();
+				finished.add(take(completionService));
+				inFlight--;
+				// fail dependents of failed containers transitively, submit those whose links are all running
+				while (!finished.isEmpty()) {
+					int index = finished.remove(finished.size() - 1);
+					done++;
+					for (int dependent : dependents.get(index)) {
+						if (results[dependent] != null) {
+							continue;
+						}
+						if (!results[index].isStarted()) {
+							results[dependent] = new ContainerBatchResult(specs.get(dependent), null, new DockerException(
+									"Linked container '" + specs.get(index).getName() + "' failed to start."));
+							finished.add(dependent);
+						} else if (--pendingLinks[dependent] == 0) {
+							completionService.submit(task(specs, dependent, results));
+							inFlight++;
+						}
+					}
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		if (done < count) {
+			for (int i = 0; i < count; i++) {
+				if (results[i] == null) {
+					results[i] = new ContainerBatchResult(specs.get(i), null, new DockerException("Container '"
+							+ specs.get(i).getName() + "' is part of circular links."));
+				}
+			}
+		}
+		return Arrays.asList(results);
+	}
+
+	private Callable<Integer> task(List<ContainerSpec> specs, final int index, final ContainerBatchResult[] results) {
+		final ContainerSpec spec = specs.get(index);
+		return new Callable<Integer>() {
+			@Override
+			public Integer call() {
+				results[index] = createAndStart(spec);
+				return index;
+			}
+		};
+	}
+
+	private ContainerBatchResult createAndStart(ContainerSpec spec) {
+		String containerId = null;
+		try {
+			containerId = dockerClient.createContainer(spec.getContainerConfig(), spec.getName()).getId();
+			dockerClient.startContainer(containerId, spec.getHostConfig());
+			return new ContainerBatchResult(spec, containerId, null);
+		} catch (RuntimeException e) {
+			LOG.warn("Failed to create and start container '" + spec.getName() + "'.", e);
+			DockerException error = e instanceof DockerException ? (DockerException) e : new DockerException(e);
+			return new ContainerBatchResult(spec, containerId, error);
+		}
+	}
+
+	private static int take(CompletionService<Integer> completionService) {
+		try {
+			return completionService.take().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DockerException("Interrupted while creating containers.", e);
+		} catch (ExecutionException e) {
+			throw new DockerException(e.getCause());
+		}
+	}
+
+	private static List<String> links(ContainerSpec spec) {
+		List<String> names = new ArrayList<String>();
+		if (spec.getHostConfig() == null || spec.getHostConfig().getLinks() == null) {
+			return names;
+		}
+		for (String link : spec.getHostConfig().getLinks()) {
+			int colon = link.indexOf(':');
+			names.add(normalize(colon < 0 ? link : link.substring(0, colon)));
+		}
+		return names;
+	}
+
+	private static String normalize(String name) {
+		return name != null && name.startsWith("/") ? name.substring(1) : name;
+	}
+
+}
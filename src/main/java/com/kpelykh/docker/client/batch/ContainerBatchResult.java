@@ -0,0 +1,47 @@
+package com.kpelykh.docker.client.batch;
+
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * Outcome of one {@link ContainerSpec} of a batch. A container which was created but failed to start has both an id and
+ * an error.
+ */
+public class ContainerBatchResult {
+
+	private final ContainerSpec spec;
+
+	private final String containerId;
+
+	private final DockerException error;
+
+	ContainerBatchResult(ContainerSpec spec, String containerId, DockerException error) {
+		this.spec = spec;
+		this.containerId = containerId;
+		this.error = error;
+	}
+
+	public ContainerSpec getSpec() {
+		return spec;
+	}
+
+	/**
+	 * @return id of the created container or <code>null</code> if it could not be created.
+	 */
+	public String getContainerId() {
+		return containerId;
+	}
+
+	public DockerException getError() {
+		return error;
+	}
+
+	public boolean isStarted() {
+		return error == null;
+	}
+
+	@Override
+	public String toString() {
+		return "ContainerBatchResult{" + "name=" + spec.getName() + ", containerId=" + containerId + ", error=" + error + '}';
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.kpelykh.docker.client.batch;
+
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.HostConfig;
+
+/**
+ * One container of a {@link ContainerBatch}: what to create and how to start it. Other containers of the same batch can
+ * refer to it by name in their {@link HostConfig#getLinks() links}.
+ */
+public class ContainerSpec {
+
+	private final String name;
+
+	private final ContainerConfig containerConfig;
+
+	private final HostConfig hostConfig;
+
+	/**
+	 * @param name container name, may be <code>null</code> for an anonymous container.
+	 * @param hostConfig may be <code>null</code> to start with the daemon defaults.
+	 */
+	public ContainerSpec(String name, ContainerConfig containerConfig, HostConfig hostConfig) {
+		this.name = name;
+		this.containerConfig = containerConfig;
+		this.hostConfig = hostConfig;
+	}
+
+	public ContainerSpec(ContainerConfig containerConfig, HostConfig hostConfig) {
+		this(null, containerConfig, hostConfig);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public ContainerConfig getContainerConfig() {
+		return containerConfig;
+	}
+
+	public HostConfig getHostConfig() {
+		return hostConfig;
+	}
+
+	@Override
+	public String toString() {
+		return "ContainerSpec{" + "name=" + name + ", containerConfig=" + containerConfig + ", hostConfig=" + hostConfig + '}';
+	}
+
+}
@@ -0,0 +1,317 @@
+package com.kpelykh.docker.client.cluster;
+
+import java.io.InputStream;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.NotFoundException;
+import com.kpelykh.docker.client.model.Container;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.ContainerCreateResponse;
+import com.kpelykh.docker.client.model.ContainerInspectResponse;
+import com.kpelykh.docker.client.model.ContainerTopResponse;
+import com.kpelykh.docker.client.model.ContainerWaitResponse;
+import com.kpelykh.docker.client.model.HostConfig;
+import com.kpelykh.docker.client.model.Image;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
+
+/**
+ * Multi-daemon client. New containers are placed on one of the healthy {@link DockerHost}s by the configured
+ * {@link PlacementStrategy}; all follow-up operations are routed to the host owning the container.
+ */
+public class DockerCluster {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DockerCluster.class);
+
+	private final List<DockerHost> hosts;
+
+	// container id -> owning host
+	private final Map<String, DockerHost> containerOwners = new ConcurrentHashMap<String, DockerHost>();
+
+	// container name -> container id
+	private final Map<String, String> containerNames = new ConcurrentHashMap<String, String>();
+
+	private volatile PlacementStrategy placementStrategy = new LeastContainersPlacementStrategy();
+
+	private ScheduledExecutorService healthChecker;
+
+	private final ExecutorService queryExecutor = Executors.newCachedThreadPool(new DaemonThreadFactory("docker-cluster-query"));
+
+	private final ScatterGather scatterGather = new ScatterGather(queryExecutor);
+
+	// connect and read timeouts of the query clients
+	private final List<SimpleClientHttpRequestFactory> queryRequestFactories = new ArrayList<SimpleClientHttpRequestFactory>();
+
+	/**
+	 * The hosts get query clients which time out with the fleet-wide queries.
+	 */
+	public DockerCluster(String... serverUrls) {
+		this(createClients(serverUrls));
+		for (DockerHost host : hosts) {
+			SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+			DockerClient queryClient = new DockerClient(host.getDockerClient().getDockerDeamonUrl());
+			queryClient.getRestTemplate().setRequestFactory(requestFactory);
+			host.setQueryClient(queryClient);
+			queryRequestFactories.add(requestFactory);
+		}
+		updateQueryTimeouts();
+	}
+
+	public DockerCluster(List<DockerClient> dockerClients) {
+		Preconditions.checkArgument(!dockerClients.isEmpty(), "At least one docker host is required");
+		List<DockerHost> dockerHosts = new ArrayList<DockerHost>();
+		for (DockerClient dockerClient : dockerClients) {
+			dockerHosts.add(new DockerHost(dockerClient));
+		}
+		this.hosts = Collections.unmodifiableList(dockerHosts);
+	}
+
+	private static List<DockerClient> createClients(String... serverUrls) {
+		List<DockerClient> dockerClients = new ArrayList<DockerClient>();
+		for (String serverUrl : serverUrls) {
+			dockerClients.add(new DockerClient(serverUrl));
+		}
+		return dockerClients;
+	}
+
+	public void setPlacementStrategy(PlacementStrategy placementStrategy) {
+		this.placementStrategy = Preconditions.checkNotNull(placementStrategy, "Placement strategy can't be null");
+	}
+
+	public List<DockerHost> getHosts() {
+		return hosts;
+	}
+
+	public List<DockerHost> getHealthyHosts() {
+		List<DockerHost> healthyHosts = new ArrayList<DockerHost>();
+		for (DockerHost host : hosts) {
+			if (host.isHealthy()) {
+				healthyHosts.add(host);
+			}
+		}
+		return healthyHosts;
+	}
+
+	/**
+	 * Refresh health and load information of all hosts.
+	 */
+	public void checkHealth() {
+		for (DockerHost host : hosts) {
+			host.refresh();
+		}
+	}
+
+	/**
+	 * Periodically refresh all hosts in the background until {@link #shutdown()} is called.
+	 */
+	public synchronized void startHealthChecks(long period, TimeUnit unit) {
+		Preconditions.checkState(healthChecker == null, "Health checks are already running");
+		healthChecker = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("docker-cluster-health"));
+		healthChecker.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				checkHealth();
+			}
+		}, 0, period, unit);
+	}
+
+	public synchronized void shutdown() {
+		if (healthChecker != null) {
+			healthChecker.shutdownNow();
+			healthChecker = null;
+		}
+		queryExecutor.shutdownNow();
+	}
+
+	/**
+	 * @param timeoutMillis how long fleet-wide queries wait for the hosts to answer. Hosts given by URL also use it as
+	 *            connect and read timeout of their query clients, other hosts need a query client with timeouts, see
+	 *            {@link DockerHost#setQueryClient(DockerClient)}.
+	 */
+	public void setQueryTimeoutMillis(long timeoutMillis) {
+		scatterGather.setTimeoutMillis(timeoutMillis);
+		updateQueryTimeouts();
+	}
+
+	private void updateQueryTimeouts() {
+		int timeout = (int) Math.min(Integer.MAX_VALUE, scatterGather.getTimeoutMillis());
+		for (SimpleClientHttpRequestFactory requestFactory : queryRequestFactories) {
+			requestFactory.setConnectTimeout(timeout);
+			requestFactory.setReadTimeout(timeout);
+		}
+	}
+
+	/**
+	 * List the containers of all healthy hosts in parallel.
+	 */
+	public FleetIterator<Container> listContainers(boolean allContainers) {
+		return scatterGather.listContainers(getHealthyHosts(), allContainers);
+	}
+
+	/**
+	 * List the images of all healthy hosts in parallel.
+	 */
+	public FleetIterator<Image> getImages(boolean allImages) {
+		return scatterGather.getImages(getHealthyHosts(), allImages);
+	}
+
+	/**
+	 ** CONTAINERS API
+	 **/
+
+	public ContainerCreateResponse createContainer(ContainerConfig containerConfig) throws DockerException {
+		return createContainer(containerConfig, null);
+	}
+
+	public ContainerCreateResponse createContainer(ContainerConfig containerConfig, String containerName) throws DockerException {
+		List<DockerHost> candidates = getHealthyHosts();
+		while (!candidates.isEmpty()) {
+			DockerHost host = placementStrategy.select(candidates, containerConfig);
+			if (!host.isHealthy()) {
+				// found to be unreachable while the strategy looked at it
+				candidates.remove(host);
+				continue;
+			}
+			try {
+				ContainerCreateResponse response = host.getDockerClient().createContainer(containerConfig, containerName);
+				host.containerPlaced();
+				containerOwners.put(response.getId(), host);
+				if (containerName != null) {
+					containerNames.put(containerName, response.getId());
+				}
+				LOGGER.debug("Placed container '{}' on docker host '{}'.", response.getId(), host.getName());
+				return response;
+			} catch (ResourceAccessException e) {
+				host.markUnhealthy(e);
+				candidates.remove(host);
+			}
+		}
+		throw new DockerException("No healthy docker host available.");
+	}
+
+	public void startContainer(String containerId) throws DockerException {
+		this.startContainer(containerId, null);
+	}
+
+	public void startContainer(String containerId, HostConfig hostConfig) throws DockerException {
+		getOwner(containerId).getDockerClient().startContainer(containerId, hostConfig);
+	}
+
+	public ContainerInspectResponse inspectContainer(String containerId) throws DockerException {
+		return getOwner(containerId).getDockerClient().inspectContainer(containerId);
+	}
+
+	public ContainerTopResponse top(String containerId) throws DockerException {
+		return getOwner(containerId).getDockerClient().top(containerId);
+	}
+
+	public ContainerWaitResponse waitContainer(String containerId) throws DockerException {
+		return getOwner(containerId).getDockerClient().waitContainer(containerId);
+	}
+
+	public InputStream logContainer(String containerId) throws DockerException {
+		return getOwner(containerId).getDockerClient().logContainer(containerId);
+	}
+
+	public void stopContainer(String containerId) throws DockerException {
+		getOwner(containerId).getDockerClient().stopContainer(containerId);
+	}
+
+	public void stopContainer(String containerId, int timeout) throws DockerException {
+		getOwner(containerId).getDockerClient().stopContainer(containerId, timeout);
+	}
+
+	public void restart(String containerId, int timeout) throws DockerException {
+		getOwner(containerId).getDockerClient().restart(containerId, timeout);
+	}
+
+	public void kill(String containerId) throws DockerException {
+		getOwner(containerId).getDockerClient().kill(containerId);
+	}
+
+	public void removeContainer(String containerId) throws DockerException {
+		this.removeContainer(containerId, false);
+	}
+
+	public void removeContainer(String containerId, boolean removeVolumes) throws DockerException {
+		Map.Entry<String, DockerHost> owner = resolve(containerId);
+		owner.getValue().getDockerClient().removeContainer(owner.getKey(), removeVolumes);
+		forget(owner.getKey());
+	}
+
+	private void forget(String id) {
+		containerOwners.remove(id);
+		containerNames.values().removeAll(Collections.singleton(id));
+	}
+
+	/**
+	 * Find the host owning the given container. Containers created through this cluster are known, all others are looked up
+	 * on the healthy hosts and remembered.
+	 * @param containerId id, id prefix or name of the container.
+	 * @throws NotFoundException if no host knows the container.
+	 */
+	public DockerHost getOwner(String containerId) throws DockerException {
+		return resolve(containerId).getValue();
+	}
+
+	/**
+	 * @return the full id of the container and its owner.
+	 */
+	private Map.Entry<String, DockerHost> resolve(String containerId) throws DockerException {
+		Preconditions.checkNotNull(containerId, "Container ID can't be null");
+		String id = containerNames.get(containerId);
+		if (id == null) {
+			id = containerId;
+		}
+		DockerHost owner = containerOwners.get(id);
+		if (owner != null) {
+			return new SimpleImmutableEntry<String, DockerHost>(id, owner);
+		}
+		Map.Entry<String, DockerHost> match = null;
+		for (Map.Entry<String, DockerHost> entry : containerOwners.entrySet()) {
+			if (entry.getKey().startsWith(containerId)) {
+				if (match != null) {
+					// ambiguous prefix, let the daemons decide
+					match = null;
+					break;
+				}
+				match = new SimpleImmutableEntry<String, DockerHost>(entry);
+			}
+		}
+		if (match != null) {
+			return match;
+		}
+		for (DockerHost host : getHealthyHosts()) {
+			try {
+				String fullId = host.getDockerClient().inspectContainer(containerId).getId();
+				containerOwners.put(fullId, host);
+				if (!fullId.startsWith(containerId)) {
+					containerNames.put(containerId, fullId);
+				}
+				return new SimpleImmutableEntry<String, DockerHost>(fullId, host);
+			} catch (NotFoundException e) {
+				// try next host
+			} catch (ResourceAccessException e) {
+				host.markUnhealthy(e);
+			}
+		}
+		throw new NotFoundException("Container '" + containerId + "' not found on any docker host.");
+	}
+
+}
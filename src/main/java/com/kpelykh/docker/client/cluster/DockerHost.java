@@ -0,0 +1,140 @@
+package com.kpelykh.docker.client.cluster;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.NotFoundException;
+import com.kpelykh.docker.client.model.Info;
+
+/**
+ * A single Docker daemon endpoint of a {@link DockerCluster} together with the health and load information gathered by the
+ * last {@link #refresh()}.
+ */
+public class DockerHost {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DockerHost.class);
+
+	private final String name;
+
+	private final DockerClient dockerClient;
+
+	private volatile DockerClient queryClient;
+
+	private volatile boolean healthy = true;
+
+	private final AtomicInteger containers = new AtomicInteger();
+
+	private volatile int images;
+
+	private volatile long lastRefresh;
+
+	public DockerHost(DockerClient dockerClient) {
+		this(dockerClient.getDockerDeamonUrl(), dockerClient);
+	}
+
+	public DockerHost(String name, DockerClient dockerClient) {
+		this.name = name;
+		this.dockerClient = dockerClient;
+	}
+
+	/**
+	 * Pings the daemon and fetches its {@link Info}. Any failure marks the host as unhealthy until the next successful refresh.
+	 * @return whether the host is healthy.
+	 */
+	public boolean refresh() {
+		try {
+			dockerClient.ping();
+			Info info = dockerClient.info();
+			containers.set(info.getContainers());
+			images = info.getImages();
+			if (!healthy) {
+				LOGGER.info("Docker host '{}' is healthy again.", name);
+			}
+			healthy = true;
+		} catch (RuntimeException e) {
+			markUnhealthy(e);
+		}
+		lastRefresh = System.currentTimeMillis();
+		return healthy;
+	}
+
+	void markUnhealthy(RuntimeException cause) {
+		if (healthy) {
+			LOGGER.warn("Docker host '" + name + "' is unhealthy.", cause);
+		}
+		healthy = false;
+	}
+
+	/**
+	 * Accounts for a container placed on this host since the last refresh, so that consecutive placements do not all pick the
+	 * same host.
+	 */
+	void containerPlaced() {
+		containers.incrementAndGet();
+	}
+
+	/**
+	 * @return whether the daemon has the image. An unreachable daemon has no images and is marked unhealthy.
+	 */
+	public boolean hasImage(String image) {
+		try {
+			dockerClient.inspectImage(image);
+			return true;
+		} catch (NotFoundException e) {
+			return false;
+		} catch (ResourceAccessException e) {
+			markUnhealthy(e);
+			return false;
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public DockerClient getDockerClient() {
+		return dockerClient;
+	}
+
+	/**
+	 * @return the client used for fleet-wide queries, the client of the host unless another one was set.
+	 */
+	public DockerClient getQueryClient() {
+		DockerClient client = queryClient;
+		return client == null ? dockerClient : client;
+	}
+
+	/**
+	 * Use a separate client for fleet-wide queries. It should have connect and read timeouts, so a hung daemon fails the
+	 * query instead of holding a query thread after the query timed out.
+	 */
+	public void setQueryClient(DockerClient queryClient) {
+		this.queryClient = queryClient;
+	}
+
+	public boolean isHealthy() {
+		return healthy;
+	}
+
+	public int getContainers() {
+		return containers.get();
+	}
+
+	public int getImages() {
+		return images;
+	}
+
+	public long getLastRefresh() {
+		return lastRefresh;
+	}
+
+	@Override
+	public String toString() {
+		return "DockerHost{" + "name=" + name + ", healthy=" + healthy + ", containers=" + containers + ", images=" + images + '}';
+	}
+
+}
@@ -0,0 +1,134 @@
+package com.kpelykh.docker.client.cluster;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.client.ResourceAccessException;
+
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * Merged result of a fleet-wide query. Items are returned host by host in the order the hosts answer, so the first items
+ * are available as soon as the fastest host has responded. Hosts which did not answer before the deadline are cancelled
+ * and reported by {@link #getTimedOutHosts()}, hosts which failed by {@link #getFailedHosts()}. Timed-out and unreachable
+ * hosts are marked unhealthy until their next successful refresh.
+ * <p>
+ * Not thread-safe, the iterator is meant to be consumed by a single thread.
+ */
+public class FleetIterator<T> implements Iterator<HostItem<T>> {
+
+	private final CompletionService<List<HostItem<T>>> completionService;
+
+	private final Map<Future<List<HostItem<T>>>, DockerHost> pending;
+
+	private final long deadline;
+
+	private final List<DockerHost> timedOutHosts = new ArrayList<DockerHost>();
+
+	private final Map<DockerHost, Throwable> failedHosts = new LinkedHashMap<DockerHost, Throwable>();
+
+	private Iterator<HostItem<T>> current = Collections.<HostItem<T>> emptyList().iterator();
+
+	FleetIterator(CompletionService<List<HostItem<T>>> completionService, Map<Future<List<HostItem<T>>>, DockerHost> pending,
+			long deadline) {
+		this.completionService = completionService;
+		this.pending = new HashMap<Future<List<HostItem<T>>>, DockerHost>(pending);
+		this.deadline = deadline;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!current.hasNext()) {
+			if (pending.isEmpty()) {
+				return false;
+			}
+			Future<List<HostItem<T>>> completed = pollCompleted();
+			if (completed == null) {
+				timeoutPending();
+				return false;
+			}
+			DockerHost host = pending.remove(completed);
+			try {
+				current = completed.get().iterator();
+			} catch (ExecutionException e) {
+				failedHosts.put(host, e.getCause());
+				if (e.getCause() instanceof ResourceAccessException) {
+					host.markUnhealthy((ResourceAccessException) e.getCause());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				timeoutPending();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Future<List<HostItem<T>>> pollCompleted() {
+		try {
+			return completionService.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	private void timeoutPending() {
+		for (Map.Entry<Future<List<HostItem<T>>>, DockerHost> entry : pending.entrySet()) {
+			entry.getKey().cancel(true);
+			timedOutHosts.add(entry.getValue());
+			entry.getValue().markUnhealthy(new DockerException("No answer before the query deadline."));
+		}
+		pending.clear();
+	}
+
+	@Override
+	public HostItem<T> next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return current.next();
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Drain the remaining items into a list.
+	 */
+	public List<HostItem<T>> toList() {
+		List<HostItem<T>> items = new ArrayList<HostItem<T>>();
+		while (hasNext()) {
+			items.add(next());
+		}
+		return items;
+	}
+
+	/**
+	 * @return whether some hosts timed out or failed, only meaningful once the iterator is exhausted.
+	 */
+	public boolean isPartial() {
+		return !timedOutHosts.isEmpty() || !failedHosts.isEmpty();
+	}
+
+	public List<DockerHost> getTimedOutHosts() {
+		return timedOutHosts;
+	}
+
+	public Map<DockerHost, Throwable> getFailedHosts() {
+		return failedHosts;
+	}
+
+}
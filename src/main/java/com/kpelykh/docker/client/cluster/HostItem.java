@@ -0,0 +1,30 @@
+package com.kpelykh.docker.client.cluster;
+
+/**
+ * An item returned by a fleet-wide query, tagged with the host it came from.
+ */
+public class HostItem<T> {
+
+	private final DockerHost host;
+
+	private final T item;
+
+	public HostItem(DockerHost host, T item) {
+		this.host = host;
+		this.item = item;
+	}
+
+	public DockerHost getHost() {
+		return host;
+	}
+
+	public T getItem() {
+		return item;
+	}
+
+	@Override
+	public String toString() {
+		return "HostItem{" + "host=" + host.getName() + ", item=" + item + '}';
+	}
+
+}
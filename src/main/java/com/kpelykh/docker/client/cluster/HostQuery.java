@@ -0,0 +1,14 @@
+package com.kpelykh.docker.client.cluster;
+
+import java.util.List;
+
+import com.kpelykh.docker.client.DockerClient;
+
+/**
+ * A query executed against every host of a fleet by {@link ScatterGather}.
+ */
+public interface HostQuery<T> {
+
+	List<T> execute(DockerClient dockerClient);
+
+}
@@ -0,0 +1,39 @@
+package com.kpelykh.docker.client.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kpelykh.docker.client.model.ContainerConfig;
+
+/**
+ * Prefers hosts which already have the container's image, so no pull is necessary. The delegate strategy chooses among
+ * those hosts, or among all candidates if no host has the image yet.
+ */
+public class ImageLocalityPlacementStrategy implements PlacementStrategy {
+
+	private final PlacementStrategy delegate;
+
+	public ImageLocalityPlacementStrategy() {
+		this(new LeastContainersPlacementStrategy());
+	}
+
+	public ImageLocalityPlacementStrategy(PlacementStrategy delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public DockerHost select(List<DockerHost> candidates, ContainerConfig containerConfig) {
+		String image = containerConfig.getImage();
+		if (image == null) {
+			return delegate.select(candidates, containerConfig);
+		}
+		List<DockerHost> local = new ArrayList<DockerHost>();
+		for (DockerHost candidate : candidates) {
+			if (candidate.hasImage(image)) {
+				local.add(candidate);
+			}
+		}
+		return delegate.select(local.isEmpty() ? candidates : local, containerConfig);
+	}
+
+}
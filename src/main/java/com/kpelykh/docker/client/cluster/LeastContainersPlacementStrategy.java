@@ -0,0 +1,23 @@
+package com.kpelykh.docker.client.cluster;
+
+import java.util.List;
+
+import com.kpelykh.docker.client.model.ContainerConfig;
+
+/**
+ * Places containers on the host with the fewest containers as reported by {@code Info.getContainers()}.
+ */
+public class LeastContainersPlacementStrategy implements PlacementStrategy {
+
+	@Override
+	public DockerHost select(List<DockerHost> candidates, ContainerConfig containerConfig) {
+		DockerHost selected = candidates.get(0);
+		for (DockerHost candidate : candidates) {
+			if (candidate.getContainers() < selected.getContainers()) {
+				selected = candidate;
+			}
+		}
+		return selected;
+	}
+
+}
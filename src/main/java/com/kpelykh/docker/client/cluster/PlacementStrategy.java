@@ -0,0 +1,20 @@
+package com.kpelykh.docker.client.cluster;
+
+import java.util.List;
+
+import com.kpelykh.docker.client.model.ContainerConfig;
+
+/**
+ * Decides which {@link DockerHost} a new container is created on.
+ */
+public interface PlacementStrategy {
+
+	/**
+	 * Select a host for the given container.
+	 * @param candidates healthy hosts, never empty.
+	 * @param containerConfig of the container to place.
+	 * @return one of the candidates.
+	 */
+	DockerHost select(List<DockerHost> candidates, ContainerConfig containerConfig);
+
+}
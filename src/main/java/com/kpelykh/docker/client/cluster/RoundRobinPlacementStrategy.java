@@ -0,0 +1,21 @@
+package com.kpelykh.docker.client.cluster;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.kpelykh.docker.client.model.ContainerConfig;
+
+/**
+ * Places containers on the candidate hosts in turn.
+ */
+public class RoundRobinPlacementStrategy implements PlacementStrategy {
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	@Override
+	public DockerHost select(List<DockerHost> candidates, ContainerConfig containerConfig) {
+		int index = (next.getAndIncrement() & Integer.MAX_VALUE) % candidates.size();
+		return candidates.get(index);
+	}
+
+}
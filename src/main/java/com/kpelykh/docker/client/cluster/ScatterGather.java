@@ -0,0 +1,83 @@
+package com.kpelykh.docker.client.cluster;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.model.Container;
+import com.kpelykh.docker.client.model.Image;
+
+/**
+ * Runs a query against many hosts in parallel and merges the results. A fleet-wide query therefore takes as long as the
+ * slowest host which answers before the timeout, instead of the sum of all hosts.
+ */
+public class ScatterGather {
+
+	private final ExecutorService executor;
+
+	private volatile long timeoutMillis = 5000;
+
+	public ScatterGather(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * @param timeoutMillis how long to wait for the hosts to answer, slower hosts are left out of the result.
+	 */
+	public void setTimeoutMillis(long timeoutMillis) {
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	public long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+
+	public <T> FleetIterator<T> query(Collection<DockerHost> hosts, final HostQuery<T> query) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		CompletionService<List<HostItem<T>>> completionService = new ExecutorCompletionService<List<HostItem<T>>>(executor);
+		Map<Future<List<HostItem<T>>>, DockerHost> pending = new HashMap<Future<List<HostItem<T>>>, DockerHost>();
+		for (final DockerHost host : hosts) {
+			Future<List<HostItem<T>>> future = completionService.submit(new Callable<List<HostItem<T>>>() {
+				@Override
+				public List<HostItem<T>> call() throws Exception {
+					List<T> items = query.execute(host.getQueryClient());
+					List<HostItem<T>> tagged = new ArrayList<HostItem<T>>(items.size());
+					for (T item : items) {
+						tagged.add(new HostItem<T>(host, item));
+					}
+					return tagged;
+				}
+			});
+			pending.put(future, host);
+		}
+		return new FleetIterator<T>(completionService, pending, deadline);
+	}
+
+	public FleetIterator<Container> listContainers(Collection<DockerHost> hosts, final boolean allContainers) {
+		return query(hosts, new HostQuery<Container>() {
+			@Override
+			public List<Container> execute(DockerClient dockerClient) {
+				return dockerClient.listContainers(allContainers);
+			}
+		});
+	}
+
+	public FleetIterator<Image> getImages(Collection<DockerHost> hosts, final boolean allImages) {
+		return query(hosts, new HostQuery<Image>() {
+			@Override
+			public List<Image> execute(DockerClient dockerClient) {
+				return dockerClient.getImages(allImages);
+			}
+		});
+	}
+
+}
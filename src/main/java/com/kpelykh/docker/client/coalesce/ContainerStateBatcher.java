@@ -0,0 +1,237 @@
+package com.kpelykh.docker.client.coalesce;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.ContainerStatus;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.projection.FieldProjection;
+import com.kpelykh.docker.client.projection.ProjectedFields;
+import com.kpelykh.docker.client.utils.SettableFuture;
+
+/**
+ * Answers concurrent state queries of many containers from a single container list. The first query of a batch waits
+ * for the batch window, all queries arriving meanwhile join it, and then one {@code listContainers(all)} request
+ * answers all of them. A fleet-wide check of thousands of containers thus costs a handful of requests instead of one
+ * inspect per container.
+ * <p>
+ * Containers can be queried by id, short id or name. A container whose state cannot be told from the status text of the
+ * list, e.g. while it restarts, is inspected on its own.
+ */
+public class ContainerStateBatcher {
+
+	private static final FieldProjection LIST_PROJECTION = FieldProjection.of("Id", "Names", "Status");
+
+	private final DockerClient dockerClient;
+
+	private final long windowNanos;
+
+	private final Object lock = new Object();
+
+	private Batch pending;
+
+	private final AtomicLong queries = new AtomicLong();
+
+	private final AtomicLong listRequests = new AtomicLong();
+
+	private final AtomicLong inspectRequests = new AtomicLong();
+
+	/**
+	 * @param window how long the first query of a batch waits for further queries.
+	 */
+	public ContainerStateBatcher(DockerClient dockerClient, long window, TimeUnit unit) {
+		Preconditions.checkArgument(window >= 0, "Window must not be negative");
+		this.dockerClient = dockerClient;
+		this.windowNanos = unit.toNanos(window);
+	}
+
+	/**
+	 * Batch queries arriving within 5 milliseconds.
+	 */
+	public ContainerStateBatcher(DockerClient dockerClient) {
+		this(dockerClient, 5, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @param container id, short id or name of the container.
+	 */
+	public ContainerStatus probeContainer(String container) throws DockerException {
+		queries.incrementAndGet();
+		Batch batch;
+		boolean leader = false;
+		synchronized (lock) {
+			if (pending == null) {
+				pending = new Batch();
+				leader = true;
+			}
+			batch = pending;
+		}
+		if (leader) {
+			runBatch(batch);
+		}
+		ContainerStatus status = batch.statusOf(container);
+		if (status == null) {
+			inspectRequests.incrementAndGet();
+			return dockerClient.probeContainer(container);
+		}
+		return status;
+	}
+
+	/**
+	 * @return whether the container is running, a paused container is still running.
+	 */
+	public boolean isRunning(String container) throws DockerException {
+		ContainerStatus status = probeContainer(container);
+		return status == ContainerStatus.RUNNING || status == ContainerStatus.PAUSED;
+	}
+
+	private void runBatch(Batch batch) {
+		try {
+			if (windowNanos > 0) {
+				TimeUnit.NANOSECONDS.sleep(windowNanos);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			synchronized (lock) {
+				pending = null;
+			}
+		}
+		try {
+			listRequests.incrementAndGet();
+			batch.containers.set(dockerClient.listContainers(true, LIST_PROJECTION));
+		} catch (RuntimeException e) {
+			batch.containers.setException(e);
+		}
+	}
+
+	/**
+	 * @return number of queries answered, including the ones which needed an inspect.
+	 */
+	public long getQueries() {
+		return queries.get();
+	}
+
+	public long getListRequests() {
+		return listRequests.get();
+	}
+
+	/**
+	 * @return number of queries the container list could not answer.
+	 */
+	public long getInspectRequests() {
+		return inspectRequests.get();
+	}
+
+	/**
+	 * The queries answered by one container list.
+	 */
+	private static class Batch {
+
+		private final SettableFuture<List<ProjectedFields>> containers = new SettableFuture<List<ProjectedFields>>();
+
+		// status by id and by name, built by the first query which reads the result
+		private Map<String, String> statusById;
+
+		private Map<String, String> statusByName;
+
+		/**
+		 * @return the status of the container, or {@code null} if the list does not tell.
+		 */
+		ContainerStatus statusOf(String container) {
+			String status;
+			synchronized (this) {
+				index();
+				status = statusById.get(container);
+				if (status == null) {
+					status = statusByName.get(container.startsWith("/") ? container.substring(1) : container);
+				}
+				if (status == null) {
+					List<String> matches = findByShortId(container);
+					if (matches.size() > 1) {
+						// ambiguous, let the daemon decide
+						return null;
+					}
+					status = matches.isEmpty() ? null : matches.get(0);
+				}
+			}
+			if (status == null) {
+				return ContainerStatus.ABSENT;
+			}
+			return parseStatus(status);
+		}
+
+		private void index() {
+			if (statusById != null) {
+				return;
+			}
+			List<ProjectedFields> list = awaitContainers();
+			statusById = new HashMap<String, String>(list.size() * 2);
+			statusByName = new HashMap<String, String>(list.size() * 2);
+			for (ProjectedFields container : list) {
+				String status = container.getString("Status");
+				if (status == null) {
+					status = "";
+				}
+				statusById.put(container.getString("Id"), status);
+				for (String name : container.getStrings("Names")) {
+					statusByName.put(name.startsWith("/") ? name.substring(1) : name, status);
+				}
+			}
+		}
+
+		/**
+		 * @return the status of the containers whose id starts with the given one, at most two.
+		 */
+		private List<String> findByShortId(String container) {
+			List<String> found = new ArrayList<String>(2);
+			for (Map.Entry<String, String> entry : statusById.entrySet()) {
+				if (entry.getKey().startsWith(container)) {
+					found.add(entry.getValue());
+					if (found.size() == 2) {
+						break;
+					}
+				}
+			}
+			return found;
+		}
+
+		private List<ProjectedFields> awaitContainers() {
+			try {
+				return containers.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DockerException("Interrupted while waiting for the container list.", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof DockerException) {
+					throw (DockerException) e.getCause();
+				}
+				throw new DockerException("Failed to list the containers.", e.getCause());
+			}
+		}
+
+		/**
+		 * Interprets the status text of the container list, e.g. "Up 5 minutes", "Up 2 hours (Paused)" or
+		 * "Exited (0) 3 seconds ago". Created containers have an empty status.
+		 * @return {@code null} for anything else, e.g. a restarting container.
+		 */
+		private static ContainerStatus parseStatus(String status) {
+			if (status.startsWith("Up")) {
+				return status.endsWith("(Paused)") ? ContainerStatus.PAUSED : ContainerStatus.RUNNING;
+			}
+			if (status.isEmpty() || status.startsWith("Exit") || status.startsWith("Created")) {
+				return ContainerStatus.STOPPED;
+			}
+			return null;
+		}
+
+	}
+
+}
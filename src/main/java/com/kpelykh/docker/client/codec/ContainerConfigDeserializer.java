@@ -0,0 +1,107 @@
+package com.kpelykh.docker.client.codec;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.kpelykh.docker.client.model.BoundHostVolumes;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.HostPortBinding;
+
+class ContainerConfigDeserializer extends ModelDeserializer<ContainerConfig> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final JavaType EXPOSED_PORTS;
+
+	static {
+		TypeFactory typeFactory = TypeFactory.defaultInstance();
+		EXPOSED_PORTS = typeFactory.constructMapType(Map.class, typeFactory.constructType(String.class),
+				typeFactory.constructMapType(Map.class, String.class, HostPortBinding.class));
+	}
+
+	private JsonDeserializer<Object> volumesDeserializer;
+
+	private JsonDeserializer<Object> exposedPortsDeserializer;
+
+	ContainerConfigDeserializer() {
+		super(ContainerConfig.class);
+	}
+
+	@Override
+	public void resolve(DeserializationContext context) throws JsonMappingException {
+		volumesDeserializer = findDeserializer(context, BoundHostVolumes.class);
+		exposedPortsDeserializer = findDeserializer(context, EXPOSED_PORTS);
+	}
+
+	@Override
+	protected ContainerConfig create() {
+		return new ContainerConfig();
+	}
+
+	@Override
+	protected boolean readField(String name, JsonParser parser, DeserializationContext context, ContainerConfig config)
+			throws IOException {
+		if ("Hostname".equals(name)) {
+			config.setHostName(readString(parser));
+		} else if ("PortSpecs".equals(name)) {
+			config.setPortSpecs(readStringArray(parser));
+		} else if ("User".equals(name)) {
+			config.setUser(readString(parser));
+		} else if ("Tty".equals(name)) {
+			config.setTty(readBoolean(parser));
+		} else if ("OpenStdin".equals(name)) {
+			config.setStdinOpen(readBoolean(parser));
+		} else if ("StdinOnce".equals(name)) {
+			config.setStdInOnce(readBoolean(parser));
+		} else if ("Memory".equals(name)) {
+			config.setMemoryLimit(readLong(parser));
+		} else if ("MemorySwap".equals(name)) {
+			config.setMemorySwap(readLong(parser));
+		} else if ("CpuShares".equals(name)) {
+			config.setCpuShares(readInt(parser));
+		} else if ("AttachStdin".equals(name)) {
+			config.setAttachStdin(readBoolean(parser));
+		} else if ("AttachStdout".equals(name)) {
+			config.setAttachStdout(readBoolean(parser));
+		} else if ("AttachStderr".equals(name)) {
+			config.setAttachStderr(readBoolean(parser));
+		} else if ("Env".equals(name)) {
+			config.setEnv(readStringArray(parser));
+		} else if ("Cmd".equals(name)) {
+			config.setCmd(readStringArray(parser));
+		} else if ("Dns".equals(name)) {
+			config.setDns(readStringArray(parser));
+		} else if ("Image".equals(name)) {
+			config.setImage(readString(parser));
+		} else if ("Volumes".equals(name)) {
+			config.setVolumes(ModelDeserializer.<BoundHostVolumes> readValue(parser, context, volumesDeserializer));
+		} else if ("VolumesFrom".equals(name)) {
+			config.setVolumesFrom(readString(parser));
+		} else if ("Entrypoint".equals(name)) {
+			config.setEntrypoint(readStringArray(parser));
+		} else if ("NetworkDisabled".equals(name)) {
+			config.setNetworkDisabled(readBoolean(parser));
+		} else if ("Privileged".equals(name)) {
+			config.setPrivileged(readBoolean(parser));
+		} else if ("WorkingDir".equals(name)) {
+			config.setWorkingDir(readString(parser));
+		} else if ("Domainname".equals(name)) {
+			config.setDomainName(readString(parser));
+		} else if ("ExposedPorts".equals(name)) {
+			config.setExposedPorts(ModelDeserializer.<Map<String, Map<String, HostPortBinding>>> readValue(parser, context,
+					exposedPortsDeserializer));
+		} else if ("OnBuild".equals(name)) {
+			config.setOnBuild(readStringArray(parser));
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.kpelykh.docker.client.codec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.kpelykh.docker.client.model.ContainerConfig;
+
+/**
+ * Writes the body of a create request field by field. Null fields are written as <code>null</code>, like the
+ * annotated model does.
+ */
+class ContainerConfigSerializer extends StdSerializer<ContainerConfig> {
+
+	ContainerConfigSerializer() {
+		super(ContainerConfig.class);
+	}
+
+	@Override
+	public void serialize(ContainerConfig config, JsonGenerator generator, SerializerProvider provider) throws IOException {
+		generator.writeStartObject();
+		generator.writeStringField("Hostname", config.getHostName());
+		writeStringArray(generator, "PortSpecs", config.getPortSpecs());
+		generator.writeStringField("User", config.getUser());
+		generator.writeBooleanField("Tty", config.isTty());
+		generator.writeBooleanField("OpenStdin", config.isStdinOpen());
+		generator.writeBooleanField("StdinOnce", config.isStdInOnce());
+		generator.writeNumberField("Memory", config.getMemoryLimit());
+		generator.writeNumberField("MemorySwap", config.getMemorySwap());
+		generator.writeNumberField("CpuShares", config.getCpuShares());
+		generator.writeBooleanField("AttachStdin", config.isAttachStdin());
+		generator.writeBooleanField("AttachStdout", config.isAttachStdout());
+		generator.writeBooleanField("AttachStderr", config.isAttachStderr());
+		writeStringArray(generator, "Env", config.getEnv());
+		writeStringArray(generator, "Cmd", config.getCmd());
+		writeStringArray(generator, "Dns", config.getDns());
+		generator.writeStringField("Image", config.getImage());
+		provider.defaultSerializeField("Volumes", config.getVolumes(), generator);
+		generator.writeStringField("VolumesFrom", config.getVolumesFrom());
+		writeStringArray(generator, "Entrypoint", config.getEntrypoint());
+		generator.writeBooleanField("NetworkDisabled", config.isNetworkDisabled());
+		generator.writeBooleanField("Privileged", config.isPrivileged());
+		generator.writeStringField("WorkingDir", config.getWorkingDir());
+		generator.writeStringField("Domainname", config.getDomainName());
+		provider.defaultSerializeField("ExposedPorts", config.getExposedPorts(), generator);
+		writeStringArray(generator, "OnBuild", config.getOnBuild());
+		generator.writeEndObject();
+	}
+
+	private static void writeStringArray(JsonGenerator generator, String name, String[] values) throws IOException {
+		generator.writeFieldName(name);
+		if (values == null) {
+			generator.writeNull();
+			return;
+		}
+		generator.writeStartArray();
+		for (String value : values) {
+			generator.writeString(value);
+		}
+		generator.writeEndArray();
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.kpelykh.docker.client.codec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.kpelykh.docker.client.model.Container;
+import com.kpelykh.docker.client.model.Ports;
+
+class ContainerDeserializer extends ModelDeserializer<Container> {
+
+	private static final long serialVersionUID = 1L;
+
+	private JsonDeserializer<Object> portsDeserializer;
+
+	ContainerDeserializer() {
+		super(Container.class);
+	}
+
+	@Override
+	public void resolve(DeserializationContext context) throws JsonMappingException {
+		portsDeserializer = findDeserializer(context, Ports.class);
+	}
+
+	@Override
+	protected Container create() {
+		return new Container();
+	}
+
+	@Override
+	protected boolean readField(String name, JsonParser parser, DeserializationContext context, Container container)
+			throws IOException {
+		if ("Id".equals(name)) {
+			container.setId(readString(parser));
+		} else if ("Command".equals(name)) {
+			container.setCommand(readString(parser));
+		} else if ("Image".equals(name)) {
+			container.setImage(readString(parser));
+		} else if ("Created".equals(name)) {
+			container.setCreated(readLong(parser));
+		} else if ("Status".equals(name)) {
+			container.setStatus(readString(parser));
+		} else if ("Ports".equals(name)) {
+			container.setPorts(ModelDeserializer.<Ports> readValue(parser, context, portsDeserializer));
+		} else if ("SizeRw".equals(name)) {
+			container.setSize(readInt(parser));
+		} else if ("SizeRootFs".equals(name)) {
+			container.setSizeRootFs(readInt(parser));
+		} else if ("Names".equals(name)) {
+			container.setNames(readStringArray(parser));
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+}
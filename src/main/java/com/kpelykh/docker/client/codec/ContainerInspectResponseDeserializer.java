@@ -0,0 +1,180 @@
+package com.kpelykh.docker.client.codec;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.ContainerInspectResponse;
+import com.kpelykh.docker.client.model.ContainerInspectResponse.ContainerState;
+import com.kpelykh.docker.client.model.ContainerInspectResponse.NetworkSettings;
+import com.kpelykh.docker.client.model.HostConfig;
+import com.kpelykh.docker.client.model.Ports;
+
+/**
+ * Also reads the state and network settings, which are inner classes of the response and have to be created from it.
+ */
+class ContainerInspectResponseDeserializer extends ModelDeserializer<ContainerInspectResponse> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final JavaType VOLUMES = TypeFactory.defaultInstance().constructMapType(Map.class, String.class, String.class);
+
+	private static final JavaType PORT_MAPPING;
+
+	static {
+		TypeFactory typeFactory = TypeFactory.defaultInstance();
+		PORT_MAPPING = typeFactory.constructMapType(Map.class, typeFactory.constructType(String.class), VOLUMES);
+	}
+
+	private JsonDeserializer<Object> configDeserializer;
+
+	private JsonDeserializer<Object> volumesDeserializer;
+
+	private JsonDeserializer<Object> hostConfigDeserializer;
+
+	private JsonDeserializer<Object> portMappingDeserializer;
+
+	private JsonDeserializer<Object> portsDeserializer;
+
+	ContainerInspectResponseDeserializer() {
+		super(ContainerInspectResponse.class);
+	}
+
+	@Override
+	public void resolve(DeserializationContext context) throws JsonMappingException {
+		configDeserializer = findDeserializer(context, ContainerConfig.class);
+		volumesDeserializer = findDeserializer(context, VOLUMES);
+		hostConfigDeserializer = findDeserializer(context, HostConfig.class);
+		portMappingDeserializer = findDeserializer(context, PORT_MAPPING);
+		portsDeserializer = findDeserializer(context, Ports.class);
+	}
+
+	@Override
+	protected ContainerInspectResponse create() {
+		return new ContainerInspectResponse();
+	}
+
+	@Override
+	protected boolean readField(String name, JsonParser parser, DeserializationContext context, ContainerInspectResponse response)
+			throws IOException {
+		if ("Id".equals(name)) {
+			response.setId(readString(parser));
+		} else if ("Created".equals(name)) {
+			response.setCreated(readString(parser));
+		} else if ("Path".equals(name)) {
+			response.setPath(readString(parser));
+		} else if ("Args".equals(name)) {
+			response.setArgs(readStringArray(parser));
+		} else if ("Config".equals(name)) {
+			response.setConfig(ModelDeserializer.<ContainerConfig> readValue(parser, context, configDeserializer));
+		} else if ("State".equals(name)) {
+			response.setState(readState(parser, context, response));
+		} else if ("Image".equals(name)) {
+			response.setImageId(readString(parser));
+		} else if ("NetworkSettings".equals(name)) {
+			response.setNetworkSettings(readNetworkSettings(parser, context, response));
+		} else if ("SysInitPath".equals(name)) {
+			response.setSysInitPath(readString(parser));
+		} else if ("ResolvConfPath".equals(name)) {
+			response.setResolvConfPath(readString(parser));
+		} else if ("Volumes".equals(name)) {
+			response.setVolumes(ModelDeserializer.<Map<String, String>> readValue(parser, context, volumesDeserializer));
+		} else if ("VolumesRW".equals(name)) {
+			response.setVolumesRW(ModelDeserializer.<Map<String, String>> readValue(parser, context, volumesDeserializer));
+		} else if ("HostnamePath".equals(name)) {
+			response.setHostnamePath(readString(parser));
+		} else if ("HostsPath".equals(name)) {
+			response.setHostsPath(readString(parser));
+		} else if ("Name".equals(name)) {
+			response.setName(readString(parser));
+		} else if ("Driver".equals(name)) {
+			response.setDriver(readString(parser));
+		} else if ("HostConfig".equals(name)) {
+			response.setHostConfig(ModelDeserializer.<HostConfig> readValue(parser, context, hostConfigDeserializer));
+		} else if ("ExecDriver".equals(name)) {
+			response.setExecDriver(readString(parser));
+		} else if ("MountLabel".equals(name)) {
+			response.setMountLabel(readString(parser));
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	private static ContainerState readState(JsonParser parser, DeserializationContext context, ContainerInspectResponse response)
+			throws IOException {
+		if (!startObject(parser, ContainerState.class)) {
+			return null;
+		}
+		ContainerState state = response.new ContainerState();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			parser.nextToken();
+			if ("Running".equals(name)) {
+				state.running = readBoolean(parser);
+			} else if ("Paused".equals(name)) {
+				state.paused = readBoolean(parser);
+			} else if ("Pid".equals(name)) {
+				state.pid = readInt(parser);
+			} else if ("ExitCode".equals(name)) {
+				state.exitCode = readInt(parser);
+			} else if ("StartedAt".equals(name)) {
+				state.startedAt = readString(parser);
+			} else if ("Ghost".equals(name)) {
+				state.ghost = readBoolean(parser);
+			} else if ("FinishedAt".equals(name)) {
+				state.setFinishedAt(readString(parser));
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return state;
+	}
+
+	private NetworkSettings readNetworkSettings(JsonParser parser, DeserializationContext context,
+			ContainerInspectResponse response) throws IOException {
+		if (!startObject(parser, NetworkSettings.class)) {
+			return null;
+		}
+		NetworkSettings settings = response.new NetworkSettings();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			parser.nextToken();
+			if ("IPAddress".equals(name)) {
+				settings.ipAddress = readString(parser);
+			} else if ("IPPrefixLen".equals(name)) {
+				settings.ipPrefixLen = readInt(parser);
+			} else if ("Gateway".equals(name)) {
+				settings.gateway = readString(parser);
+			} else if ("Bridge".equals(name)) {
+				settings.bridge = readString(parser);
+			} else if ("PortMapping".equals(name)) {
+				settings.portMapping = readValue(parser, context, portMappingDeserializer);
+			} else if ("Ports".equals(name)) {
+				settings.ports = readValue(parser, context, portsDeserializer);
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return settings;
+	}
+
+	private static boolean startObject(JsonParser parser, Class<?> type) throws IOException {
+		JsonToken token = parser.getCurrentToken();
+		if (token == JsonToken.VALUE_NULL) {
+			return false;
+		}
+		if (token != JsonToken.START_OBJECT) {
+			throw mappingException(parser, type);
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.kpelykh.docker.client.codec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.kpelykh.docker.client.model.Image;
+
+class ImageDeserializer extends ModelDeserializer<Image> {
+
+	private static final long serialVersionUID = 1L;
+
+	ImageDeserializer() {
+		super(Image.class);
+	}
+
+	@Override
+	protected Image create() {
+		return new Image();
+	}
+
+	@Override
+	protected boolean readField(String name, JsonParser parser, DeserializationContext context, Image image) throws IOException {
+		if ("Id".equals(name)) {
+			image.setId(readString(parser));
+		} else if ("RepoTags".equals(name)) {
+			image.setRepoTags(readStringArray(parser));
+		} else if ("Repository".equals(name)) {
+			image.setRepository(readString(parser));
+		} else if ("Tag".equals(name)) {
+			image.setTag(readString(parser));
+		} else if ("ParentId".equals(name)) {
+			image.setParentId(readString(parser));
+		} else if ("Created".equals(name)) {
+			image.setCreated(readLong(parser));
+		} else if ("Size".equals(name)) {
+			image.setSize(readLong(parser));
+		} else if ("VirtualSize".equals(name)) {
+			image.setVirtualSize(readLong(parser));
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.kpelykh.docker.client.codec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.ImageInspectResponse;
+
+class ImageInspectResponseDeserializer extends ModelDeserializer<ImageInspectResponse> {
+
+	private static final long serialVersionUID = 1L;
+
+	private JsonDeserializer<Object> configDeserializer;
+
+	ImageInspectResponseDeserializer() {
+		super(ImageInspectResponse.class);
+	}
+
+	@Override
+	public void resolve(DeserializationContext context) throws JsonMappingException {
+		configDeserializer = findDeserializer(context, ContainerConfig.class);
+	}
+
+	@Override
+	protected ImageInspectResponse create() {
+		return new ImageInspectResponse();
+	}
+
+	@Override
+	protected boolean readField(String name, JsonParser parser, DeserializationContext context, ImageInspectResponse image)
+			throws IOException {
+		if ("Id".equals(name)) {
+			image.setId(readString(parser));
+		} else if ("Parent".equals(name)) {
+			image.setParent(readString(parser));
+		} else if ("Created".equals(name)) {
+			image.setCreated(readString(parser));
+		} else if ("Container".equals(name)) {
+			image.setContainer(readString(parser));
+		} else if ("ContainerConfig".equals(name)) {
+			image.setContainerConfig(ModelDeserializer.<ContainerConfig> readValue(parser, context, configDeserializer));
+		} else if ("Size".equals(name)) {
+			image.setSize(readLong(parser));
+		} else if ("DockerVersion".equals(name)) {
+			image.setDockerVersion(readString(parser));
+		} else if ("Config".equals(name)) {
+			image.setConfig(ModelDeserializer.<ContainerConfig> readValue(parser, context, configDeserializer));
+		} else if ("Architecture".equals(name)) {
+			image.setArch(readString(parser));
+		} else if ("Comment".equals(name)) {
+			image.setComment(readString(parser));
+		} else if ("Author".equals(name)) {
+			image.setAuthor(readString(parser));
+		} else if ("Os".equals(name)) {
+			image.setOs(readString(parser));
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+}
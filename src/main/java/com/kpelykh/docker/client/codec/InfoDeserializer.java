@@ -0,0 +1,78 @@
+package com.kpelykh.docker.client.codec;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.kpelykh.docker.client.model.Info;
+
+class InfoDeserializer extends ModelDeserializer<Info> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final JavaType DRIVER_STATUSES = TypeFactory.defaultInstance().constructCollectionType(List.class, Object.class);
+
+	private JsonDeserializer<Object> driverStatusesDeserializer;
+
+	InfoDeserializer() {
+		super(Info.class);
+	}
+
+	@Override
+	public void resolve(DeserializationContext context) throws JsonMappingException {
+		driverStatusesDeserializer = findDeserializer(context, DRIVER_STATUSES);
+	}
+
+	@Override
+	protected Info create() {
+		return new Info();
+	}
+
+	@Override
+	protected boolean readField(String name, JsonParser parser, DeserializationContext context, Info info) throws IOException {
+		if ("Debug".equals(name)) {
+			info.setDebug(readBoolean(parser));
+		} else if ("Containers".equals(name)) {
+			info.setContainers(readInt(parser));
+		} else if ("Driver".equals(name)) {
+			info.setDriver(readString(parser));
+		} else if ("DriverStatus".equals(name)) {
+			info.setDriverStatuses(ModelDeserializer.<List<Object>> readValue(parser, context, driverStatusesDeserializer));
+		} else if ("Images".equals(name)) {
+			info.setImages(readInt(parser));
+		} else if ("IPv4Forwarding".equals(name)) {
+			info.setIPv4Forwarding(readString(parser));
+		} else if ("IndexServerAddress".equals(name)) {
+			info.setIndexServerAddress(readString(parser));
+		} else if ("InitPath".equals(name)) {
+			info.setInitPath(readString(parser));
+		} else if ("InitSha1".equals(name)) {
+			info.setInitSha1(readString(parser));
+		} else if ("KernelVersion".equals(name)) {
+			info.setKernelVersion(readString(parser));
+		} else if ("LXCVersion".equals(name)) {
+			info.setLxcVersion(readString(parser));
+		} else if ("MemoryLimit".equals(name)) {
+			info.setMemoryLimit(readBoolean(parser));
+		} else if ("NEventsListener".equals(name)) {
+			info.setnEventListener(readLong(parser));
+		} else if ("NFd".equals(name)) {
+			info.setNFd(readInt(parser));
+		} else if ("NGoroutines".equals(name)) {
+			info.setNGoroutines(readInt(parser));
+		} else if ("SwapLimit".equals(name)) {
+			info.setSwapLimit(readInt(parser));
+		} else if ("ExecutionDriver".equals(name)) {
+			info.setExecutionDriver(readString(parser));
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+}
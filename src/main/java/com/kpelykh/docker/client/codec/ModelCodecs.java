@@ -0,0 +1,54 @@
+package com.kpelykh.docker.client.codec;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.kpelykh.docker.client.model.Container;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.ContainerInspectResponse;
+import com.kpelykh.docker.client.model.Image;
+import com.kpelykh.docker.client.model.ImageInspectResponse;
+import com.kpelykh.docker.client.model.Info;
+
+/**
+ * Hand-written codecs for the large and frequently read model types: container and image lists, inspect responses,
+ * info and the container config of create requests. They bind fields by name from the token stream, so Jackson neither
+ * introspects the annotations of these types nor sets their fields reflectively. All other types, and values nested in
+ * these, are still bound by Jackson.
+ */
+public final class ModelCodecs {
+
+	private static final ObjectMapper MAPPER = newObjectMapper();
+
+	private ModelCodecs() {
+	}
+
+	public static SimpleModule module() {
+		SimpleModule module = new SimpleModule("docker-model-codecs", Version.unknownVersion());
+		module.addDeserializer(Container.class, new ContainerDeserializer());
+		module.addDeserializer(Image.class, new ImageDeserializer());
+		module.addDeserializer(Info.class, new InfoDeserializer());
+		module.addDeserializer(ContainerConfig.class, new ContainerConfigDeserializer());
+		module.addDeserializer(ContainerInspectResponse.class, new ContainerInspectResponseDeserializer());
+		module.addDeserializer(ImageInspectResponse.class, new ImageInspectResponseDeserializer());
+		module.addSerializer(ContainerConfig.class, new ContainerConfigSerializer());
+		return module;
+	}
+
+	/**
+	 * @return a new mapper with the codecs registered.
+	 */
+	public static ObjectMapper newObjectMapper() {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.registerModule(module());
+		return mapper;
+	}
+
+	/**
+	 * @return a mapper with the codecs registered, shared so the serializers it resolved are reused.
+	 */
+	public static ObjectMapper sharedMapper() {
+		return MAPPER;
+	}
+
+}
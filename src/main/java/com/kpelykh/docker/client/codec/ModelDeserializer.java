@@ -0,0 +1,143 @@
+package com.kpelykh.docker.client.codec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Reads a model object token by token and sets its fields directly, instead of looking up annotated properties and
+ * calling them through reflection. Unknown fields are skipped, like the {@code ignoreUnknown} models do. Values are
+ * coerced the way Jackson's own deserializers do, e.g. a JSON number into a {@code String} field.
+ */
+abstract class ModelDeserializer<T> extends StdDeserializer<T> implements ResolvableDeserializer {
+
+	private static final long serialVersionUID = 1L;
+
+	protected ModelDeserializer(Class<T> type) {
+		super(type);
+	}
+
+	@Override
+	public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+		JsonToken token = parser.getCurrentToken();
+		if (token == JsonToken.START_OBJECT) {
+			token = parser.nextToken();
+		} else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+			throw mappingException(parser, handledType());
+		}
+		T value = create();
+		for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+			String name = parser.getCurrentName();
+			parser.nextToken();
+			if (!readField(name, parser, context, value)) {
+				parser.skipChildren();
+			}
+		}
+		return value;
+	}
+
+	@Override
+	public void resolve(DeserializationContext context) throws JsonMappingException {
+	}
+
+	protected abstract T create();
+
+	/**
+	 * @param parser positioned at the value of the field.
+	 * @return <code>false</code> if the field is unknown and has to be skipped.
+	 */
+	protected abstract boolean readField(String name, JsonParser parser, DeserializationContext context, T value)
+			throws IOException;
+
+	protected static String readString(JsonParser parser) throws IOException {
+		JsonToken token = parser.getCurrentToken();
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		if (!token.isScalarValue()) {
+			throw mappingException(parser, String.class);
+		}
+		return parser.getText();
+	}
+
+	protected static String[] readStringArray(JsonParser parser) throws IOException {
+		JsonToken token = parser.getCurrentToken();
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		if (token != JsonToken.START_ARRAY) {
+			throw mappingException(parser, String[].class);
+		}
+		String[] values = new String[8];
+		int size = 0;
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			if (size == values.length) {
+				String[] grown = new String[size * 2];
+				System.arraycopy(values, 0, grown, 0, size);
+				values = grown;
+			}
+			values[size++] = readString(parser);
+		}
+		String[] result = new String[size];
+		System.arraycopy(values, 0, result, 0, size);
+		return result;
+	}
+
+	protected static int readInt(JsonParser parser) throws IOException {
+		checkScalar(parser, int.class);
+		return parser.getValueAsInt();
+	}
+
+	protected static long readLong(JsonParser parser) throws IOException {
+		checkScalar(parser, long.class);
+		return parser.getValueAsLong();
+	}
+
+	protected static boolean readBoolean(JsonParser parser) throws IOException {
+		checkScalar(parser, boolean.class);
+		return parser.getValueAsBoolean();
+	}
+
+	private static void checkScalar(JsonParser parser, Class<?> type) throws IOException {
+		if (!parser.getCurrentToken().isScalarValue()) {
+			throw mappingException(parser, type);
+		}
+	}
+
+	protected static JsonMappingException mappingException(JsonParser parser, Class<?> type) {
+		return JsonMappingException.from(parser, "Can not deserialize instance of " + type.getName() + " out of "
+				+ parser.getCurrentToken() + " token");
+	}
+
+	/**
+	 * Look up the deserializer Jackson uses for a nested type, which may be another model codec. Nested deserializers
+	 * are looked up once in {@link #resolve(DeserializationContext)}, as custom deserializers like the one of
+	 * {@code Ports} are not cached by Jackson and would be created again for every value.
+	 */
+	protected static JsonDeserializer<Object> findDeserializer(DeserializationContext context, JavaType type)
+			throws JsonMappingException {
+		return context.findRootValueDeserializer(type);
+	}
+
+	protected static JsonDeserializer<Object> findDeserializer(DeserializationContext context, Class<?> type)
+			throws JsonMappingException {
+		return findDeserializer(context, context.constructType(type));
+	}
+
+	@SuppressWarnings("unchecked")
+	protected static <V> V readValue(JsonParser parser, DeserializationContext context, JsonDeserializer<Object> deserializer)
+			throws IOException {
+		if (parser.getCurrentToken() == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		return (V) deserializer.deserialize(parser, context);
+	}
+
+}
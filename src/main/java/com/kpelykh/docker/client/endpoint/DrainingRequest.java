@@ -0,0 +1,123 @@
+package com.kpelykh.docker.client.endpoint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.kpelykh.docker.client.hedge.AbortableRequest;
+
+/**
+ * Keeps its {@link Endpoint} from closing its pool until the response is closed or the request failed. Aborting it
+ * aborts the request of the pool if that one can be aborted.
+ */
+class DrainingRequest implements AbortableRequest {
+
+	private final ClientHttpRequest request;
+
+	private final Endpoint endpoint;
+
+	DrainingRequest(ClientHttpRequest request, Endpoint endpoint) {
+		this.request = request;
+		this.endpoint = endpoint;
+	}
+
+	@Override
+	public HttpMethod getMethod() {
+		return request.getMethod();
+	}
+
+	@Override
+	public URI getURI() {
+		return request.getURI();
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		return request.getHeaders();
+	}
+
+	@Override
+	public OutputStream getBody() throws IOException {
+		return request.getBody();
+	}
+
+	@Override
+	public ClientHttpResponse execute() throws IOException {
+		try {
+			return new DrainingResponse(request.execute(), endpoint);
+		} catch (IOException e) {
+			endpoint.release();
+			throw e;
+		} catch (RuntimeException e) {
+			endpoint.release();
+			throw e;
+		}
+	}
+
+	@Override
+	public void abort() {
+		if (request instanceof AbortableRequest) {
+			((AbortableRequest) request).abort();
+		}
+	}
+
+	private static class DrainingResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse response;
+
+		private final Endpoint endpoint;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		DrainingResponse(ClientHttpResponse response, Endpoint endpoint) {
+			this.response = response;
+			this.endpoint = endpoint;
+		}
+
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return response.getStatusCode();
+		}
+
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return response.getRawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return response.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return response.getHeaders();
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			return response.getBody();
+		}
+
+		@Override
+		public void close() {
+			try {
+				response.close();
+			} finally {
+				if (released.compareAndSet(false, true)) {
+					endpoint.release();
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.kpelykh.docker.client.endpoint;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.kpelykh.docker.client.lanes.ConnectionLanes;
+
+/**
+ * One daemon URL of an {@link EndpointTransport} with its own connection pool. Counts the requests in flight, i.e. sent
+ * and not closed yet, so a retired endpoint can close its pool as soon as the last of them is done.
+ */
+class Endpoint {
+
+	private static final Logger LOG = LoggerFactory.getLogger(Endpoint.class);
+
+	private final String key;
+
+	private final String url;
+
+	private final ConnectionLanes pool;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	private volatile boolean retired;
+
+	Endpoint(String url, ConnectionLanes pool) {
+		this.url = url;
+		this.key = key(URI.create(url));
+		this.pool = pool;
+	}
+
+	/**
+	 * @return scheme and authority, which identify the endpoint of a request URI.
+	 */
+	static String key(URI uri) {
+		return uri.getScheme() + "://" + uri.getRawAuthority();
+	}
+
+	boolean matches(URI uri) {
+		return key.equals(key(uri));
+	}
+
+	/**
+	 * @return the request URI with the scheme and authority of this endpoint.
+	 */
+	URI rebase(URI uri) {
+		if (matches(uri)) {
+			return uri;
+		}
+		String query = uri.getRawQuery();
+		return URI.create(key + uri.getRawPath() + (query == null ? "" : "?" + query));
+	}
+
+	String getUrl() {
+		return url;
+	}
+
+	ConnectionLanes getPool() {
+		return pool;
+	}
+
+	/**
+	 * @return whether the request may be sent, <code>false</code> if the pool was already closed.
+	 */
+	boolean acquire() {
+		inFlight.incrementAndGet();
+		if (closed.get()) {
+			inFlight.decrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	void release() {
+		if (inFlight.decrementAndGet() == 0 && retired) {
+			close();
+		}
+	}
+
+	int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * Stop taking new requests from the transport, closing the pool once the requests in flight are done.
+	 */
+	void retire() {
+		retired = true;
+		if (inFlight.get() == 0) {
+			close();
+		}
+	}
+
+	boolean isClosed() {
+		return closed.get();
+	}
+
+	/**
+	 * Close the pool, aborting whatever is still in flight.
+	 */
+	void close() {
+		if (closed.compareAndSet(false, true)) {
+			int remaining = inFlight.get();
+			if (remaining > 0) {
+				LOG.warn("Closing connections to '{}' with {} requests in flight.", url, remaining);
+			}
+			pool.shutdown();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Endpoint{" + "url=" + url + ", inFlight=" + getInFlight() + ", retired=" + retired + ", closed=" + isClosed() + '}';
+	}
+
+}
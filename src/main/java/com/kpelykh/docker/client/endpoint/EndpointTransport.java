@@ -0,0 +1,262 @@
+package com.kpelykh.docker.client.endpoint;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.lanes.ConnectionLane;
+import com.kpelykh.docker.client.lanes.ConnectionLanes;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
+
+/**
+ * Lets the daemon URL of a client change while it is in use, e.g. on a configuration update. Every daemon URL gets its
+ * own connection pool. After a switch, new requests go to the new URL and its fresh pool, while requests and streams
+ * already sent to the old URL keep their connections. The old pool is closed as soon as they are all closed, or at the
+ * drain deadline, whichever comes first. A call which built its URI from the old URL just before the switch, but sends it
+ * once the old pool is closed, goes to the new URL instead.
+ */
+public class EndpointTransport implements ClientHttpRequestFactory {
+
+	private static final Logger LOG = LoggerFactory.getLogger(EndpointTransport.class);
+
+	private static final long DEFAULT_DRAIN_TIMEOUT_MILLIS = 30000;
+
+	private static final int DEFAULT_MAX_CONTROL_CONNECTIONS = 50;
+
+	private static final int DEFAULT_MAX_STREAM_CONNECTIONS = 200;
+
+	private static final long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = 60000;
+
+	/**
+	 * Creates the connection pool of a new endpoint.
+	 */
+	public interface PoolFactory {
+
+		ConnectionLanes createPool(String daemonUrl);
+
+	}
+
+	private final PoolFactory poolFactory;
+
+	private final ScheduledExecutorService drainDeadlines = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory(
+			"docker-endpoint-drain"));
+
+	private volatile Endpoint current;
+
+	private final List<Endpoint> draining = new CopyOnWriteArrayList<Endpoint>();
+
+	private volatile long drainTimeoutMillis = DEFAULT_DRAIN_TIMEOUT_MILLIS;
+
+	private volatile int maxControlConnections = DEFAULT_MAX_CONTROL_CONNECTIONS;
+
+	private volatile int maxStreamConnections = DEFAULT_MAX_STREAM_CONNECTIONS;
+
+	private volatile long acquireTimeoutMillis = DEFAULT_ACQUIRE_TIMEOUT_MILLIS;
+
+	private volatile SchemeRegistry schemeRegistry;
+
+	public EndpointTransport(PoolFactory poolFactory) {
+		this.poolFactory = poolFactory;
+	}
+
+	/**
+	 * {@link ConnectionLanes} for every endpoint, sized by the lane properties: 50 control connections and 200 stream
+	 * connections by default, waiting up to a minute for a free connection.
+	 */
+	public EndpointTransport() {
+		this.poolFactory = new PoolFactory() {
+			@Override
+			public ConnectionLanes createPool(String daemonUrl) {
+				SchemeRegistry registry = schemeRegistry;
+				if (registry == null) {
+					registry = SchemeRegistryFactory.createDefault();
+				}
+				return new ConnectionLanes(new ConnectionLane("control", maxControlConnections, acquireTimeoutMillis, false,
+						registry), new ConnectionLane("stream", maxStreamConnections, acquireTimeoutMillis, true, registry));
+			}
+		};
+	}
+
+	/**
+	 * Takes effect for the pools of later switches.
+	 */
+	public void setMaxControlConnections(int maxControlConnections) {
+		Preconditions.checkArgument(maxControlConnections > 0, "A lane needs at least one connection");
+		this.maxControlConnections = maxControlConnections;
+	}
+
+	/**
+	 * Takes effect for the pools of later switches.
+	 * @param maxStreamConnections the maximum number of streams open at the same time.
+	 */
+	public void setMaxStreamConnections(int maxStreamConnections) {
+		Preconditions.checkArgument(maxStreamConnections > 0, "A lane needs at least one connection");
+		this.maxStreamConnections = maxStreamConnections;
+	}
+
+	/**
+	 * Open the connections of the default pools with the given schemes, e.g. those of
+	 * {@link com.kpelykh.docker.client.tls.TlsTransport#getSchemeRegistry()} for TLS. Plain HTTP and the JDK's default
+	 * TLS settings otherwise. Takes effect for the pools of later switches, so set it before the first one.
+	 */
+	public void setSchemeRegistry(SchemeRegistry schemeRegistry) {
+		this.schemeRegistry = schemeRegistry;
+	}
+
+	/**
+	 * Takes effect for the pools of later switches.
+	 * @param acquireTimeoutMillis how long a request waits for a free connection of its lane.
+	 */
+	public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+		this.acquireTimeoutMillis = acquireTimeoutMillis;
+	}
+
+	/**
+	 * @param drainTimeout how long requests and streams to a previous URL may go on after a switch.
+	 */
+	public void setDrainTimeout(long drainTimeout, TimeUnit unit) {
+		this.drainTimeoutMillis = unit.toMillis(drainTimeout);
+	}
+
+	/**
+	 * Send new requests to the given daemon URL. Switching to the current URL has no effect.
+	 */
+	public synchronized void switchTo(String daemonUrl) {
+		Preconditions.checkNotNull(daemonUrl, "Daemon URL was not specified");
+		Endpoint previous = current;
+		if (previous != null && previous.getUrl().equals(daemonUrl)) {
+			return;
+		}
+		current = new Endpoint(daemonUrl, poolFactory.createPool(daemonUrl));
+		if (previous != null) {
+			retire(previous);
+		}
+	}
+
+	private void retire(final Endpoint endpoint) {
+		LOG.info("Draining connections to '{}' with {} requests in flight.", endpoint.getUrl(), endpoint.getInFlight());
+		draining.add(endpoint);
+		endpoint.retire();
+		drainDeadlines.schedule(new Runnable() {
+			@Override
+			public void run() {
+				endpoint.close();
+			}
+		}, drainTimeoutMillis, TimeUnit.MILLISECONDS);
+		removeClosed();
+	}
+
+	private void removeClosed() {
+		for (Endpoint endpoint : draining) {
+			if (endpoint.isClosed()) {
+				draining.remove(endpoint);
+			}
+		}
+	}
+
+	/**
+	 * @return the current daemon URL, <code>null</code> before the first switch.
+	 */
+	public String getDaemonUrl() {
+		Endpoint endpoint = current;
+		return endpoint == null ? null : endpoint.getUrl();
+	}
+
+	/**
+	 * @return the pool of the current daemon URL.
+	 */
+	public ConnectionLanes getPool() {
+		return currentEndpoint().getPool();
+	}
+
+	/**
+	 * @return number of previous endpoints whose requests are still in flight.
+	 */
+	public int getDrainingEndpoints() {
+		removeClosed();
+		return draining.size();
+	}
+
+	@Override
+	public ClientHttpRequest createRequest(URI uri, HttpMethod method) throws IOException {
+		Endpoint endpoint = endpointOf(uri);
+		if (endpoint == null || !endpoint.acquire()) {
+			// built for a previous URL whose pool is closed by now
+			endpoint = acquireCurrent();
+			uri = endpoint.rebase(uri);
+		}
+		try {
+			return new DrainingRequest(endpoint.getPool().createRequest(uri, method), endpoint);
+		} catch (IOException e) {
+			endpoint.release();
+			throw e;
+		} catch (RuntimeException e) {
+			endpoint.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the endpoint a request URI was built for, <code>null</code> for URIs of no known endpoint.
+	 */
+	private Endpoint endpointOf(URI uri) {
+		Endpoint endpoint = currentEndpoint();
+		if (endpoint.matches(uri)) {
+			return endpoint;
+		}
+		for (Endpoint previous : draining) {
+			if (previous.matches(uri)) {
+				return previous;
+			}
+		}
+		return null;
+	}
+
+	private Endpoint acquireCurrent() {
+		while (true) {
+			Endpoint endpoint = currentEndpoint();
+			if (endpoint.acquire()) {
+				return endpoint;
+			}
+			if (endpoint == current) {
+				throw new DockerException("Connections to '" + endpoint.getUrl() + "' were shut down.");
+			}
+			// switched again in the meantime
+		}
+	}
+
+	private Endpoint currentEndpoint() {
+		Endpoint endpoint = current;
+		Preconditions.checkState(endpoint != null, "No daemon URL was set");
+		return endpoint;
+	}
+
+	/**
+	 * Close the pools of all endpoints right away.
+	 */
+	public synchronized void shutdown() {
+		drainDeadlines.shutdownNow();
+		for (Endpoint endpoint : draining) {
+			endpoint.close();
+		}
+		draining.clear();
+		if (current != null) {
+			current.close();
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.kpelykh.docker.client.governor;
+
+import java.net.URI;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Groups the endpoints of the docker daemon by the load they put on it, so each group can be limited on its own.
+ */
+public enum EndpointClass {
+
+	/**
+	 * Queries which do not change any state, e.g. list, inspect or top.
+	 */
+	READ,
+
+	/**
+	 * Requests which change state, e.g. create, start, stop or remove.
+	 */
+	MUTATE,
+
+	/**
+	 * Long-lived requests whose response is streamed, e.g. events, logs, stats, pull, push, build or wait.
+	 */
+	STREAM;
+
+	private static final String[] STREAM_SUFFIXES = { "/events", "/attach", "/logs", "/stats", "/wait", "/push", "/build",
+			"/images/create" };
+
+	public static EndpointClass of(HttpMethod method, URI uri) {
+		String path = uri.getPath() == null ? "" : uri.getPath();
+		for (String suffix : STREAM_SUFFIXES) {
+			if (path.endsWith(suffix)) {
+				return STREAM;
+			}
+		}
+		return method == HttpMethod.GET || method == HttpMethod.HEAD ? READ : MUTATE;
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.kpelykh.docker.client.governor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queue and admission figures of one {@link EndpointClass} of a {@link RequestGovernor}.
+ */
+public class GovernorMetrics {
+
+	final AtomicInteger queued = new AtomicInteger();
+
+	final AtomicInteger inFlight = new AtomicInteger();
+
+	final AtomicLong admitted = new AtomicLong();
+
+	final AtomicLong rejected = new AtomicLong();
+
+	final AtomicLong totalWaitNanos = new AtomicLong();
+
+	final AtomicLong maxWaitNanos = new AtomicLong();
+
+	void recordWait(long waitNanos, boolean admitted) {
+		if (admitted) {
+			this.admitted.incrementAndGet();
+		} else {
+			rejected.incrementAndGet();
+		}
+		totalWaitNanos.addAndGet(waitNanos);
+		long max = maxWaitNanos.get();
+		while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+			max = maxWaitNanos.get();
+		}
+	}
+
+	/**
+	 * @return number of requests currently waiting to be sent.
+	 */
+	public int getQueued() {
+		return queued.get();
+	}
+
+	/**
+	 * @return number of requests sent whose response is not closed yet.
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	public long getAdmitted() {
+		return admitted.get();
+	}
+
+	/**
+	 * @return number of requests which gave up waiting.
+	 */
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	public double getAverageWaitMillis() {
+		long requests = admitted.get() + rejected.get();
+		return requests == 0 ? 0 : (double) totalWaitNanos.get() / requests / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	public double getMaxWaitMillis() {
+		return (double) maxWaitNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public String toString() {
+		return "GovernorMetrics{" + "queued=" + getQueued() + ", inFlight=" + getInFlight() + ", admitted=" + getAdmitted()
+				+ ", rejected=" + getRejected() + ", averageWaitMillis=" + getAverageWaitMillis() + ", maxWaitMillis="
+				+ getMaxWaitMillis() + '}';
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.kpelykh.docker.client.governor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control of one endpoint class: a token bucket for the request rate and a limit of requests in flight.
+ * Waiting requests queue up on a fair lock, so they are admitted in arrival order and a burst cannot overtake requests
+ * which waited longer.
+ */
+class Lane {
+
+	private final ReentrantLock queue = new ReentrantLock(true);
+
+	private final Semaphore slots;
+
+	private final double permitsPerNano;
+
+	private final double burst;
+
+	// guarded by queue
+	private double tokens;
+
+	private long lastRefill = System.nanoTime();
+
+	/**
+	 * @param maxInFlight 0 for no limit.
+	 * @param permitsPerSecond 0 for no limit.
+	 */
+	Lane(int maxInFlight, double permitsPerSecond, int burst) {
+		this.slots = maxInFlight > 0 ? new Semaphore(maxInFlight, true) : null;
+		this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.burst = Math.max(burst, 1);
+		this.tokens = this.burst;
+	}
+
+	/**
+	 * @return <code>false</code> if the request could not be admitted within the timeout.
+	 */
+	boolean acquire(long timeoutNanos) throws InterruptedException {
+		long deadline = System.nanoTime() + timeoutNanos;
+		if (!queue.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+			return false;
+		}
+		try {
+			if (slots != null && !slots.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+				return false;
+			}
+			if (!takeToken(deadline)) {
+				release();
+				return false;
+			}
+			return true;
+		} finally {
+			queue.unlock();
+		}
+	}
+
+	void release() {
+		if (slots != null) {
+			slots.release();
+		}
+	}
+
+	private boolean takeToken(long deadline) throws InterruptedException {
+		if (permitsPerNano <= 0) {
+			return true;
+		}
+		refill();
+		if (tokens < 1) {
+			long waitNanos = (long) Math.ceil((1 - tokens) / permitsPerNano);
+			if (System.nanoTime() + waitNanos - deadline > 0) {
+				return false;
+			}
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+			refill();
+		}
+		tokens -= 1;
+		return true;
+	}
+
+	private void refill() {
+		long now = System.nanoTime();
+		tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerNano);
+		lastRefill = now;
+	}
+
+}
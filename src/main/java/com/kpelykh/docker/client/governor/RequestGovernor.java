@@ -0,0 +1,167 @@
+package com.kpelykh.docker.client.governor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * Keeps a shared {@link com.kpelykh.docker.client.DockerClient} from overwhelming the docker daemon. Every request is
+ * classified as {@link EndpointClass read, mutate or stream} and has to pass the limits of its class before it is sent:
+ * a token bucket for the request rate and a maximum number of requests in flight. A request stays in flight until its
+ * response is closed, so streams hold their slot as long as they are open.
+ * <p>
+ * Requests wait in arrival order. A request which is not admitted within the maximum queue wait fails with a
+ * {@link DockerException} instead of piling up further. All classes are unlimited until configured.
+ */
+public class RequestGovernor implements ClientHttpRequestInterceptor {
+
+	private static final long DEFAULT_MAX_QUEUE_WAIT_MILLIS = 30000;
+
+	// replaced as a whole on reconfiguration, so requests look up their lane without locking
+	private volatile Map<EndpointClass, Lane> lanes = new EnumMap<EndpointClass, Lane>(EndpointClass.class);
+
+	private final Map<EndpointClass, GovernorMetrics> metrics = new EnumMap<EndpointClass, GovernorMetrics>(EndpointClass.class);
+
+	private volatile long maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_QUEUE_WAIT_MILLIS);
+
+	public RequestGovernor() {
+		for (EndpointClass endpointClass : EndpointClass.values()) {
+			lanes.put(endpointClass, new Lane(0, 0, 1));
+			metrics.put(endpointClass, new GovernorMetrics());
+		}
+	}
+
+	/**
+	 * Limit the requests of an endpoint class. Requests already admitted are not affected.
+	 * @param maxInFlight maximum number of concurrent requests, 0 for no limit.
+	 * @param permitsPerSecond sustained request rate, 0 for no limit.
+	 * @param burst number of requests which may be sent at once after a quiet period.
+	 */
+	public synchronized void setLimits(EndpointClass endpointClass, int maxInFlight, double permitsPerSecond, int burst) {
+		Preconditions.checkArgument(maxInFlight >= 0, "Max in flight must not be negative");
+		Preconditions.checkArgument(permitsPerSecond >= 0, "Rate must not be negative");
+		Map<EndpointClass, Lane> configured = new EnumMap<EndpointClass, Lane>(lanes);
+		configured.put(endpointClass, new Lane(maxInFlight, permitsPerSecond, burst));
+		lanes = configured;
+	}
+
+	/**
+	 * @param maxQueueWait how long a request may wait to be admitted before it fails.
+	 */
+	public void setMaxQueueWait(long maxQueueWait, TimeUnit unit) {
+		this.maxQueueWaitNanos = unit.toNanos(maxQueueWait);
+	}
+
+	public GovernorMetrics getMetrics(EndpointClass endpointClass) {
+		return metrics.get(endpointClass);
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		EndpointClass endpointClass = EndpointClass.of(request.getMethod(), request.getURI());
+		Lane lane = lanes.get(endpointClass);
+		GovernorMetrics laneMetrics = metrics.get(endpointClass);
+
+		long start = System.nanoTime();
+		boolean admitted;
+		laneMetrics.queued.incrementAndGet();
+		try {
+			admitted = lane.acquire(maxQueueWaitNanos);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DockerException("Interrupted while waiting to send " + request.getMethod() + " " + request.getURI(), e);
+		} finally {
+			laneMetrics.queued.decrementAndGet();
+		}
+		laneMetrics.recordWait(System.nanoTime() - start, admitted);
+		if (!admitted) {
+			throw new DockerException(endpointClass + " request " + request.getMethod() + " " + request.getURI()
+					+ " was not admitted within " + TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos) + "ms.");
+		}
+
+		laneMetrics.inFlight.incrementAndGet();
+		try {
+			return new ReleasingResponse(execution.execute(request, body), lane, laneMetrics);
+		} catch (IOException e) {
+			laneMetrics.inFlight.decrementAndGet();
+			lane.release();
+			throw e;
+		} catch (RuntimeException e) {
+			laneMetrics.inFlight.decrementAndGet();
+			lane.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Gives the slot of its request back once it is closed.
+	 */
+	private static class ReleasingResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse response;
+
+		private final Lane lane;
+
+		private final GovernorMetrics metrics;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		ReleasingResponse(ClientHttpResponse response, Lane lane, GovernorMetrics metrics) {
+			this.response = response;
+			this.lane = lane;
+			this.metrics = metrics;
+		}
+
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return response.getStatusCode();
+		}
+
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return response.getRawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return response.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return response.getHeaders();
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			return response.getBody();
+		}
+
+		@Override
+		public void close() {
+			try {
+				response.close();
+			} finally {
+				if (released.compareAndSet(false, true)) {
+					metrics.inFlight.decrementAndGet();
+					lane.release();
+				}
+			}
+		}
+
+	}
+
+}
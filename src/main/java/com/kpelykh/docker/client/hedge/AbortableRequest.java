@@ -0,0 +1,17 @@
+package com.kpelykh.docker.client.hedge;
+
+import org.springframework.http.client.ClientHttpRequest;
+
+/**
+ * A request which another thread can abort while it waits for its response, closing its connection. Hedged requests
+ * created by a delegate implementing it stop the copy which lost instead of waiting for it to be answered.
+ */
+public interface AbortableRequest extends ClientHttpRequest {
+
+	/**
+	 * Abort the request, {@link #execute()} fails if it did not return yet or is called afterwards. Hedged requests never
+	 * abort a request whose response they return.
+	 */
+	void abort();
+
+}
@@ -0,0 +1,210 @@
+package com.kpelykh.docker.client.hedge;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * Sends a request and, if it is not answered within the hedge delay of its endpoint, the same request a second time.
+ */
+class HedgedRequest implements ClientHttpRequest {
+
+	private final HedgingClientHttpRequestFactory factory;
+
+	private final ClientHttpRequestFactory delegate;
+
+	private final ExecutorService executor;
+
+	private final URI uri;
+
+	private final HttpMethod method;
+
+	private final String endpoint;
+
+	private final HttpHeaders headers = new HttpHeaders();
+
+	private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+	// set by the first attempt which receives a response, later responses are closed right away
+	private final AtomicBoolean answered = new AtomicBoolean();
+
+	HedgedRequest(HedgingClientHttpRequestFactory factory, ClientHttpRequestFactory delegate, ExecutorService executor, URI uri,
+			HttpMethod method) {
+		this.factory = factory;
+		this.delegate = delegate;
+		this.executor = executor;
+		this.uri = uri;
+		this.method = method;
+		this.endpoint = HedgingClientHttpRequestFactory.endpoint(uri.getPath());
+	}
+
+	@Override
+	public HttpMethod getMethod() {
+		return method;
+	}
+
+	@Override
+	public URI getURI() {
+		return uri;
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		return headers;
+	}
+
+	@Override
+	public OutputStream getBody() {
+		return body;
+	}
+
+	@Override
+	public ClientHttpResponse execute() throws IOException {
+		CompletionService<ClientHttpResponse> completionService = new ExecutorCompletionService<ClientHttpResponse>(executor);
+		List<Attempt> attempts = new ArrayList<Attempt>(2);
+		List<Future<ClientHttpResponse>> futures = new ArrayList<Future<ClientHttpResponse>>(2);
+		Attempt first = new Attempt(false);
+		try {
+			futures.add(completionService.submit(first));
+		} catch (RejectedExecutionException e) {
+			// all hedging threads are busy, send the request without a hedge
+			factory.rejected.incrementAndGet();
+			return first.call();
+		}
+		attempts.add(first);
+		long hedgeDelayNanos = factory.hedgeDelayNanos(endpoint);
+		ExecutionException failure = null;
+		try {
+			int completed = 0;
+			while (completed < futures.size()) {
+				Future<ClientHttpResponse> future;
+				if (futures.size() == 1 && hedgeDelayNanos >= 0) {
+					future = completionService.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+					if (future == null) {
+						hedgeDelayNanos = -1;
+						Attempt hedge = new Attempt(true);
+						try {
+							futures.add(completionService.submit(hedge));
+						} catch (RejectedExecutionException e) {
+							factory.rejected.incrementAndGet();
+							continue;
+						}
+						attempts.add(hedge);
+						factory.hedged.incrementAndGet();
+						continue;
+					}
+				} else {
+					future = completionService.take();
+				}
+				completed++;
+				try {
+					ClientHttpResponse response = future.get();
+					if (response != null) {
+						return response;
+					}
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e;
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DockerException("Interrupted while waiting for " + method + " " + uri, e);
+		} finally {
+			answered.set(true);
+			for (int i = 0; i < attempts.size(); i++) {
+				// interrupting does not stop blocking socket reads, abort the exchange of the loser instead
+				attempts.get(i).abort();
+				futures.get(i).cancel(true);
+			}
+		}
+		Throwable cause = failure.getCause();
+		if (cause instanceof IOException) {
+			throw (IOException) cause;
+		}
+		if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		}
+		throw new IOException("Failed to send " + method + " " + uri, cause);
+	}
+
+	/**
+	 * One copy of the request. Returns {@code null} if the other copy was answered first.
+	 */
+	private class Attempt implements Callable<ClientHttpResponse> {
+
+		private final boolean hedge;
+
+		private volatile ClientHttpRequest request;
+
+		private volatile boolean aborted;
+
+		private volatile boolean won;
+
+		Attempt(boolean hedge) {
+			this.hedge = hedge;
+		}
+
+		@Override
+		public ClientHttpResponse call() throws IOException {
+			if (answered.get()) {
+				return null;
+			}
+			ClientHttpRequest request = delegate.createRequest(uri, method);
+			request.getHeaders().putAll(headers);
+			if (body.size() > 0) {
+				body.writeTo(request.getBody());
+			}
+			this.request = request;
+			if (aborted) {
+				return null;
+			}
+			long start = System.nanoTime();
+			ClientHttpResponse response = request.execute();
+			factory.record(endpoint, System.nanoTime() - start);
+			if (!answered.compareAndSet(false, true)) {
+				response.close();
+				return null;
+			}
+			won = true;
+			if (hedge) {
+				factory.hedgeWins.incrementAndGet();
+			}
+			return response;
+		}
+
+		/**
+		 * Stop the exchange unless it returned the response, which then belongs to the caller.
+		 */
+		void abort() {
+			aborted = true;
+			ClientHttpRequest request = this.request;
+			if (!won && request instanceof AbortableRequest) {
+				((AbortableRequest) request).abort();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,179 @@
+package com.kpelykh.docker.client.hedge;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
+
+/**
+ * Sends read-only queries like inspect or list a second time if the daemon does not answer within the usual time, e.g.
+ * while it is busy extracting an image. The first response wins, the other one is discarded. Delegates creating
+ * {@link AbortableRequest}s have the losing request aborted, others leave it running until the daemon answers.
+ * <p>
+ * Requests wait for their responses on a bounded pool of threads. Once all of them are busy, further requests are sent
+ * on the calling thread without a hedge.
+ * <p>
+ * The hedge delay of an endpoint is a percentile of its recent response times, so only the slowest requests are sent
+ * twice. Endpoints are not hedged before enough response times were recorded. Requests which change state or stream
+ * their response are passed to the delegate unchanged. Install it with
+ * {@link com.kpelykh.docker.client.DockerClient#setRequestFactory(ClientHttpRequestFactory)}.
+ */
+public class HedgingClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+	private static final int SAMPLE_CAPACITY = 200;
+
+	private static final int MIN_SAMPLES = 20;
+
+	private static final int DEFAULT_MAX_THREADS = 64;
+
+	private static final Set<String> HEDGED_RESOURCES = new HashSet<String>(Arrays.asList("json", "top", "changes", "history",
+			"info", "version", "search", "_ping"));
+
+	private final ClientHttpRequestFactory delegate;
+
+	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(0, DEFAULT_MAX_THREADS, 60, TimeUnit.SECONDS,
+			new SynchronousQueue<Runnable>(), new DaemonThreadFactory("docker-hedge"));
+
+	private final ConcurrentMap<String, LatencyTracker> latencyTrackers = new ConcurrentHashMap<String, LatencyTracker>();
+
+	private volatile double percentile = 0.95;
+
+	private volatile long minDelayNanos = TimeUnit.MILLISECONDS.toNanos(5);
+
+	final AtomicLong hedged = new AtomicLong();
+
+	final AtomicLong hedgeWins = new AtomicLong();
+
+	final AtomicLong rejected = new AtomicLong();
+
+	public HedgingClientHttpRequestFactory(ClientHttpRequestFactory delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Hedge requests sent over HTTP connections of the JDK.
+	 */
+	public HedgingClientHttpRequestFactory() {
+		this(new SimpleClientHttpRequestFactory());
+	}
+
+	/**
+	 * @param percentile latency percentile after which a request is sent again, between 0 and 1. Defaults to 0.95.
+	 */
+	public void setPercentile(double percentile) {
+		Preconditions.checkArgument(percentile > 0 && percentile <= 1, "Percentile must be within (0, 1]");
+		this.percentile = percentile;
+	}
+
+	/**
+	 * @param minDelay lower bound of the hedge delay, so fast endpoints are not always sent twice. Defaults to 5ms.
+	 */
+	public void setMinDelay(long minDelay, TimeUnit unit) {
+		this.minDelayNanos = unit.toNanos(minDelay);
+	}
+
+	/**
+	 * @param maxThreads how many requests and hedges may wait for their responses on the pool at once. Defaults to 64.
+	 */
+	public void setMaxThreads(int maxThreads) {
+		Preconditions.checkArgument(maxThreads > 0, "Max threads must be positive");
+		executor.setMaximumPoolSize(maxThreads);
+	}
+
+	@Override
+	public ClientHttpRequest createRequest(URI uri, HttpMethod method) throws IOException {
+		if (method != HttpMethod.GET || !HEDGED_RESOURCES.contains(lastSegment(uri.getPath()))) {
+			return delegate.createRequest(uri, method);
+		}
+		return new HedgedRequest(this, delegate, executor, uri, method);
+	}
+
+	/**
+	 * @param endpoint path of the endpoint with resource ids replaced, e.g. {@code /containers/{id}/json}.
+	 * @return the response times of the endpoint, or {@code null} if it was not queried yet.
+	 */
+	public LatencyTracker getLatencyTracker(String endpoint) {
+		return latencyTrackers.get(endpoint);
+	}
+
+	/**
+	 * @return number of requests which were sent a second time.
+	 */
+	public long getHedged() {
+		return hedged.get();
+	}
+
+	/**
+	 * @return number of requests answered by the second request first.
+	 */
+	public long getHedgeWins() {
+		return hedgeWins.get();
+	}
+
+	/**
+	 * @return number of requests sent without a hedge, or hedges not sent, because all threads of the pool were busy.
+	 */
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	void record(String endpoint, long latencyNanos) {
+		LatencyTracker latencyTracker = latencyTrackers.get(endpoint);
+		if (latencyTracker == null) {
+			latencyTracker = new LatencyTracker(SAMPLE_CAPACITY);
+			LatencyTracker existing = latencyTrackers.putIfAbsent(endpoint, latencyTracker);
+			if (existing != null) {
+				latencyTracker = existing;
+			}
+		}
+		latencyTracker.record(latencyNanos);
+	}
+
+	/**
+	 * @return how long to wait for a response before hedging, or -1 if the endpoint must not be hedged yet.
+	 */
+	long hedgeDelayNanos(String endpoint) {
+		LatencyTracker latencyTracker = latencyTrackers.get(endpoint);
+		if (latencyTracker == null || latencyTracker.getSampleCount() < MIN_SAMPLES) {
+			return -1;
+		}
+		return Math.max(minDelayNanos, latencyTracker.percentile(percentile));
+	}
+
+	/**
+	 * Replaces the resource ids of a path, so all requests to the same endpoint share their response times, e.g.
+	 * {@code /containers/4fa6e0f0c678/json} becomes {@code /containers/{id}/json}. Image names may contain slashes.
+	 */
+	static String endpoint(String path) {
+		String[] segments = path.split("/");
+		// segments[0] is empty since the path starts with a slash
+		if (segments.length <= 3) {
+			return path;
+		}
+		return "/" + segments[1] + "/{id}/" + segments[segments.length - 1];
+	}
+
+	private static String lastSegment(String path) {
+		return path == null ? "" : path.substring(path.lastIndexOf('/') + 1);
+	}
+
+}
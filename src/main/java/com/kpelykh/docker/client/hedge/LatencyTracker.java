@@ -0,0 +1,53 @@
+package com.kpelykh.docker.client.hedge;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent response times of one endpoint to derive its latency percentiles.
+ */
+public class LatencyTracker {
+
+	private final long[] samples;
+
+	private int next;
+
+	private int size;
+
+	LatencyTracker(int capacity) {
+		this.samples = new long[capacity];
+	}
+
+	synchronized void record(long latencyNanos) {
+		samples[next] = latencyNanos;
+		next = (next + 1) % samples.length;
+		if (size < samples.length) {
+			size++;
+		}
+	}
+
+	/**
+	 * @param percentile between 0 and 1, e.g. 0.95.
+	 * @return the latency in nanoseconds which the given share of the recent responses did not exceed, or -1 without
+	 *         samples.
+	 */
+	public long percentile(double percentile) {
+		long[] sorted;
+		synchronized (this) {
+			if (size == 0) {
+				return -1;
+			}
+			sorted = Arrays.copyOf(samples, size);
+		}
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+	}
+
+	/**
+	 * @return number of recent responses the percentiles are based on.
+	 */
+	public synchronized int getSampleCount() {
+		return size;
+	}
+
+}
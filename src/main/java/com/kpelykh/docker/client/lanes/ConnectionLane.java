@@ -0,0 +1,151 @@
+package com.kpelykh.docker.client.lanes;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.client.UserTokenHandler;
+import org.apache.http.client.params.HttpClientParams;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A bounded pool of connections to the docker daemon, reserved for one kind of request. A request waits at most the
+ * acquire timeout for a free connection and fails otherwise, so an exhausted lane never blocks its callers
+ * indefinitely.
+ */
+public class ConnectionLane implements ClientHttpRequestFactory {
+
+	private final String name;
+
+	private final boolean streaming;
+
+	private final PoolingClientConnectionManager connectionManager;
+
+	private final DefaultHttpClient httpClient;
+
+	final AtomicLong requests = new AtomicLong();
+
+	final AtomicLong acquireTimeouts = new AtomicLong();
+
+	/**
+	 * @param maxConnections maximum number of connections of the lane to all daemons together, a single daemon may take
+	 *            all of them.
+	 * @param acquireTimeoutMillis how long a request waits for a free connection.
+	 * @param streaming whether responses are consumed while they are received. Closing an unfinished streamed response
+	 *            discards its connection instead of reading the rest of a possibly endless response.
+	 * @param schemeRegistry how to open connections for the schemes of the daemon URLs, e.g. TLS for {@code https}.
+	 */
+	public ConnectionLane(String name, int maxConnections, long acquireTimeoutMillis, boolean streaming,
+			SchemeRegistry schemeRegistry) {
+		Preconditions.checkArgument(maxConnections > 0, "A lane needs at least one connection");
+		this.name = name;
+		this.streaming = streaming;
+		connectionManager = new PoolingClientConnectionManager(schemeRegistry);
+		connectionManager.setMaxTotal(maxConnections);
+		connectionManager.setDefaultMaxPerRoute(maxConnections);
+		httpClient = new DefaultHttpClient(connectionManager);
+		HttpClientParams.setConnectionManagerTimeout(httpClient.getParams(), acquireTimeoutMillis);
+		HttpClientParams.setRedirecting(httpClient.getParams(), false);
+		// all requests of a lane share one identity, a connection authenticated with a client certificate must not be
+		// kept from the next request
+		httpClient.setUserTokenHandler(new UserTokenHandler() {
+			@Override
+			public Object getUserToken(HttpContext context) {
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Plain HTTP and the JDK's default TLS settings.
+	 */
+	public ConnectionLane(String name, int maxConnections, long acquireTimeoutMillis, boolean streaming) {
+		this(name, maxConnections, acquireTimeoutMillis, streaming, SchemeRegistryFactory.createDefault());
+	}
+
+	@Override
+	public ClientHttpRequest createRequest(URI uri, HttpMethod method) throws IOException {
+		return new LaneRequest(this, httpClient, uri, method);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	boolean isStreaming() {
+		return streaming;
+	}
+
+	/**
+	 * @return number of connections currently used by a request or an open response.
+	 */
+	public int getLeased() {
+		return stats().getLeased();
+	}
+
+	/**
+	 * @return number of open connections waiting for the next request.
+	 */
+	public int getAvailable() {
+		return stats().getAvailable();
+	}
+
+	/**
+	 * @return number of requests waiting for a free connection.
+	 */
+	public int getPending() {
+		return stats().getPending();
+	}
+
+	public int getMaxConnections() {
+		return stats().getMax();
+	}
+
+	public long getRequests() {
+		return requests.get();
+	}
+
+	/**
+	 * @return number of requests which failed because no connection became free in time.
+	 */
+	public long getAcquireTimeouts() {
+		return acquireTimeouts.get();
+	}
+
+	private PoolStats stats() {
+		return connectionManager.getTotalStats();
+	}
+
+	/**
+	 * Close connections which were not used for the given time.
+	 */
+	public void closeIdleConnections(long idleTime, TimeUnit unit) {
+		connectionManager.closeIdleConnections(idleTime, unit);
+	}
+
+	/**
+	 * Close all connections of the lane.
+	 */
+	public void shutdown() {
+		connectionManager.shutdown();
+	}
+
+	@Override
+	public String toString() {
+		return "ConnectionLane{" + "name=" + name + ", leased=" + getLeased() + ", available=" + getAvailable() + ", pending="
+				+ getPending() + ", max=" + getMaxConnections() + ", requests=" + getRequests() + ", acquireTimeouts="
+				+ getAcquireTimeouts() + '}';
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.kpelykh.docker.client.lanes;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import com.kpelykh.docker.client.governor.EndpointClass;
+
+/**
+ * Keeps long-lived streams like events, logs, attach, stats or build from starving short control calls like inspect
+ * or create. Streaming requests get their own bounded {@link ConnectionLane}, all other requests share a second one. A
+ * full stream lane makes new streams wait or fail, while control calls still find a free connection.
+ */
+public class ConnectionLanes implements ClientHttpRequestFactory {
+
+	private static final long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = 10000;
+
+	private final ConnectionLane controlLane;
+
+	private final ConnectionLane streamLane;
+
+	public ConnectionLanes(ConnectionLane controlLane, ConnectionLane streamLane) {
+		this.controlLane = controlLane;
+		this.streamLane = streamLane;
+	}
+
+	/**
+	 * @param maxControlConnections connections for short requests.
+	 * @param maxStreamConnections connections for streams, i.e. the maximum number of streams open at the same time.
+	 */
+	public ConnectionLanes(int maxControlConnections, int maxStreamConnections) {
+		this(maxControlConnections, maxStreamConnections, SchemeRegistryFactory.createDefault());
+	}
+
+	/**
+	 * @param schemeRegistry shared by both lanes.
+	 */
+	public ConnectionLanes(int maxControlConnections, int maxStreamConnections, SchemeRegistry schemeRegistry) {
+		this(new ConnectionLane("control", maxControlConnections, DEFAULT_ACQUIRE_TIMEOUT_MILLIS, false, schemeRegistry),
+				new ConnectionLane("stream", maxStreamConnections, DEFAULT_ACQUIRE_TIMEOUT_MILLIS, true, schemeRegistry));
+	}
+
+	/**
+	 * 20 control connections and 10 stream connections.
+	 */
+	public ConnectionLanes() {
+		this(20, 10);
+	}
+
+	@Override
+	public ClientHttpRequest createRequest(URI uri, HttpMethod method) throws IOException {
+		if (EndpointClass.of(method, uri) == EndpointClass.STREAM) {
+			return streamLane.createRequest(uri, method);
+		}
+		return controlLane.createRequest(uri, method);
+	}
+
+	public ConnectionLane getControlLane() {
+		return controlLane;
+	}
+
+	public ConnectionLane getStreamLane() {
+		return streamLane;
+	}
+
+	public void shutdown() {
+		controlLane.shutdown();
+		streamLane.shutdown();
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.kpelykh.docker.client.lanes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpOptions;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.entity.ByteArrayEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.kpelykh.docker.client.hedge.AbortableRequest;
+
+/**
+ * A request sent over a connection of a {@link ConnectionLane}. The body is buffered until the request is executed.
+ * Aborting it closes its connection.
+ */
+class LaneRequest implements AbortableRequest {
+
+	private final ConnectionLane lane;
+
+	private final HttpClient httpClient;
+
+	private final URI uri;
+
+	private final HttpMethod method;
+
+	private final HttpHeaders headers = new HttpHeaders();
+
+	private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+	private volatile HttpRequestBase request;
+
+	private volatile boolean aborted;
+
+	LaneRequest(ConnectionLane lane, HttpClient httpClient, URI uri, HttpMethod method) {
+		this.lane = lane;
+		this.httpClient = httpClient;
+		this.uri = uri;
+		this.method = method;
+	}
+
+	@Override
+	public HttpMethod getMethod() {
+		return method;
+	}
+
+	@Override
+	public URI getURI() {
+		return uri;
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		return headers;
+	}
+
+	@Override
+	public OutputStream getBody() {
+		return body;
+	}
+
+	@Override
+	public ClientHttpResponse execute() throws IOException {
+		HttpRequestBase request = createRequest();
+		for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+			// the entity determines the length of the body
+			if (!"Content-Length".equalsIgnoreCase(header.getKey()) && !"Transfer-Encoding".equalsIgnoreCase(header.getKey())) {
+				for (String value : header.getValue()) {
+					request.addHeader(header.getKey(), value);
+				}
+			}
+		}
+		if (request instanceof HttpEntityEnclosingRequestBase) {
+			((HttpEntityEnclosingRequestBase) request).setEntity(new ByteArrayEntity(body.toByteArray()));
+		}
+		this.request = request;
+		if (aborted) {
+			// the client refuses to send an aborted request
+			request.abort();
+		}
+		lane.requests.incrementAndGet();
+		HttpResponse response;
+		try {
+			response = httpClient.execute(request);
+		} catch (ConnectionPoolTimeoutException e) {
+			lane.acquireTimeouts.incrementAndGet();
+			throw e;
+		}
+		return new LaneResponse(request, response, lane.isStreaming());
+	}
+
+	@Override
+	public void abort() {
+		aborted = true;
+		HttpRequestBase request = this.request;
+		if (request != null) {
+			request.abort();
+		}
+	}
+
+	private HttpRequestBase createRequest() {
+		switch (method) {
+		case GET:
+			return new HttpGet(uri);
+		case POST:
+			return new HttpPost(uri);
+		case PUT:
+			return new HttpPut(uri);
+		case DELETE:
+			return new HttpDelete(uri);
+		case HEAD:
+			return new HttpHead(uri);
+		case OPTIONS:
+			return new HttpOptions(uri);
+		default:
+			throw new IllegalArgumentException("Unsupported HTTP method " + method);
+		}
+	}
+
+}
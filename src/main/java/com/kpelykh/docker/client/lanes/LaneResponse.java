@@ -0,0 +1,81 @@
+package com.kpelykh.docker.client.lanes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.util.EntityUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Gives the connection of a response back to its lane once it is closed.
+ */
+class LaneResponse implements ClientHttpResponse {
+
+	private final HttpRequestBase request;
+
+	private final HttpResponse response;
+
+	private final boolean streaming;
+
+	private HttpHeaders headers;
+
+	LaneResponse(HttpRequestBase request, HttpResponse response, boolean streaming) {
+		this.request = request;
+		this.response = response;
+		this.streaming = streaming;
+	}
+
+	@Override
+	public HttpStatus getStatusCode() {
+		return HttpStatus.valueOf(getRawStatusCode());
+	}
+
+	@Override
+	public int getRawStatusCode() {
+		return response.getStatusLine().getStatusCode();
+	}
+
+	@Override
+	public String getStatusText() {
+		return response.getStatusLine().getReasonPhrase();
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		if (headers == null) {
+			headers = new HttpHeaders();
+			for (Header header : response.getAllHeaders()) {
+				headers.add(header.getName(), header.getValue());
+			}
+		}
+		return headers;
+	}
+
+	@Override
+	public InputStream getBody() throws IOException {
+		HttpEntity entity = response.getEntity();
+		return entity == null ? new ByteArrayInputStream(new byte[0]) : entity.getContent();
+	}
+
+	@Override
+	public void close() {
+		if (streaming) {
+			// the rest of a stream may never arrive, drop the connection instead of draining it
+			request.abort();
+			return;
+		}
+		try {
+			EntityUtils.consume(response.getEntity());
+		} catch (IOException e) {
+			request.abort();
+		}
+	}
+
+}
@@ -256,6 +256,14 @@ public class ContainerInspectResponse {
         @JsonProperty("Ghost") public boolean ghost;
         @JsonProperty("FinishedAt") private String finishedAt;
 
+        public String getFinishedAt() {
+            return finishedAt;
+        }
+
+        public void setFinishedAt(String finishedAt) {
+            this.finishedAt = finishedAt;
+        }
+
         @Override
         public String toString() {
             return "ContainerState{" +
@@ -0,0 +1,65 @@
+package com.kpelykh.docker.client.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A container lifecycle event as reported by the <code>/events</code> endpoint.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Event {
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("from")
+    private String from;
+
+    @JsonProperty("time")
+    private long time;
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public void setTime(long time) {
+        this.time = time;
+    }
+
+    @Override
+    public String toString() {
+        return "Event{" +
+                "status='" + status + '\'' +
+                ", id='" + id + '\'' +
+                ", from='" + from + '\'' +
+                ", time=" + time +
+                '}';
+    }
+}
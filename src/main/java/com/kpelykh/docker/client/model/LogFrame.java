@@ -0,0 +1,48 @@
+package com.kpelykh.docker.client.model;
+
+import java.nio.charset.Charset;
+
+/**
+ * A chunk of container output as sent by the attach and logs endpoints.
+ */
+public class LogFrame {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    public enum StreamType {
+        STDIN, STDOUT, STDERR,
+        /**
+         * Output of a container with a TTY, which is not split into stdout and stderr.
+         */
+        RAW
+    }
+
+    private final StreamType streamType;
+
+    private final byte[] payload;
+
+    public LogFrame(StreamType streamType, byte[] payload) {
+        this.streamType = streamType;
+        this.payload = payload;
+    }
+
+    public StreamType getStreamType() {
+        return streamType;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public String getText() {
+        return new String(payload, UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "LogFrame{" +
+                "streamType=" + streamType +
+                ", payload='" + getText() + '\'' +
+                '}';
+    }
+}
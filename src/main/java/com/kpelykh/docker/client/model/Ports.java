@@ -4,15 +4,17 @@ package com.kpelykh.docker.client.model;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import com.fasterxml.jackson.databind.node.NullNode;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -23,12 +25,21 @@ import java.util.Map;
 public class Ports {
 
 
-    private final Map<String, Port> ports = new HashMap<String, Port>();
+    private final Map<String, Port> ports = new HashMap<String, Port>(4);
+
+    // all bindings in the order they were added, a port may be bound more than once
+    private final List<Port> bindings = new ArrayList<Port>(2);
 
     public Ports() { }
 
+    /**
+     * Add a binding. The first binding of a port is the one returned by {@link #getAllPorts()}.
+     */
     public void addPort(Port port) {
-        ports.put(port.getPort(), port);
+        bindings.add(port);
+        if (!ports.containsKey(port.getPort())) {
+            ports.put(port.getPort(), port);
+        }
     }
 
     @Override
@@ -36,12 +47,38 @@ public class Ports {
         return ports.toString();
     }
 
+    /**
+     * @return the first binding of each port, by port number.
+     */
     public Map<String, Port> getAllPorts(){
         return ports;
     }
 
+    /**
+     * @return all bindings, including further bindings of the same port.
+     */
+    public List<Port> getBindings() {
+        return Collections.unmodifiableList(bindings);
+    }
+
+    /**
+     * @return all bindings of the given port number.
+     */
+    public List<Port> getBindings(String port) {
+        List<Port> portBindings = new ArrayList<Port>(1);
+        for (Port binding : bindings) {
+            if (binding.getPort().equals(port)) {
+                portBindings.add(binding);
+            }
+        }
+        return portBindings;
+    }
+
     public static class Port{
 
+        private static final String TCP = "tcp";
+        private static final String UDP = "udp";
+
         private final String scheme;
         private final String port;
         private final String hostIp;
@@ -70,10 +107,28 @@ public class Ports {
             return hostPort;
         }
 
+        /**
+         * @param full port and scheme, e.g. <code>8080/tcp</code>. The scheme defaults to tcp.
+         */
         public static Port makePort(String full, String hostIp, String hostPort) {
             if (full == null) return null;
-            String[] pieces = full.split("/");
-            return new Port(pieces[1], pieces[0], hostIp, hostPort);
+            int slash = full.indexOf('/');
+            if (slash < 0) {
+                return new Port(TCP, full, hostIp, hostPort);
+            }
+            return new Port(scheme(full, slash + 1), full.substring(0, slash), hostIp, hostPort);
+        }
+
+        // the schemes are shared instead of copied out of every key
+        private static String scheme(String full, int start) {
+            int length = full.length() - start;
+            if (length == 3 && full.startsWith(TCP, start)) {
+                return TCP;
+            }
+            if (length == 3 && full.startsWith(UDP, start)) {
+                return UDP;
+            }
+            return full.substring(start);
         }
 
         @Override
@@ -87,24 +142,80 @@ public class Ports {
         }
     }
 
+    /**
+     * Reads the bindings token by token. Understands the object of inspect responses, e.g.
+     * <code>{"80/tcp": [{"HostIp": "0.0.0.0", "HostPort": "8080"}]}</code>, as well as the array of container lists,
+     * e.g. <code>[{"IP": "0.0.0.0", "PrivatePort": 80, "PublicPort": 8080, "Type": "tcp"}]</code>. Ports which are
+     * not published are skipped.
+     */
     public static class Deserializer extends JsonDeserializer<Ports> {
         @Override
         public Ports deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException, JsonProcessingException {
 
             Ports out = new Ports();
-            ObjectCodec oc = jsonParser.getCodec();
-            JsonNode node = oc.readTree(jsonParser);
-            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext();) {
-
-                Map.Entry<String, JsonNode> field = it.next();
-                if (!field.getValue().equals(NullNode.getInstance())) {
-                    String hostIp = field.getValue().get(0).get("HostIp").textValue();
-                    String hostPort = field.getValue().get(0).get("HostPort").textValue();
-                    out.addPort(Port.makePort(field.getKey(), hostIp, hostPort));
+            JsonToken token = jsonParser.getCurrentToken();
+            if (token == JsonToken.START_OBJECT) {
+                while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+                    String full = jsonParser.getCurrentName();
+                    if (jsonParser.nextToken() == JsonToken.START_ARRAY) {
+                        while (jsonParser.nextToken() == JsonToken.START_OBJECT) {
+                            readBinding(jsonParser, full, out);
+                        }
+                    } else {
+                        jsonParser.skipChildren();
+                    }
                 }
+            } else if (token == JsonToken.START_ARRAY) {
+                while (jsonParser.nextToken() == JsonToken.START_OBJECT) {
+                    readListedPort(jsonParser, out);
+                }
+            } else {
+                jsonParser.skipChildren();
             }
             return out;
         }
+
+        private static void readBinding(JsonParser jsonParser, String full, Ports out) throws IOException {
+            String hostIp = null;
+            String hostPort = null;
+            while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = jsonParser.getCurrentName();
+                jsonParser.nextToken();
+                if ("HostIp".equals(name)) {
+                    hostIp = jsonParser.getValueAsString();
+                } else if ("HostPort".equals(name)) {
+                    hostPort = jsonParser.getValueAsString();
+                } else {
+                    jsonParser.skipChildren();
+                }
+            }
+            out.addPort(Port.makePort(full, hostIp, hostPort));
+        }
+
+        private static void readListedPort(JsonParser jsonParser, Ports out) throws IOException {
+            String ip = null;
+            String privatePort = null;
+            String publicPort = null;
+            String type = Port.TCP;
+            while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = jsonParser.getCurrentName();
+                jsonParser.nextToken();
+                if ("IP".equals(name)) {
+                    ip = jsonParser.getValueAsString();
+                } else if ("PrivatePort".equals(name)) {
+                    privatePort = jsonParser.getValueAsString();
+                } else if ("PublicPort".equals(name)) {
+                    publicPort = jsonParser.getValueAsString();
+                } else if ("Type".equals(name)) {
+                    type = Port.scheme(jsonParser.getText(), 0);
+                } else {
+                    jsonParser.skipChildren();
+                }
+            }
+            if (privatePort != null && publicPort != null) {
+                out.addPort(new Port(type, privatePort, ip, publicPort));
+            }
+        }
     }
 
     public static class Serializer extends JsonSerializer<Ports> {
@@ -113,15 +224,27 @@ public class Ports {
         public void serialize(Ports ports, JsonGenerator jsonGen,
                               SerializerProvider serProvider) throws IOException, JsonProcessingException {
 
+            Map<String, List<Port>> bindingsByPort = new LinkedHashMap<String, List<Port>>();
+            for (Port p : ports.bindings) {
+                String full = p.getPort() + "/" + p.getScheme();
+                List<Port> portBindings = bindingsByPort.get(full);
+                if (portBindings == null) {
+                    portBindings = new ArrayList<Port>(1);
+                    bindingsByPort.put(full, portBindings);
+                }
+                portBindings.add(p);
+            }
+
             jsonGen.writeStartObject();//{
-            for(String portKey : ports.getAllPorts().keySet()){
-                Port p = ports.getAllPorts().get(portKey);
-                jsonGen.writeFieldName(p.getPort() + "/" + p.getScheme());
+            for (Map.Entry<String, List<Port>> entry : bindingsByPort.entrySet()) {
+                jsonGen.writeFieldName(entry.getKey());
                 jsonGen.writeStartArray();
-                jsonGen.writeStartObject();
-                jsonGen.writeStringField("HostIp", p.hostIp);
-                jsonGen.writeStringField("HostPort", p.hostPort);
-                jsonGen.writeEndObject();
+                for (Port p : entry.getValue()) {
+                    jsonGen.writeStartObject();
+                    jsonGen.writeStringField("HostIp", p.hostIp);
+                    jsonGen.writeStringField("HostPort", p.hostPort);
+                    jsonGen.writeEndObject();
+                }
                 jsonGen.writeEndArray();
             }
             jsonGen.writeEndObject();//}
@@ -129,4 +252,4 @@ public class Ports {
 
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.kpelykh.docker.client.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A single message of the progress stream of a pull, push or build.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProgressMessage {
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("progress")
+    private String progress;
+
+    @JsonProperty("stream")
+    private String stream;
+
+    @JsonProperty("error")
+    private String error;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getProgress() {
+        return progress;
+    }
+
+    public void setProgress(String progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * @return output of a build step.
+     */
+    public String getStream() {
+        return stream;
+    }
+
+    public void setStream(String stream) {
+        this.stream = stream;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "ProgressMessage{" +
+                "id='" + id + '\'' +
+                ", status='" + status + '\'' +
+                ", progress='" + progress + '\'' +
+                ", stream='" + stream + '\'' +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
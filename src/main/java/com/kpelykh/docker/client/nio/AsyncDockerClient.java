@@ -0,0 +1,128 @@
+package com.kpelykh.docker.client.nio;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.model.Container;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.ContainerCreateResponse;
+import com.kpelykh.docker.client.model.ContainerInspectResponse;
+import com.kpelykh.docker.client.model.ContainerWaitResponse;
+import com.kpelykh.docker.client.model.HostConfig;
+import com.kpelykh.docker.client.model.Info;
+import com.kpelykh.docker.client.model.Version;
+
+/**
+ * The frequent calls of {@link com.kpelykh.docker.client.DockerClient} without blocking the caller: every method sends
+ * its request through an {@link HttpEngine} and returns right away. Failures are reported by the futures, wrapping the
+ * same {@link DockerException}s the blocking client throws. Response bodies are bound when the result is requested.
+ */
+public class AsyncDockerClient {
+
+	private static final String JSON = "application/json";
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final HttpEngine engine;
+
+	public AsyncDockerClient(HttpEngine engine) {
+		this.engine = engine;
+	}
+
+	/**
+	 * @param daemonUrl e.g. {@code unix:///var/run/docker.sock}.
+	 */
+	public AsyncDockerClient(String daemonUrl) {
+		this(new HttpEngine(DaemonAddress.parse(daemonUrl)));
+	}
+
+	public HttpEngine getEngine() {
+		return engine;
+	}
+
+	public Future<Info> info() {
+		return get("/info", Info.class);
+	}
+
+	public Future<Version> version() {
+		return get("/version", Version.class);
+	}
+
+	public Future<Void> ping() {
+		return send("GET", "/_ping", null);
+	}
+
+	public Future<List<Container>> listContainers(boolean allContainers) {
+		JavaType type = MAPPER.getTypeFactory().constructCollectionType(List.class, Container.class);
+		return new ResponseFuture<List<Container>>(engine.execute("GET", "/containers/json?all=" + (allContainers ? "1" : "0"),
+				null, null), MAPPER, type);
+	}
+
+	public Future<ContainerInspectResponse> inspectContainer(String containerId) {
+		return get("/containers/" + containerId + "/json", ContainerInspectResponse.class);
+	}
+
+	/**
+	 * @param containerName may be <code>null</code>.
+	 */
+	public Future<ContainerCreateResponse> createContainer(ContainerConfig containerConfig, String containerName) {
+		Preconditions.checkNotNull(containerConfig, "Container config was not specified");
+		String path = "/containers/create" + (containerName == null ? "" : "?name=" + containerName);
+		return new ResponseFuture<ContainerCreateResponse>(engine.execute("POST", path, JSON, json(containerConfig)), MAPPER,
+				MAPPER.constructType(ContainerCreateResponse.class));
+	}
+
+	/**
+	 * @param hostConfig may be <code>null</code>.
+	 */
+	public Future<Void> startContainer(String containerId, HostConfig hostConfig) {
+		return send("POST", "/containers/" + containerId + "/start", hostConfig == null ? null : json(hostConfig));
+	}
+
+	public Future<Void> stopContainer(String containerId, int timeout) {
+		return send("POST", "/containers/" + containerId + "/stop?t=" + timeout, null);
+	}
+
+	public Future<Void> kill(String containerId) {
+		return send("POST", "/containers/" + containerId + "/kill", null);
+	}
+
+	public Future<Void> removeContainer(String containerId, boolean removeVolumes) {
+		Preconditions.checkArgument(containerId != null && !containerId.isEmpty(), "Container ID can't be empty");
+		return send("DELETE", "/containers/" + containerId + "?v=" + (removeVolumes ? "1" : "0"), null);
+	}
+
+	public Future<ContainerWaitResponse> waitContainer(String containerId) {
+		return new ResponseFuture<ContainerWaitResponse>(engine.execute("POST", "/containers/" + containerId + "/wait", null, null),
+				MAPPER, MAPPER.constructType(ContainerWaitResponse.class));
+	}
+
+	/**
+	 * Close the connections of the engine.
+	 */
+	public void shutdown() {
+		engine.shutdown();
+	}
+
+	private <T> Future<T> get(String path, Class<T> type) {
+		return new ResponseFuture<T>(engine.execute("GET", path, null, null), MAPPER, MAPPER.constructType(type));
+	}
+
+	private Future<Void> send(String method, String path, byte[] body) {
+		return new ResponseFuture<Void>(engine.execute(method, path, body == null ? null : JSON, body), MAPPER, null);
+	}
+
+	private static byte[] json(Object value) {
+		try {
+			return MAPPER.writeValueAsBytes(value);
+		} catch (IOException e) {
+			throw new DockerException("Failed to write the request.", e);
+		}
+	}
+
+}
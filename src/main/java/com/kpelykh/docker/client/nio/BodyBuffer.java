@@ -0,0 +1,44 @@
+package com.kpelykh.docker.client.nio;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Collects a complete response body. The buffer belongs to a connection and is reused for all of its responses.
+ */
+class BodyBuffer extends FrameDecoder {
+
+	private static final int INITIAL_SIZE = 4096;
+
+	private byte[] bytes = new byte[INITIAL_SIZE];
+
+	private int length;
+
+	BodyBuffer() {
+		super(null);
+	}
+
+	@Override
+	void decode(ByteBuffer data) {
+		int count = data.remaining();
+		if (length + count > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+		}
+		data.get(bytes, length, count);
+		length += count;
+	}
+
+	@Override
+	void end() {
+		// complete
+	}
+
+	byte[] toByteArray() {
+		return Arrays.copyOf(bytes, length);
+	}
+
+	void reset() {
+		length = 0;
+	}
+
+}
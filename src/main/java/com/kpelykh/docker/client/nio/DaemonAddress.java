@@ -0,0 +1,113 @@
+package com.kpelykh.docker.client.nio;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.spi.SelectorProvider;
+
+import jnr.enxio.channels.NativeSelectorProvider;
+import jnr.unixsocket.UnixSocketAddress;
+import jnr.unixsocket.UnixSocketChannel;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * Where a docker daemon listens, either a TCP port or a unix socket.
+ */
+public class DaemonAddress {
+
+	private static final String UNIX_SCHEME = "unix://";
+
+	private final String host;
+
+	private final InetSocketAddress tcpAddress;
+
+	private final File socket;
+
+	private DaemonAddress(String host, InetSocketAddress tcpAddress, File socket) {
+		this.host = host;
+		this.tcpAddress = tcpAddress;
+		this.socket = socket;
+	}
+
+	/**
+	 * The host name is resolved right away, so connecting later never blocks on name resolution.
+	 * @throws DockerException if the host name can't be resolved.
+	 */
+	public static DaemonAddress tcp(String host, int port) {
+		InetSocketAddress address = new InetSocketAddress(host, port);
+		if (address.isUnresolved()) {
+			throw new DockerException("Can't resolve the docker daemon host '" + host + "'.");
+		}
+		return new DaemonAddress(host, address, null);
+	}
+
+	public static DaemonAddress unixSocket(File socket) {
+		Preconditions.checkNotNull(socket, "Socket path is required");
+		return new DaemonAddress(null, null, socket);
+	}
+
+	/**
+	 * @param url e.g. {@code http://localhost:4243}, {@code tcp://10.0.0.1:2375} or {@code unix:///var/run/docker.sock}.
+	 */
+	public static DaemonAddress parse(String url) {
+		if (url.startsWith(UNIX_SCHEME)) {
+			return unixSocket(new File(url.substring(UNIX_SCHEME.length())));
+		}
+		URI uri = URI.create(url);
+		Preconditions.checkArgument(uri.getHost() != null, "No host in daemon URL '%s'", url);
+		return tcp(uri.getHost(), uri.getPort() < 0 ? 80 : uri.getPort());
+	}
+
+	public boolean isUnixSocket() {
+		return socket != null;
+	}
+
+	/**
+	 * @return value of the host header of requests to this daemon.
+	 */
+	String hostHeader() {
+		return isUnixSocket() ? "docker" : host + ":" + tcpAddress.getPort();
+	}
+
+	/**
+	 * @return provider of selectors for the channels of this address, unix socket channels need a native selector.
+	 */
+	SelectorProvider selectorProvider() {
+		return isUnixSocket() ? NativeSelectorProvider.getInstance() : SelectorProvider.provider();
+	}
+
+	SelectableChannel openChannel() throws IOException {
+		SelectableChannel channel = isUnixSocket() ? UnixSocketChannel.open() : SocketChannel.open();
+		channel.configureBlocking(false);
+		return channel;
+	}
+
+	/**
+	 * Start connecting a channel opened by {@link #openChannel()}.
+	 * @return whether the connection was established right away.
+	 */
+	boolean connect(SelectableChannel channel) throws IOException {
+		if (isUnixSocket()) {
+			return ((UnixSocketChannel) channel).connect(new UnixSocketAddress(socket));
+		}
+		return ((SocketChannel) channel).connect(tcpAddress);
+	}
+
+	boolean finishConnect(SelectableChannel channel) throws IOException {
+		if (isUnixSocket()) {
+			return ((UnixSocketChannel) channel).finishConnect();
+		}
+		return ((SocketChannel) channel).finishConnect();
+	}
+
+	@Override
+	public String toString() {
+		return isUnixSocket() ? UNIX_SCHEME + socket.getPath() : "tcp://" + hostHeader();
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.kpelykh.docker.client.nio;
+
+import java.nio.charset.Charset;
+
+/**
+ * A complete, successful response of the daemon received by an {@link HttpEngine}.
+ */
+public class DaemonResponse {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final int statusCode;
+
+	private final byte[] body;
+
+	DaemonResponse(int statusCode, byte[] body) {
+		this.statusCode = statusCode;
+		this.body = body;
+	}
+
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * @return the body, empty if there was none.
+	 */
+	public byte[] getBody() {
+		return body;
+	}
+
+	public String getBodyAsString() {
+		return new String(body, UTF_8);
+	}
+
+	@Override
+	public String toString() {
+		return "DaemonResponse{" + "statusCode=" + statusCode + ", length=" + body.length + '}';
+	}
+
+}
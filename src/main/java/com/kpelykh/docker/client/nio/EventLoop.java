@@ -0,0 +1,117 @@
+package com.kpelykh.docker.client.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.spi.SelectorProvider;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
+
+/**
+ * One thread with a selector, serving all connections registered with it. Work from other threads is posted as tasks which
+ * run on the loop thread between selects.
+ */
+class EventLoop implements Runnable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(EventLoop.class);
+
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+	private final Selector selector;
+
+	// shared by all connections of the loop, the decoders keep whatever they need beyond one read
+	private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+
+	private volatile boolean closed;
+
+	EventLoop(String name, SelectorProvider selectorProvider) throws IOException {
+		this.selector = selectorProvider.openSelector();
+		new DaemonThreadFactory(name).newThread(this).start();
+	}
+
+	void post(Runnable task) {
+		if (closed) {
+			throw new DockerException("Event loop was shut down.");
+		}
+		tasks.add(task);
+		selector.wakeup();
+	}
+
+	Selector selector() {
+		return selector;
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (!closed) {
+				selector.select();
+				Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+				while (selectedKeys.hasNext()) {
+					SelectionKey key = selectedKeys.next();
+					selectedKeys.remove();
+					if (key.isValid()) {
+						((LoopConnection) key.attachment()).handle(key, readBuffer);
+					}
+				}
+				runTasks();
+			}
+		} catch (IOException e) {
+			LOG.error("Event loop failed.", e);
+		} catch (ClosedSelectorException e) {
+			// closed
+		} finally {
+			closeAll();
+		}
+	}
+
+	private void closeAll() {
+		closed = true;
+		// connections posted before the shutdown get registered first, so they are closed along with the others
+		runTasks();
+		DockerException cause = new DockerException("Event loop was shut down.");
+		List<LoopConnection> connections = new ArrayList<LoopConnection>();
+		try {
+			for (SelectionKey key : selector.keys()) {
+				connections.add((LoopConnection) key.attachment());
+			}
+		} catch (ClosedSelectorException e) {
+			// no keys left
+		}
+		for (LoopConnection connection : connections) {
+			connection.finish(cause);
+		}
+		runTasks();
+		try {
+			selector.close();
+		} catch (IOException e) {
+			LOG.warn("Failed to close selector.", e);
+		}
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			task.run();
+		}
+	}
+
+	void shutdown() {
+		closed = true;
+		selector.wakeup();
+	}
+
+}
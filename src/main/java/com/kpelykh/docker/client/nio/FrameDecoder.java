@@ -0,0 +1,184 @@
+package com.kpelykh.docker.client.nio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.kpelykh.docker.client.model.LogFrame;
+import com.kpelykh.docker.client.model.LogFrame.StreamType;
+import com.kpelykh.docker.client.utils.FrameHeader;
+
+/**
+ * Splits a response body into frames as its bytes arrive, keeping partial frames until they are complete.
+ */
+abstract class FrameDecoder {
+
+	protected final StreamHandler handler;
+
+	FrameDecoder(StreamHandler handler) {
+		this.handler = handler;
+	}
+
+	static FrameDecoder create(StreamFraming framing, StreamHandler handler) {
+		switch (framing) {
+		case MULTIPLEXED:
+			return new MultiplexedDecoder(handler);
+		case LINES:
+			return new LineDecoder(handler);
+		default:
+			return new RawDecoder(handler);
+		}
+	}
+
+	/**
+	 * Consume all remaining bytes of the buffer.
+	 * @throws IOException if a frame is malformed.
+	 */
+	abstract void decode(ByteBuffer data) throws IOException;
+
+	/**
+	 * The body ended.
+	 * @throws IOException if it ended within a frame.
+	 */
+	abstract void end() throws IOException;
+
+	private static class RawDecoder extends FrameDecoder {
+
+		RawDecoder(StreamHandler handler) {
+			super(handler);
+		}
+
+		@Override
+		void decode(ByteBuffer data) {
+			byte[] chunk = new byte[data.remaining()];
+			data.get(chunk);
+			handler.onFrame(new LogFrame(StreamType.RAW, chunk));
+		}
+
+		@Override
+		void end() {
+			// nothing buffered
+		}
+
+	}
+
+	private static class LineDecoder extends FrameDecoder {
+
+		private byte[] line = new byte[256];
+
+		private int length;
+
+		LineDecoder(StreamHandler handler) {
+			super(handler);
+		}
+
+		@Override
+		void decode(ByteBuffer data) {
+			while (data.hasRemaining()) {
+				byte b = data.get();
+				if (b == '\n') {
+					emit();
+				} else {
+					if (length == line.length) {
+						line = Arrays.copyOf(line, line.length * 2);
+					}
+					line[length++] = b;
+				}
+			}
+		}
+
+		private void emit() {
+			int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+			length = 0;
+			if (end == 0) {
+				return;
+			}
+			if (handler instanceof LineHandler) {
+				((LineHandler) handler).onLine(line, end);
+			} else {
+				handler.onFrame(new LogFrame(StreamType.RAW, Arrays.copyOf(line, end)));
+			}
+		}
+
+		@Override
+		void end() {
+			emit();
+		}
+
+	}
+
+	private static class MultiplexedDecoder extends FrameDecoder {
+
+		private final byte[] header = new byte[FrameHeader.SIZE];
+
+		private int headerLength;
+
+		private byte[] payload;
+
+		private int payloadLength;
+
+		private StreamType streamType;
+
+		// null until the first header arrived
+		private Boolean multiplexed;
+
+		MultiplexedDecoder(StreamHandler handler) {
+			super(handler);
+		}
+
+		@Override
+		void decode(ByteBuffer data) throws IOException {
+			while (data.hasRemaining()) {
+				if (multiplexed == Boolean.FALSE) {
+					byte[] chunk = new byte[data.remaining()];
+					data.get(chunk);
+					handler.onFrame(new LogFrame(StreamType.RAW, chunk));
+					return;
+				}
+				if (payload == null) {
+					int count = Math.min(FrameHeader.SIZE - headerLength, data.remaining());
+					data.get(header, headerLength, count);
+					headerLength += count;
+					if (headerLength == FrameHeader.SIZE) {
+						startFrame();
+					}
+				} else {
+					int count = Math.min(payload.length - payloadLength, data.remaining());
+					data.get(payload, payloadLength, count);
+					payloadLength += count;
+				}
+				if (payload != null && payloadLength == payload.length) {
+					handler.onFrame(new LogFrame(streamType, payload));
+					payload = null;
+					headerLength = 0;
+				}
+			}
+		}
+
+		private void startFrame() throws IOException {
+			if (multiplexed == null) {
+				multiplexed = FrameHeader.isMultiplexed(header);
+				if (!multiplexed) {
+					handler.onFrame(new LogFrame(StreamType.RAW, header.clone()));
+					return;
+				}
+			}
+			streamType = FrameHeader.streamType(header);
+			payload = new byte[FrameHeader.payloadLength(header)];
+			payloadLength = 0;
+		}
+
+		@Override
+		void end() throws IOException {
+			if (multiplexed == null && headerLength > 0) {
+				// fewer than 8 bytes of output from a container with a TTY
+				handler.onFrame(new LogFrame(StreamType.RAW, Arrays.copyOf(header, headerLength)));
+			} else if (multiplexed == Boolean.TRUE && (headerLength > 0 || payload != null)) {
+				throw new EOFException("Stream ended within a frame.");
+			}
+		}
+
+	}
+
+}
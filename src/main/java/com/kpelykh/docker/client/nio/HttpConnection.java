@@ -0,0 +1,172 @@
+package com.kpelykh.docker.client.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.WritableByteChannel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.nio.HttpEngine.Exchange;
+
+/**
+ * A kept-alive connection of an {@link HttpEngine}, sending one request at a time. Its request buffer, response decoder
+ * and body buffer are reused for every exchange. All methods run on the loop thread.
+ */
+class HttpConnection implements LoopConnection {
+
+	private static final Logger LOG = LoggerFactory.getLogger(HttpConnection.class);
+
+	private final HttpEngine engine;
+
+	private final DaemonAddress address;
+
+	private final HttpRequestEncoder encoder;
+
+	private final BodyBuffer body = new BodyBuffer();
+
+	private final HttpResponseDecoder response = new HttpResponseDecoder(body);
+
+	private SelectableChannel channel;
+
+	private SelectionKey key;
+
+	private boolean closed;
+
+	private int exchanges;
+
+	private Exchange current;
+
+	private ByteBuffer request;
+
+	HttpConnection(HttpEngine engine, DaemonAddress address) {
+		this.engine = engine;
+		this.address = address;
+		this.encoder = new HttpRequestEncoder(address.hostHeader());
+	}
+
+	/**
+	 * Connect and send the first request once connected.
+	 */
+	void start(Exchange exchange, EventLoop loop) {
+		current = exchange;
+		try {
+			channel = address.openChannel();
+			boolean connected = address.connect(channel);
+			key = channel.register(loop.selector(), connected ? SelectionKey.OP_WRITE : SelectionKey.OP_CONNECT, this);
+			if (connected) {
+				encode();
+			}
+		} catch (IOException e) {
+			finish(e);
+		} catch (RuntimeException e) {
+			// e.g. an unresolved address, which must not take down the loop and the other connections on it
+			finish(e);
+		}
+	}
+
+	/**
+	 * Send a request on the idle connection.
+	 */
+	void send(Exchange exchange) {
+		current = exchange;
+		encode();
+		key.interestOps(SelectionKey.OP_WRITE);
+	}
+
+	private void encode() {
+		response.reset();
+		body.reset();
+		request = encoder.encode(current.method, current.path, current.contentType, current.body);
+	}
+
+	@Override
+	public void handle(SelectionKey key, ByteBuffer readBuffer) {
+		try {
+			if (key.isConnectable()) {
+				if (address.finishConnect(channel)) {
+					encode();
+					key.interestOps(SelectionKey.OP_WRITE);
+				}
+			} else if (key.isWritable()) {
+				((WritableByteChannel) channel).write(request);
+				if (!request.hasRemaining()) {
+					key.interestOps(SelectionKey.OP_READ);
+				}
+			} else if (key.isReadable()) {
+				readBuffer.clear();
+				int read = ((ReadableByteChannel) channel).read(readBuffer);
+				if (read < 0) {
+					if (current != null) {
+						response.endOfStream();
+						complete();
+					}
+					finish(null);
+					return;
+				}
+				if (current == null) {
+					throw new IOException("Unexpected data on an idle connection.");
+				}
+				readBuffer.flip();
+				if (response.decode(readBuffer)) {
+					complete();
+					if (response.isKeepAlive()) {
+						engine.release(this);
+					} else {
+						finish(null);
+					}
+				}
+			}
+		} catch (IOException e) {
+			finish(e);
+		} catch (RuntimeException e) {
+			finish(e);
+		}
+	}
+
+	private static boolean isIdempotent(String method) {
+		return "GET".equals(method) || "HEAD".equals(method);
+	}
+
+	private void complete() {
+		Exchange exchange = current;
+		current = null;
+		exchanges++;
+		DockerException failure = response.failure();
+		if (failure != null) {
+			exchange.setException(failure);
+		} else {
+			exchange.set(new DaemonResponse(response.getStatusCode(), body.toByteArray()));
+		}
+	}
+
+	@Override
+	public void finish(Throwable cause) {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		if (key != null) {
+			key.cancel();
+		}
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				LOG.debug("Failed to close connection.", e);
+			}
+		}
+		Exchange exchange = current;
+		current = null;
+		// a kept-alive connection may have been closed by the daemon just before it was reused. The request is only sent
+		// again if the daemon can't have acted on it: it is idempotent, or it was not written completely.
+		boolean stale = exchanges > 0 && !response.isStarted() && cause instanceof IOException && exchange != null
+				&& (isIdempotent(exchange.method) || (request != null && request.hasRemaining()));
+		engine.closed(this, exchange, stale, cause);
+	}
+
+}
@@ -0,0 +1,194 @@
+package com.kpelykh.docker.client.nio;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.utils.SettableFuture;
+
+/**
+ * Sends requests to one daemon without blocking a thread per request: a single event loop writes the requests and
+ * parses the responses as their bytes arrive, over a few kept-alive connections. Requests wait in a queue while all
+ * connections are busy. Meant for many small calls to a local daemon, e.g. over its unix socket.
+ * <p>
+ * Only the first request of a connection allocates its buffers, every further request reuses them and costs a future
+ * and the copy of the response body.
+ */
+public class HttpEngine {
+
+	private static final int DEFAULT_MAX_CONNECTIONS = 4;
+
+	private final DaemonAddress address;
+
+	private final int maxConnections;
+
+	private final EventLoop loop;
+
+	// only used on the loop thread
+	private final ArrayDeque<HttpConnection> idle = new ArrayDeque<HttpConnection>();
+
+	private final ArrayDeque<Exchange> waiting = new ArrayDeque<Exchange>();
+
+	private final AtomicInteger connections = new AtomicInteger();
+
+	private final AtomicLong requests = new AtomicLong();
+
+	private final AtomicLong connects = new AtomicLong();
+
+	/**
+	 * @param maxConnections number of requests sent concurrently.
+	 */
+	public HttpEngine(DaemonAddress address, int maxConnections) {
+		Preconditions.checkArgument(maxConnections > 0, "At least one connection is required");
+		this.address = address;
+		this.maxConnections = maxConnections;
+		try {
+			this.loop = new EventLoop("docker-http", address.selectorProvider());
+		} catch (IOException e) {
+			throw new DockerException("Failed to start the event loop.", e);
+		}
+	}
+
+	public HttpEngine(DaemonAddress address) {
+		this(address, DEFAULT_MAX_CONNECTIONS);
+	}
+
+	public DaemonAddress getAddress() {
+		return address;
+	}
+
+	/**
+	 * Send a request.
+	 * @param path path and query of the request.
+	 * @param contentType may be <code>null</code> if there is no body.
+	 * @param body may be <code>null</code>.
+	 * @return the response, failing with the {@link DockerException} for the status if it is not successful.
+	 */
+	public Future<DaemonResponse> execute(String method, String path, String contentType, byte[] body) {
+		Exchange exchange = new Exchange(method, path, contentType, body);
+		requests.incrementAndGet();
+		loop.post(exchange);
+		return exchange;
+	}
+
+	/**
+	 * @return number of open connections, busy or idle.
+	 */
+	public int getConnections() {
+		return connections.get();
+	}
+
+	public long getRequests() {
+		return requests.get();
+	}
+
+	/**
+	 * @return number of connections opened so far, compared to {@link #getRequests()} it shows how well connections are
+	 *         reused.
+	 */
+	public long getConnects() {
+		return connects.get();
+	}
+
+	/**
+	 * Close all connections, failing the requests in progress.
+	 */
+	public void shutdown() {
+		try {
+			loop.post(new Runnable() {
+				@Override
+				public void run() {
+					DockerException cause = new DockerException("HTTP engine was shut down.");
+					Exchange exchange;
+					while ((exchange = waiting.poll()) != null) {
+						exchange.setException(cause);
+					}
+				}
+			});
+		} catch (DockerException e) {
+			// already shut down
+		}
+		loop.shutdown();
+	}
+
+	private void dispatch(Exchange exchange) {
+		HttpConnection connection = idle.pollFirst();
+		if (connection != null) {
+			connection.send(exchange);
+		} else if (connections.get() < maxConnections) {
+			connections.incrementAndGet();
+			connects.incrementAndGet();
+			new HttpConnection(this, address).start(exchange, loop);
+		} else {
+			waiting.add(exchange);
+		}
+	}
+
+	void release(HttpConnection connection) {
+		Exchange exchange = waiting.poll();
+		if (exchange != null) {
+			connection.send(exchange);
+		} else {
+			// most recently used first, so surplus connections stay idle until the daemon closes them
+			idle.addFirst(connection);
+		}
+	}
+
+	/**
+	 * @param exchange in progress when the connection was closed, if any.
+	 * @param stale whether the exchange failed on a reused connection before any response arrived, and can safely be sent
+	 *            again.
+	 */
+	void closed(HttpConnection connection, Exchange exchange, boolean stale, Throwable cause) {
+		connections.decrementAndGet();
+		idle.remove(connection);
+		if (exchange != null) {
+			if (stale && !exchange.retried) {
+				exchange.retried = true;
+				waiting.addFirst(exchange);
+			} else if (cause instanceof DockerException) {
+				exchange.setException(cause);
+			} else {
+				exchange.setException(new DockerException("Request to " + address + " failed.", cause));
+			}
+		}
+		Exchange next = waiting.poll();
+		if (next != null) {
+			dispatch(next);
+		}
+	}
+
+	/**
+	 * A request and its pending response. Posted to the loop as is to dispatch it.
+	 */
+	class Exchange extends SettableFuture<DaemonResponse> implements Runnable {
+
+		final String method;
+
+		final String path;
+
+		final String contentType;
+
+		final byte[] body;
+
+		boolean retried;
+
+		Exchange(String method, String path, String contentType, byte[] body) {
+			this.method = method;
+			this.path = path;
+			this.contentType = contentType;
+			this.body = body;
+		}
+
+		@Override
+		public void run() {
+			dispatch(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.kpelykh.docker.client.nio;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes HTTP/1.1 requests into a buffer which is reused for all requests of a connection. Request lines and headers
+ * are ASCII, so characters are written as bytes without an encoder.
+ */
+class HttpRequestEncoder {
+
+	private static final int INITIAL_SIZE = 512;
+
+	private final String hostHeader;
+
+	private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_SIZE);
+
+	HttpRequestEncoder(String hostHeader) {
+		this.hostHeader = hostHeader;
+	}
+
+	/**
+	 * @return the encoded request, ready to be written.
+	 */
+	ByteBuffer encode(String method, String path, String contentType, byte[] body) {
+		int bodyLength = body == null ? 0 : body.length;
+		int size = method.length() + path.length() + hostHeader.length() + 64 + bodyLength
+				+ (contentType == null ? 0 : contentType.length() + 16);
+		if (buffer.capacity() < size) {
+			buffer = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, size));
+		}
+		buffer.clear();
+		put(method).put(" ").put(path).put(" HTTP/1.1\r\nHost: ").put(hostHeader).put("\r\n");
+		if (contentType != null) {
+			put("Content-Type: ").put(contentType).put("\r\n");
+		}
+		if (bodyLength > 0 || !"GET".equals(method) && !"HEAD".equals(method) && !"DELETE".equals(method)) {
+			put("Content-Length: ").put(Integer.toString(bodyLength)).put("\r\n");
+		}
+		put("\r\n");
+		if (bodyLength > 0) {
+			buffer.put(body);
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	private HttpRequestEncoder put(String ascii) {
+		for (int i = 0; i < ascii.length(); i++) {
+			buffer.put((byte) ascii.charAt(i));
+		}
+		return this;
+	}
+
+}
@@ -0,0 +1,268 @@
+package com.kpelykh.docker.client.nio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import com.kpelykh.docker.client.ConflictException;
+import com.kpelykh.docker.client.DaemonErrorException;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.NotFoundException;
+
+/**
+ * Parses an HTTP response as its bytes arrive: status line, headers and a body which is chunked, has a content length
+ * or lasts until the connection is closed, as for attached streams. The body of a successful response is passed to a
+ * {@link FrameDecoder}, the body of an error response is kept for the exception. A decoder can be {@link #reset()} for
+ * the next response on a kept-alive connection.
+ */
+class HttpResponseDecoder {
+
+	private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+	private static final int MAX_LINE_LENGTH = 8192;
+
+	private static final int MAX_ERROR_BODY = 4096;
+
+	private enum State {
+		STATUS_LINE, HEADERS, BODY_UNTIL_CLOSE, BODY_WITH_LENGTH, CHUNK_SIZE, CHUNK_DATA, CHUNK_END, TRAILER, DONE
+	}
+
+	private final FrameDecoder body;
+
+	private State state = State.STATUS_LINE;
+
+	private final StringBuilder line = new StringBuilder();
+
+	private int statusCode;
+
+	private boolean keepAlive;
+
+	private boolean chunked;
+
+	private long contentLength = -1;
+
+	private long remaining;
+
+	private final StringBuilder errorBody = new StringBuilder();
+
+	HttpResponseDecoder(FrameDecoder body) {
+		this.body = body;
+	}
+
+	/**
+	 * Consume the received bytes.
+	 * @return whether the response is complete.
+	 */
+	boolean decode(ByteBuffer data) throws IOException {
+		while (data.hasRemaining() && state != State.DONE) {
+			switch (state) {
+			case STATUS_LINE:
+				String statusLine = readLine(data);
+				if (statusLine != null) {
+					String[] parts = statusLine.split(" ", 3);
+					if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+						throw new IOException("Invalid status line '" + statusLine + "'.");
+					}
+					statusCode = Integer.parseInt(parts[1]);
+					keepAlive = !parts[0].equals("HTTP/1.0");
+					state = State.HEADERS;
+				}
+				break;
+			case HEADERS:
+				String header = readLine(data);
+				if (header != null) {
+					if (header.isEmpty()) {
+						startBody();
+					} else {
+						readHeader(header);
+					}
+				}
+				break;
+			case BODY_UNTIL_CLOSE:
+				passOn(data, data.remaining());
+				break;
+			case BODY_WITH_LENGTH:
+				remaining -= passOn(data, remaining);
+				if (remaining == 0) {
+					endBody();
+				}
+				break;
+			case CHUNK_SIZE:
+				String size = readLine(data);
+				if (size != null) {
+					int extension = size.indexOf(';');
+					remaining = Long.parseLong((extension < 0 ? size : size.substring(0, extension)).trim(), 16);
+					state = remaining == 0 ? State.TRAILER : State.CHUNK_DATA;
+				}
+				break;
+			case CHUNK_DATA:
+				remaining -= passOn(data, remaining);
+				if (remaining == 0) {
+					state = State.CHUNK_END;
+				}
+				break;
+			case CHUNK_END:
+				if (readLine(data) != null) {
+					state = State.CHUNK_SIZE;
+				}
+				break;
+			case TRAILER:
+				String trailer = readLine(data);
+				if (trailer != null && trailer.isEmpty()) {
+					endBody();
+				}
+				break;
+			default:
+				throw new IllegalStateException(state.name());
+			}
+		}
+		return state == State.DONE;
+	}
+
+	/**
+	 * The connection was closed by the daemon.
+	 * @throws IOException if the response was not complete.
+	 */
+	void endOfStream() throws IOException {
+		if (state == State.BODY_UNTIL_CLOSE) {
+			endBody();
+		} else if (state != State.DONE) {
+			throw new EOFException("Connection closed before the response was complete.");
+		}
+	}
+
+	/**
+	 * Prepare for the next response on the same connection.
+	 */
+	void reset() {
+		state = State.STATUS_LINE;
+		line.setLength(0);
+		statusCode = 0;
+		keepAlive = false;
+		chunked = false;
+		contentLength = -1;
+		remaining = 0;
+		errorBody.setLength(0);
+	}
+
+	/**
+	 * @return whether any part of a response arrived since the last reset.
+	 */
+	boolean isStarted() {
+		return state != State.STATUS_LINE || line.length() > 0;
+	}
+
+	/**
+	 * @return the error reported by the daemon, or <code>null</code> if the request succeeded.
+	 */
+	DockerException failure() {
+		if (isSuccessful()) {
+			return null;
+		}
+		String message = errorBody.toString().trim();
+		if (statusCode == 404) {
+			return new NotFoundException("Image or container not found: " + message);
+		}
+		if (statusCode == 409) {
+			return new ConflictException(message);
+		}
+		return new DaemonErrorException(statusCode, message);
+	}
+
+	/**
+	 * @return whether the status is 2xx or 3xx, e.g. 304 for starting a running container.
+	 */
+	boolean isSuccessful() {
+		return statusCode >= 200 && statusCode < 400;
+	}
+
+	int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * @return whether the connection can be used for another request once the response is complete.
+	 */
+	boolean isKeepAlive() {
+		return keepAlive && state == State.DONE;
+	}
+
+	private void readHeader(String header) {
+		int colon = header.indexOf(':');
+		if (colon < 0) {
+			return;
+		}
+		String name = header.substring(0, colon).trim();
+		String value = header.substring(colon + 1).trim();
+		if ("Connection".equalsIgnoreCase(name)) {
+			keepAlive = !"close".equalsIgnoreCase(value);
+		} else if ("Transfer-Encoding".equalsIgnoreCase(name)) {
+			chunked = value.toLowerCase().contains("chunked");
+		} else if ("Content-Length".equalsIgnoreCase(name)) {
+			contentLength = Long.parseLong(value);
+		}
+	}
+
+	private void startBody() throws IOException {
+		if (statusCode == 204 || statusCode == 304) {
+			endBody();
+		} else if (chunked) {
+			state = State.CHUNK_SIZE;
+		} else if (contentLength >= 0) {
+			remaining = contentLength;
+			state = State.BODY_WITH_LENGTH;
+			if (remaining == 0) {
+				endBody();
+			}
+		} else {
+			keepAlive = false;
+			state = State.BODY_UNTIL_CLOSE;
+		}
+	}
+
+	private void endBody() throws IOException {
+		state = State.DONE;
+		if (isSuccessful()) {
+			body.end();
+		}
+	}
+
+	/**
+	 * Pass at most the given number of bytes on to the body.
+	 * @return number of bytes passed on.
+	 */
+	private int passOn(ByteBuffer data, long max) throws IOException {
+		int count = (int) Math.min(max, data.remaining());
+		ByteBuffer slice = data.slice();
+		slice.limit(count);
+		data.position(data.position() + count);
+		if (isSuccessful()) {
+			body.decode(slice);
+		} else if (errorBody.length() < MAX_ERROR_BODY) {
+			errorBody.append(ISO_8859_1.decode(slice));
+		}
+		return count;
+	}
+
+	/**
+	 * @return the next line without its line break, or <code>null</code> if it did not arrive completely yet.
+	 */
+	private String readLine(ByteBuffer data) throws IOException {
+		while (data.hasRemaining()) {
+			char c = (char) (data.get() & 0xff);
+			if (c == '\n') {
+				int length = line.length();
+				String complete = line.substring(0, length > 0 && line.charAt(length - 1) == '\r' ? length - 1 : length);
+				line.setLength(0);
+				return complete;
+			}
+			if (line.length() == MAX_LINE_LENGTH) {
+				throw new IOException("Line of the response exceeds " + MAX_LINE_LENGTH + " characters.");
+			}
+			line.append(c);
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.kpelykh.docker.client.nio;
+
+/**
+ * A {@link StreamHandler} of a {@link StreamFraming#LINES} stream which reads every line straight from the decoder's
+ * buffer, instead of getting a copy in a frame.
+ */
+public interface LineHandler extends StreamHandler {
+
+	/**
+	 * @param line buffer holding the line without its line break, reused for the next line once this returns.
+	 * @param length number of bytes of the line.
+	 */
+	void onLine(byte[] line, int length);
+
+}
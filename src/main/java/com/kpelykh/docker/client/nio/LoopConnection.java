@@ -0,0 +1,23 @@
+package com.kpelykh.docker.client.nio;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+
+/**
+ * A channel registered with an {@link EventLoop}, attached to its selection key. Both methods run on the loop thread.
+ */
+interface LoopConnection {
+
+	/**
+	 * The channel is ready for the operations of interest.
+	 * @param readBuffer shared by all connections of the loop, only valid during the call.
+	 */
+	void handle(SelectionKey key, ByteBuffer readBuffer);
+
+	/**
+	 * Close the channel, at most once.
+	 * @param cause why the connection ended, <code>null</code> if it ended normally.
+	 */
+	void finish(Throwable cause);
+
+}
@@ -0,0 +1,71 @@
+package com.kpelykh.docker.client.nio;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * Binds the body of a {@link DaemonResponse} once it is requested, on the thread waiting for it instead of the event
+ * loop.
+ */
+class ResponseFuture<T> implements Future<T> {
+
+	private final Future<DaemonResponse> response;
+
+	private final ObjectMapper mapper;
+
+	// null to ignore the body
+	private final JavaType type;
+
+	private volatile T value;
+
+	ResponseFuture(Future<DaemonResponse> response, ObjectMapper mapper, JavaType type) {
+		this.response = response;
+		this.mapper = mapper;
+		this.type = type;
+	}
+
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		return response.cancel(mayInterruptIfRunning);
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return response.isCancelled();
+	}
+
+	@Override
+	public boolean isDone() {
+		return response.isDone();
+	}
+
+	@Override
+	public T get() throws InterruptedException, ExecutionException {
+		return bind(response.get());
+	}
+
+	@Override
+	public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		return bind(response.get(timeout, unit));
+	}
+
+	private T bind(DaemonResponse daemonResponse) throws ExecutionException {
+		if (type == null || value != null) {
+			return value;
+		}
+		try {
+			value = mapper.<T> readValue(daemonResponse.getBody(), type);
+			return value;
+		} catch (IOException e) {
+			throw new ExecutionException(new DockerException("Failed to read the response.", e));
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.kpelykh.docker.client.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The state of one stream on its {@link EventLoop}: connecting, sending the request, then decoding the response. All
+ * methods but {@link #close()} run on the loop thread.
+ */
+class StreamConnection implements LoopConnection {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StreamConnection.class);
+
+	private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+	private final EventLoop loop;
+
+	private final DaemonAddress address;
+
+	private final ByteBuffer request;
+
+	private final HttpResponseDecoder response;
+
+	private final StreamHandler handler;
+
+	private final Runnable onFinished;
+
+	private final AtomicBoolean finished = new AtomicBoolean();
+
+	private SelectableChannel channel;
+
+	private SelectionKey key;
+
+	StreamConnection(EventLoop loop, DaemonAddress address, String method, String path, StreamFraming framing,
+			StreamHandler handler, Runnable onFinished) {
+		this.loop = loop;
+		this.address = address;
+		this.handler = handler;
+		this.onFinished = onFinished;
+		this.response = new HttpResponseDecoder(FrameDecoder.create(framing, handler));
+		String head = method + " " + path + " HTTP/1.1\r\nHost: " + address.hostHeader() + "\r\n"
+				+ ("POST".equals(method) ? "Content-Length: 0\r\n" : "") + "\r\n";
+		this.request = ByteBuffer.wrap(head.getBytes(US_ASCII));
+	}
+
+	void start() {
+		try {
+			channel = address.openChannel();
+			boolean connected = address.connect(channel);
+			key = channel.register(loop.selector(), connected ? SelectionKey.OP_WRITE : SelectionKey.OP_CONNECT, this);
+		} catch (IOException e) {
+			finish(e);
+		} catch (RuntimeException e) {
+			// e.g. an unresolved address, which must not take down the loop and the other streams on it
+			finish(e);
+		}
+	}
+
+	@Override
+	public void handle(SelectionKey key, ByteBuffer readBuffer) {
+		try {
+			if (key.isConnectable()) {
+				if (address.finishConnect(channel)) {
+					key.interestOps(SelectionKey.OP_WRITE);
+				}
+			} else if (key.isWritable()) {
+				((WritableByteChannel) channel).write(request);
+				if (!request.hasRemaining()) {
+					key.interestOps(SelectionKey.OP_READ);
+				}
+			} else if (key.isReadable()) {
+				readBuffer.clear();
+				int read = ((ReadableByteChannel) channel).read(readBuffer);
+				if (read < 0) {
+					response.endOfStream();
+					finish(response.failure());
+					return;
+				}
+				readBuffer.flip();
+				if (response.decode(readBuffer)) {
+					finish(response.failure());
+				}
+			}
+		} catch (IOException e) {
+			finish(e);
+		} catch (RuntimeException e) {
+			// thrown by the handler
+			finish(e);
+		}
+	}
+
+	@Override
+	public void finish(Throwable cause) {
+		if (!finished.compareAndSet(false, true)) {
+			return;
+		}
+		if (key != null) {
+			key.cancel();
+		}
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				LOG.debug("Failed to close stream channel.", e);
+			}
+		}
+		onFinished.run();
+		try {
+			handler.onClosed(cause);
+		} catch (RuntimeException e) {
+			LOG.warn("Stream handler failed.", e);
+		}
+	}
+
+	boolean isOpen() {
+		return !finished.get();
+	}
+
+	/**
+	 * Close the stream from any thread.
+	 */
+	void close() {
+		if (isOpen()) {
+			try {
+				loop.post(new Runnable() {
+					@Override
+					public void run() {
+						finish(null);
+					}
+				});
+			} catch (RuntimeException e) {
+				// the loop is shut down and closes the stream itself
+			}
+		}
+	}
+
+}
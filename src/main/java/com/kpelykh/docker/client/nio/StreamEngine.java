@@ -0,0 +1,140 @@
+package com.kpelykh.docker.client.nio;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * Follows many long-lived streams, e.g. logs or stats of thousands of containers, with a few threads instead of one
+ * blocked thread per stream. Streams of one or more daemons are multiplexed on event loops, one selector per thread,
+ * which read whatever arrived, decode HTTP and docker stream framing without blocking and hand complete frames to the
+ * {@link StreamHandler} of the stream.
+ * <p>
+ * Unix socket channels need a selector of their own kind, so TCP and unix socket streams are served by separate event
+ * loops, each started on first use.
+ */
+public class StreamEngine {
+
+	private final int loopsPerTransport;
+
+	private final AtomicInteger nextLoop = new AtomicInteger();
+
+	private final AtomicInteger openStreams = new AtomicInteger();
+
+	private EventLoop[] tcpLoops;
+
+	private EventLoop[] unixLoops;
+
+	private boolean shutdown;
+
+	/**
+	 * @param loopsPerTransport number of event loop threads for TCP and for unix socket streams each.
+	 */
+	public StreamEngine(int loopsPerTransport) {
+		Preconditions.checkArgument(loopsPerTransport > 0, "At least one event loop is required");
+		this.loopsPerTransport = loopsPerTransport;
+	}
+
+	/**
+	 * One event loop per transport.
+	 */
+	public StreamEngine() {
+		this(1);
+	}
+
+	/**
+	 * Follow the output of a container, starting with the output it produced so far.
+	 */
+	public StreamHandle followLogs(DaemonAddress address, String containerId, StreamHandler handler) {
+		return open(address, "POST", "/containers/" + containerId + "/attach?logs=1&stdout=1&stderr=1&stream=1",
+				StreamFraming.MULTIPLEXED, handler);
+	}
+
+	/**
+	 * Follow the resource usage of a container. Every frame holds one JSON sample.
+	 */
+	public StreamHandle followStats(DaemonAddress address, String containerId, StreamHandler handler) {
+		return open(address, "GET", "/containers/" + containerId + "/stats", StreamFraming.LINES, handler);
+	}
+
+	/**
+	 * Open any streaming endpoint.
+	 * @param path path and query of the request.
+	 */
+	public StreamHandle open(DaemonAddress address, String method, String path, StreamFraming framing, StreamHandler handler) {
+		EventLoop loop = loop(address);
+		openStreams.incrementAndGet();
+		final StreamConnection connection = new StreamConnection(loop, address, method, path, framing, handler, new Runnable() {
+			@Override
+			public void run() {
+				openStreams.decrementAndGet();
+			}
+		});
+		try {
+			loop.post(new Runnable() {
+				@Override
+				public void run() {
+					connection.start();
+				}
+			});
+		} catch (DockerException e) {
+			openStreams.decrementAndGet();
+			throw e;
+		}
+		return new StreamHandle(connection);
+	}
+
+	public int getOpenStreams() {
+		return openStreams.get();
+	}
+
+	/**
+	 * Close all streams and stop the event loops.
+	 */
+	public synchronized void shutdown() {
+		shutdown = true;
+		shutdown(tcpLoops);
+		shutdown(unixLoops);
+	}
+
+	private static void shutdown(EventLoop[] loops) {
+		if (loops != null) {
+			for (EventLoop loop : loops) {
+				loop.shutdown();
+			}
+		}
+	}
+
+	private synchronized EventLoop loop(DaemonAddress address) {
+		Preconditions.checkState(!shutdown, "Stream engine was shut down");
+		try {
+			if (address.isUnixSocket()) {
+				if (unixLoops == null) {
+					unixLoops = startLoops("docker-stream-unix", address);
+				}
+				return next(unixLoops);
+			}
+			if (tcpLoops == null) {
+				tcpLoops = startLoops("docker-stream-tcp", address);
+			}
+			return next(tcpLoops);
+		} catch (IOException e) {
+			throw new DockerException("Failed to start a stream event loop.", e);
+		}
+	}
+
+	private EventLoop[] startLoops(String name, DaemonAddress address) throws IOException {
+		EventLoop[] loops = new EventLoop[loopsPerTransport];
+		for (int i = 0; i < loops.length; i++) {
+			loops[i] = new EventLoop(name, address.selectorProvider());
+		}
+		return loops;
+	}
+
+	private EventLoop next(EventLoop[] loops) {
+		return loops[(nextLoop.getAndIncrement() & Integer.MAX_VALUE) % loops.length];
+	}
+
+}
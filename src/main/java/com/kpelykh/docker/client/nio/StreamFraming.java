@@ -0,0 +1,25 @@
+package com.kpelykh.docker.client.nio;
+
+/**
+ * How the body of a streamed response is split into frames.
+ */
+public enum StreamFraming {
+
+	/**
+	 * Output of attach and logs: without a TTY each frame is prefixed by the 8 byte stream header holding stream type and
+	 * length. Output of containers with a TTY has no headers and is passed on in chunks, which is detected from the first
+	 * 8 bytes.
+	 */
+	MULTIPLEXED,
+
+	/**
+	 * One frame per line, e.g. the JSON documents of a stats stream.
+	 */
+	LINES,
+
+	/**
+	 * The body in chunks as it arrives.
+	 */
+	RAW
+
+}
@@ -0,0 +1,28 @@
+package com.kpelykh.docker.client.nio;
+
+import java.io.Closeable;
+
+/**
+ * A stream opened with a {@link StreamEngine}.
+ */
+public class StreamHandle implements Closeable {
+
+	private final StreamConnection connection;
+
+	StreamHandle(StreamConnection connection) {
+		this.connection = connection;
+	}
+
+	public boolean isOpen() {
+		return connection.isOpen();
+	}
+
+	/**
+	 * Close the stream. Its handler is notified on the event loop thread.
+	 */
+	@Override
+	public void close() {
+		connection.close();
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.kpelykh.docker.client.nio;
+
+import com.kpelykh.docker.client.model.LogFrame;
+
+/**
+ * Receives the frames of a stream opened with a {@link StreamEngine}. Both methods are called on an event loop thread
+ * which serves many streams, so they must not block.
+ */
+public interface StreamHandler {
+
+	void onFrame(LogFrame frame);
+
+	/**
+	 * Called once when the stream ended.
+	 * @param cause <code>null</code> if the daemon ended the stream or it was closed.
+	 */
+	void onClosed(Throwable cause);
+
+}
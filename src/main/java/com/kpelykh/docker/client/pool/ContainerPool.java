@@ -0,0 +1,249 @@
+package com.kpelykh.docker.client.pool;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.HostConfig;
+
+/**
+ * Keeps a number of warm containers of one configuration ready, so acquiring a container only costs a start or unpause
+ * instead of a create and start. The pool is refilled asynchronously whenever a container is handed out.
+ */
+public class ContainerPool {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ContainerPool.class);
+
+	private static final int STOP_TIMEOUT_SECONDS = 10;
+
+	private final DockerClient dockerClient;
+
+	private final ContainerConfig containerConfig;
+
+	private final HostConfig hostConfig;
+
+	private final int size;
+
+	private final WarmMode warmMode;
+
+	private final Executor executor;
+
+	private final BlockingQueue<String> idle = new LinkedBlockingQueue<String>();
+
+	private final Map<String, PooledContainer> inUse = new ConcurrentHashMap<String, PooledContainer>();
+
+	private final ContainerPoolMetrics metrics = new ContainerPoolMetrics(this);
+
+	private volatile boolean closed;
+
+	/**
+	 * @param size number of warm containers to keep ready.
+	 * @param executor used to prepare new containers in the background.
+	 */
+	public ContainerPool(DockerClient dockerClient, ContainerConfig containerConfig, HostConfig hostConfig, int size,
+			WarmMode warmMode, Executor executor) {
+		Preconditions.checkArgument(size > 0, "Pool size must be positive");
+		this.dockerClient = dockerClient;
+		this.containerConfig = containerConfig;
+		this.hostConfig = hostConfig;
+		this.size = size;
+		this.warmMode = warmMode;
+		this.executor = executor;
+	}
+
+	/**
+	 * Start filling the pool in the background.
+	 */
+	public void start() {
+		refill();
+	}
+
+	/**
+	 * Hand out a warm container. Waits for the pool to be refilled if no container is ready.
+	 * @throws DockerException if no container became available within the timeout.
+	 */
+	public PooledContainer acquire(long timeout, TimeUnit unit) throws DockerException {
+		Preconditions.checkState(!closed, "Pool is closed");
+		refill();
+		long start = System.nanoTime();
+		String containerId;
+		try {
+			containerId = idle.poll(timeout, unit);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DockerException("Interrupted while waiting for a pooled container.", e);
+		}
+		metrics.recordWait(System.nanoTime() - start, containerId != null);
+		if (containerId == null) {
+			throw new DockerException("No pooled container available within " + unit.toMillis(timeout) + "ms.");
+		}
+		try {
+			activate(containerId);
+		} catch (DockerException e) {
+			metrics.failures.incrementAndGet();
+			remove(containerId);
+			refill();
+			throw e;
+		}
+		PooledContainer container = new PooledContainer(this, containerId);
+		inUse.put(containerId, container);
+		metrics.inUse.incrementAndGet();
+		refill();
+		return container;
+	}
+
+	void release(PooledContainer container) {
+		if (!returned(container)) {
+			return;
+		}
+		if (!reserveSlot()) {
+			remove(container.getId());
+			return;
+		}
+		try {
+			deactivate(container.getId());
+			idle.offer(container.getId());
+			if (closed && idle.remove(container.getId())) {
+				remove(container.getId());
+			}
+		} catch (DockerException e) {
+			LOG.warn("Failed to recycle container '" + container.getId() + "', removing it.", e);
+			metrics.failures.incrementAndGet();
+			remove(container.getId());
+		} finally {
+			metrics.warming.decrementAndGet();
+		}
+	}
+
+	void destroy(PooledContainer container) {
+		if (returned(container)) {
+			remove(container.getId());
+		}
+	}
+
+	private boolean returned(PooledContainer container) {
+		if (inUse.remove(container.getId()) == null) {
+			return false;
+		}
+		metrics.inUse.decrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Count a released container as warming while it is recycled, so neither concurrent releases nor the refill
+	 * overfill the pool.
+	 * @return whether the pool has room for the container.
+	 */
+	private synchronized boolean reserveSlot() {
+		if (closed || idle.size() + metrics.warming.get() >= size) {
+			return false;
+		}
+		metrics.warming.incrementAndGet();
+		return true;
+	}
+
+	private synchronized void refill() {
+		while (!closed && idle.size() + metrics.warming.get() < size) {
+			metrics.warming.incrementAndGet();
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						String containerId = warmUp();
+						idle.offer(containerId);
+						if (closed && idle.remove(containerId)) {
+							remove(containerId);
+						}
+					} catch (RuntimeException e) {
+						LOG.warn("Failed to prepare pooled container.", e);
+						metrics.failures.incrementAndGet();
+					} finally {
+						metrics.warming.decrementAndGet();
+					}
+				}
+			});
+		}
+	}
+
+	private String warmUp() {
+		String containerId = dockerClient.createContainer(containerConfig).getId();
+		metrics.created.incrementAndGet();
+		if (warmMode == WarmMode.PAUSED) {
+			try {
+				dockerClient.startContainer(containerId, hostConfig);
+				dockerClient.pauseContainer(containerId);
+			} catch (DockerException e) {
+				remove(containerId);
+				throw e;
+			}
+		}
+		return containerId;
+	}
+
+	private void activate(String containerId) {
+		if (warmMode == WarmMode.PAUSED) {
+			dockerClient.unpauseContainer(containerId);
+		} else {
+			dockerClient.startContainer(containerId, hostConfig);
+		}
+	}
+
+	private void deactivate(String containerId) {
+		if (warmMode == WarmMode.PAUSED) {
+			dockerClient.pauseContainer(containerId);
+		} else {
+			dockerClient.stopContainer(containerId, STOP_TIMEOUT_SECONDS);
+		}
+	}
+
+	private void remove(String containerId) {
+		if (warmMode == WarmMode.PAUSED) {
+			try {
+				dockerClient.unpauseContainer(containerId);
+			} catch (RuntimeException ignore) {
+				// not paused
+			}
+		}
+		try {
+			dockerClient.kill(containerId);
+		} catch (RuntimeException ignore) {
+			// not running
+		}
+		try {
+			dockerClient.removeContainer(containerId, true);
+			metrics.destroyed.incrementAndGet();
+		} catch (RuntimeException e) {
+			LOG.error("Failed to remove pooled container '{}'. Manual cleanup necessary!", containerId);
+		}
+	}
+
+	int idleCount() {
+		return idle.size();
+	}
+
+	public ContainerPoolMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Remove all idle containers. Containers in use are removed when they are released.
+	 */
+	public void close() {
+		closed = true;
+		String containerId;
+		while ((containerId = idle.poll()) != null) {
+			remove(containerId);
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.kpelykh.docker.client.pool;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.HostConfig;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
+
+/**
+ * Manages one {@link ContainerPool} per image/configuration, all sharing the same refill threads.
+ */
+public class ContainerPoolManager {
+
+	private final DockerClient dockerClient;
+
+	private final ExecutorService refillExecutor;
+
+	private final Map<String, ContainerPool> pools = new ConcurrentHashMap<String, ContainerPool>();
+
+	public ContainerPoolManager(DockerClient dockerClient) {
+		this(dockerClient, 4);
+	}
+
+	/**
+	 * @param refillThreads number of containers prepared concurrently.
+	 */
+	public ContainerPoolManager(DockerClient dockerClient, int refillThreads) {
+		this.dockerClient = dockerClient;
+		this.refillExecutor = Executors.newFixedThreadPool(refillThreads, new DaemonThreadFactory("docker-pool-refill"));
+	}
+
+	/**
+	 * Create and start filling a new pool.
+	 * @param poolName to acquire containers from the pool with.
+	 * @param size number of warm containers to keep ready.
+	 */
+	public synchronized ContainerPool createPool(String poolName, ContainerConfig containerConfig, HostConfig hostConfig, int size,
+			WarmMode warmMode) {
+		ContainerPool pool = new ContainerPool(dockerClient, containerConfig, hostConfig, size, warmMode, refillExecutor);
+		Preconditions.checkState(!pools.containsKey(poolName), "Pool '%s' already exists", poolName);
+		pools.put(poolName, pool);
+		pool.start();
+		return pool;
+	}
+
+	public ContainerPool getPool(String poolName) {
+		ContainerPool pool = pools.get(poolName);
+		Preconditions.checkArgument(pool != null, "Pool '%s' doesn't exist", poolName);
+		return pool;
+	}
+
+	public PooledContainer acquire(String poolName, long timeout, TimeUnit unit) throws DockerException {
+		return getPool(poolName).acquire(timeout, unit);
+	}
+
+	public void removePool(String poolName) {
+		ContainerPool pool = pools.remove(poolName);
+		if (pool != null) {
+			pool.close();
+		}
+	}
+
+	/**
+	 * Close all pools, removing their idle containers.
+	 */
+	public void shutdown() {
+		for (String poolName : pools.keySet()) {
+			removePool(poolName);
+		}
+		refillExecutor.shutdown();
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.kpelykh.docker.client.pool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live pool-size and wait-time figures of a {@link ContainerPool}.
+ */
+public class ContainerPoolMetrics {
+
+	final AtomicInteger inUse = new AtomicInteger();
+
+	final AtomicInteger warming = new AtomicInteger();
+
+	final AtomicLong created = new AtomicLong();
+
+	final AtomicLong destroyed = new AtomicLong();
+
+	final AtomicLong failures = new AtomicLong();
+
+	final AtomicLong acquired = new AtomicLong();
+
+	final AtomicLong timeouts = new AtomicLong();
+
+	final AtomicLong totalWaitNanos = new AtomicLong();
+
+	final AtomicLong maxWaitNanos = new AtomicLong();
+
+	private final ContainerPool pool;
+
+	ContainerPoolMetrics(ContainerPool pool) {
+		this.pool = pool;
+	}
+
+	void recordWait(long waitNanos, boolean successful) {
+		if (successful) {
+			acquired.incrementAndGet();
+		} else {
+			timeouts.incrementAndGet();
+		}
+		totalWaitNanos.addAndGet(waitNanos);
+		long max = maxWaitNanos.get();
+		while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+			max = maxWaitNanos.get();
+		}
+	}
+
+	/**
+	 * @return number of warm containers ready to be acquired.
+	 */
+	public int getIdle() {
+		return pool.idleCount();
+	}
+
+	/**
+	 * @return number of containers currently being prepared, new ones and released ones being recycled.
+	 */
+	public int getWarming() {
+		return warming.get();
+	}
+
+	public int getInUse() {
+		return inUse.get();
+	}
+
+	public long getCreated() {
+		return created.get();
+	}
+
+	public long getDestroyed() {
+		return destroyed.get();
+	}
+
+	/**
+	 * @return number of containers which could not be prepared or reactivated.
+	 */
+	public long getFailures() {
+		return failures.get();
+	}
+
+	public long getAcquired() {
+		return acquired.get();
+	}
+
+	public long getTimeouts() {
+		return timeouts.get();
+	}
+
+	public double getAverageWaitMillis() {
+		long attempts = acquired.get() + timeouts.get();
+		return attempts == 0 ? 0 : (double) totalWaitNanos.get() / attempts / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	public double getMaxWaitMillis() {
+		return (double) maxWaitNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public String toString() {
+		return "ContainerPoolMetrics{" + "idle=" + getIdle() + ", warming=" + getWarming() + ", inUse=" + getInUse() + ", created="
+				+ getCreated() + ", destroyed=" + getDestroyed() + ", failures=" + getFailures() + ", acquired=" + getAcquired()
+				+ ", timeouts=" + getTimeouts() + ", averageWaitMillis=" + getAverageWaitMillis() + ", maxWaitMillis="
+				+ getMaxWaitMillis() + '}';
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.kpelykh.docker.client.pool;
+
+/**
+ * A running container handed out by a {@link ContainerPool}. It has to be either released or destroyed once it is no
+ * longer needed.
+ */
+public class PooledContainer {
+
+	private final ContainerPool pool;
+
+	private final String id;
+
+	PooledContainer(ContainerPool pool, String id) {
+		this.pool = pool;
+		this.id = id;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Return the container to the pool for reuse.
+	 */
+	public void release() {
+		pool.release(this);
+	}
+
+	/**
+	 * Remove the container, e.g. because its state must not leak to the next user.
+	 */
+	public void destroy() {
+		pool.destroy(this);
+	}
+
+	@Override
+	public String toString() {
+		return "PooledContainer{" + "id=" + id + '}';
+	}
+
+}
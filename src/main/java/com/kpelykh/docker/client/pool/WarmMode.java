@@ -0,0 +1,18 @@
+package com.kpelykh.docker.client.pool;
+
+/**
+ * How far idle containers of a {@link ContainerPool} are prepared before they are handed out.
+ */
+public enum WarmMode {
+
+	/**
+	 * Idle containers are created, acquiring a container starts it.
+	 */
+	CREATED,
+
+	/**
+	 * Idle containers are started and paused, acquiring a container unpauses it.
+	 */
+	PAUSED
+
+}
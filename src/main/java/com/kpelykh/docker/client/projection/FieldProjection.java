@@ -0,0 +1,146 @@
+package com.kpelykh.docker.client.projection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+
+/**
+ * Reads only selected fields of a response, e.g. {@code Id} and {@code State.Running} of an inspected container. All
+ * other subtrees are skipped while parsing, so the rest of the response is neither bound nor allocated. Nested fields
+ * are addressed by their dot-separated path. A projection is immutable and may be shared.
+ */
+public class FieldProjection {
+
+	private final Node root = new Node();
+
+	private final int fieldCount;
+
+	private FieldProjection(String... paths) {
+		for (String path : paths) {
+			Preconditions.checkArgument(path != null && !path.isEmpty(), "Field path must not be empty");
+			Node node = root;
+			for (String name : path.split("\\.")) {
+				Node child = node.children.get(name);
+				if (child == null) {
+					child = new Node();
+					node.children.put(name, child);
+				}
+				node = child;
+			}
+			node.path = path;
+		}
+		this.fieldCount = paths.length;
+	}
+
+	/**
+	 * @param paths dot-separated paths of the fields to read, e.g. {@code "Id", "State.Running", "Names"}.
+	 */
+	public static FieldProjection of(String... paths) {
+		Preconditions.checkArgument(paths.length > 0, "At least one field is required");
+		return new FieldProjection(paths);
+	}
+
+	/**
+	 * Read the selected fields of a single JSON object.
+	 * @param mapper binds subtrees which are selected as a whole, usually the one of the client.
+	 */
+	public ProjectedFields read(InputStream json, ObjectMapper mapper) throws IOException {
+		JsonParser parser = mapper.getFactory().createParser(json);
+		try {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Expected a JSON object but got " + parser.getCurrentToken());
+			}
+			return readObject(parser);
+		} finally {
+			parser.close();
+		}
+	}
+
+	/**
+	 * Read the selected fields of every object of a JSON array.
+	 * @param mapper binds subtrees which are selected as a whole, usually the one of the client.
+	 */
+	public List<ProjectedFields> readArray(InputStream json, ObjectMapper mapper) throws IOException {
+		JsonParser parser = mapper.getFactory().createParser(json);
+		try {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IOException("Expected a JSON array but got " + parser.getCurrentToken());
+			}
+			List<ProjectedFields> elements = new ArrayList<ProjectedFields>();
+			JsonToken token;
+			while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+				elements.add(readObject(parser));
+			}
+			if (token != JsonToken.END_ARRAY) {
+				throw new IOException("Expected an object in the JSON array but got " + token);
+			}
+			return elements;
+		} finally {
+			parser.close();
+		}
+	}
+
+	private ProjectedFields readObject(JsonParser parser) throws IOException {
+		Map<String, Object> values = new LinkedHashMap<String, Object>(fieldCount * 2);
+		readFields(parser, root, values);
+		return new ProjectedFields(values);
+	}
+
+	/**
+	 * Reads the object the parser is positioned at, up to and including its end.
+	 */
+	private static void readFields(JsonParser parser, Node node, Map<String, Object> values) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			Node child = node.children.get(parser.getCurrentName());
+			JsonToken token = parser.nextToken();
+			if (child == null) {
+				parser.skipChildren();
+			} else if (child.path != null) {
+				values.put(child.path, readValue(parser, token));
+			} else if (token == JsonToken.START_OBJECT) {
+				readFields(parser, child, values);
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private static Object readValue(JsonParser parser, JsonToken token) throws IOException {
+		switch (token) {
+		case VALUE_STRING:
+			return parser.getText();
+		case VALUE_NUMBER_INT:
+			return parser.getLongValue();
+		case VALUE_NUMBER_FLOAT:
+			return parser.getDoubleValue();
+		case VALUE_TRUE:
+			return Boolean.TRUE;
+		case VALUE_FALSE:
+			return Boolean.FALSE;
+		case VALUE_NULL:
+			return null;
+		default:
+			// a whole subtree was selected, bind it to maps and lists with the mapper which created the parser
+			return parser.readValueAs(Object.class);
+		}
+	}
+
+	private static class Node {
+
+		private final Map<String, Node> children = new HashMap<String, Node>(4);
+
+		// the selected path if the field is read as a whole
+		private String path;
+
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.kpelykh.docker.client.projection;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fields read by a {@link FieldProjection}, by their path. Fields which were missing in the response are absent.
+ * Nested objects and arrays which were selected as a whole are represented as maps and lists.
+ */
+public class ProjectedFields {
+
+	private final Map<String, Object> values;
+
+	ProjectedFields(Map<String, Object> values) {
+		this.values = values;
+	}
+
+	public boolean contains(String path) {
+		return values.containsKey(path);
+	}
+
+	public Object get(String path) {
+		return values.get(path);
+	}
+
+	public String getString(String path) {
+		Object value = values.get(path);
+		return value == null ? null : value.toString();
+	}
+
+	/**
+	 * @return the value of a boolean field, <code>false</code> if it is missing.
+	 */
+	public boolean getBoolean(String path) {
+		return Boolean.TRUE.equals(values.get(path));
+	}
+
+	/**
+	 * @return the value of a numeric field, 0 if it is missing.
+	 */
+	public long getLong(String path) {
+		Object value = values.get(path);
+		return value instanceof Number ? ((Number) value).longValue() : 0;
+	}
+
+	/**
+	 * @return the elements of an array field, an empty list if it is missing.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<String> getStrings(String path) {
+		Object value = values.get(path);
+		return value instanceof List ? (List<String>) value : Collections.<String> emptyList();
+	}
+
+	public Map<String, Object> asMap() {
+		return Collections.unmodifiableMap(values);
+	}
+
+	@Override
+	public String toString() {
+		return "ProjectedFields" + values;
+	}
+
+}
@@ -0,0 +1,156 @@
+package com.kpelykh.docker.client.reactive;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.reactivestreams.Publisher;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.model.Event;
+import com.kpelykh.docker.client.model.LogFrame;
+import com.kpelykh.docker.client.model.ProgressMessage;
+import com.kpelykh.docker.client.reactive.ResponsePublisher.ItemReader;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
+import com.kpelykh.docker.client.utils.FrameReader;
+
+/**
+ * Exposes the streaming endpoints of a {@link DockerClient} as Reactive Streams {@link Publisher}s, so their output can
+ * be consumed at the pace of the subscriber without being buffered. The publishers are cold: nothing is sent to the
+ * daemon before a subscriber requests the first item.
+ */
+public class ReactiveDockerClient {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final DockerClient dockerClient;
+
+	private final Executor executor;
+
+	/**
+	 * @param executor reads the responses and signals the subscribers.
+	 */
+	public ReactiveDockerClient(DockerClient dockerClient, Executor executor) {
+		this.dockerClient = dockerClient;
+		this.executor = executor;
+	}
+
+	/**
+	 * Read the responses on daemon threads created as needed.
+	 */
+	public ReactiveDockerClient(DockerClient dockerClient) {
+		this(dockerClient, Executors.newCachedThreadPool(new DaemonThreadFactory("docker-reactive")));
+	}
+
+	/**
+	 * @param since unix timestamp of the first event to publish, events since then are replayed.
+	 */
+	public Publisher<Event> events(final long since) {
+		return new ResponsePublisher<Event>(executor) {
+			@Override
+			protected ClientHttpResponse open() {
+				return dockerClient.openStream(HttpMethod.GET, "/events?since={since}", since);
+			}
+
+			@Override
+			protected ItemReader<Event> reader(InputStream body) throws IOException {
+				return jsonReader(body, Event.class);
+			}
+		};
+	}
+
+	/**
+	 * Pull an image, publishing its progress. A failed pull is signalled as error.
+	 * @param tag may be <code>null</code> to pull all tags.
+	 */
+	public Publisher<ProgressMessage> pull(final String repository, final String tag) {
+		Preconditions.checkNotNull(repository, "Repository was not specified");
+		return new ResponsePublisher<ProgressMessage>(executor) {
+			@Override
+			protected ClientHttpResponse open() {
+				return dockerClient.openStream(HttpMethod.POST, "/images/create?fromImage={fromImage}&tag={tag}", repository,
+						tag == null ? "" : tag);
+			}
+
+			@Override
+			protected ItemReader<ProgressMessage> reader(InputStream body) throws IOException {
+				return progressReader(body);
+			}
+		};
+	}
+
+	/**
+	 * Build an image, publishing the build output. A failed build is signalled as error.
+	 */
+	public Publisher<ProgressMessage> build(final File dockerFolder, final String tag) {
+		return new ResponsePublisher<ProgressMessage>(executor) {
+			@Override
+			protected ClientHttpResponse open() {
+				return dockerClient.openBuild(dockerFolder, tag, false);
+			}
+
+			@Override
+			protected ItemReader<ProgressMessage> reader(InputStream body) throws IOException {
+				return progressReader(body);
+			}
+		};
+	}
+
+	/**
+	 * Publish the output of a container.
+	 * @param follow whether to keep publishing new output until the container exits.
+	 */
+	public Publisher<LogFrame> logs(final String containerId, final boolean follow) {
+		return new ResponsePublisher<LogFrame>(executor) {
+			@Override
+			protected ClientHttpResponse open() {
+				return dockerClient.openStream(HttpMethod.POST,
+						"/containers/{containerId}/attach?logs=1&stdout=1&stderr=1&stream={stream}", containerId, follow ? "1" : "0");
+			}
+
+			@Override
+			protected ItemReader<LogFrame> reader(InputStream body) {
+				final FrameReader frames = new FrameReader(body);
+				return new ItemReader<LogFrame>() {
+					@Override
+					public LogFrame next() throws IOException {
+						return frames.next();
+					}
+				};
+			}
+		};
+	}
+
+	private static <T> ItemReader<T> jsonReader(InputStream body, Class<T> type) throws IOException {
+		final MappingIterator<T> values = MAPPER.reader(type).readValues(body);
+		return new ItemReader<T>() {
+			@Override
+			public T next() throws IOException {
+				return values.hasNextValue() ? values.nextValue() : null;
+			}
+		};
+	}
+
+	private static ItemReader<ProgressMessage> progressReader(InputStream body) throws IOException {
+		final ItemReader<ProgressMessage> messages = jsonReader(body, ProgressMessage.class);
+		return new ItemReader<ProgressMessage>() {
+			@Override
+			public ProgressMessage next() throws IOException {
+				ProgressMessage message = messages.next();
+				if (message != null && message.getError() != null) {
+					throw new DockerException(message.getError());
+				}
+				return message;
+			}
+		};
+	}
+
+}
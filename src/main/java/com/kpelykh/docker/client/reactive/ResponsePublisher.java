@@ -0,0 +1,56 @@
+package com.kpelykh.docker.client.reactive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * A {@link Publisher} of the items of a streaming response. Every subscriber gets its own request, which is sent once
+ * the first item is requested. Items are only read from the response while the subscriber has outstanding demand, so a
+ * slow subscriber leaves the data in the socket and the daemon is held back by TCP flow control instead of the client
+ * buffering it.
+ */
+public abstract class ResponsePublisher<T> implements Publisher<T> {
+
+	/**
+	 * Decodes the items of one response.
+	 */
+	public interface ItemReader<T> {
+
+		/**
+		 * Block until the next item arrived.
+		 * @return <code>null</code> at the end of the stream.
+		 */
+		T next() throws IOException;
+
+	}
+
+	private final Executor executor;
+
+	/**
+	 * @param executor reads the response and signals the subscriber.
+	 */
+	protected ResponsePublisher(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Send the request, see {@link com.kpelykh.docker.client.DockerClient#openStream}.
+	 */
+	protected abstract ClientHttpResponse open();
+
+	protected abstract ItemReader<T> reader(InputStream body) throws IOException;
+
+	@Override
+	public void subscribe(Subscriber<? super T> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("Subscriber must not be null");
+		}
+		subscriber.onSubscribe(new ResponseSubscription<T>(this, subscriber, executor));
+	}
+
+}
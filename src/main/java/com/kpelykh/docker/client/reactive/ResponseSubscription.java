@@ -0,0 +1,169 @@
+package com.kpelykh.docker.client.reactive;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.reactive.ResponsePublisher.ItemReader;
+
+/**
+ * Reads items on behalf of one subscriber. All reads and signals happen in a drain loop which runs on the executor
+ * whenever there is new demand or a cancellation, and of which at most one instance is active at a time. A subscriber
+ * throwing from {@code onNext} is treated as having cancelled.
+ */
+class ResponseSubscription<T> implements Subscription, Runnable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ResponseSubscription.class);
+
+	private final ResponsePublisher<T> publisher;
+
+	private final Subscriber<? super T> subscriber;
+
+	private final Executor executor;
+
+	private final AtomicLong requested = new AtomicLong();
+
+	private final AtomicInteger pending = new AtomicInteger();
+
+	private volatile boolean cancelled;
+
+	private volatile boolean invalidRequest;
+
+	private volatile long invalidDemand;
+
+	private volatile ClientHttpResponse response;
+
+	private ItemReader<T> reader;
+
+	private boolean done;
+
+	ResponseSubscription(ResponsePublisher<T> publisher, Subscriber<? super T> subscriber, Executor executor) {
+		this.publisher = publisher;
+		this.subscriber = subscriber;
+		this.executor = executor;
+	}
+
+	@Override
+	public void request(long n) {
+		if (n <= 0) {
+			invalidDemand = n;
+			invalidRequest = true;
+		} else {
+			long current;
+			long next;
+			do {
+				current = requested.get();
+				next = current + n < 0 ? Long.MAX_VALUE : current + n;
+			} while (!requested.compareAndSet(current, next));
+		}
+		schedule();
+	}
+
+	@Override
+	public void cancel() {
+		cancelled = true;
+		// unblocks a pending read
+		closeResponse();
+		schedule();
+	}
+
+	private void schedule() {
+		if (pending.getAndIncrement() == 0) {
+			executor.execute(this);
+		}
+	}
+
+	@Override
+	public void run() {
+		int missed = 1;
+		do {
+			if (done) {
+				return;
+			}
+			drain();
+			missed = pending.addAndGet(-missed);
+		} while (missed != 0);
+	}
+
+	private void drain() {
+		try {
+			if (cancelled) {
+				terminate();
+				return;
+			}
+			if (invalidRequest) {
+				terminate();
+				subscriber.onError(new IllegalArgumentException("Requested " + invalidDemand + " items, demand must be positive."));
+				return;
+			}
+			long demand = requested.get();
+			long emitted = 0;
+			while (emitted < demand) {
+				if (reader == null) {
+					response = publisher.open();
+					if (cancelled) {
+						terminate();
+						return;
+					}
+					reader = publisher.reader(response.getBody());
+				}
+				T item = reader.next();
+				if (cancelled) {
+					terminate();
+					return;
+				}
+				if (item == null) {
+					terminate();
+					subscriber.onComplete();
+					return;
+				}
+				try {
+					subscriber.onNext(item);
+				} catch (RuntimeException e) {
+					// rule 2.13: a failing subscriber counts as cancelled and is not signalled again
+					LOG.warn("Subscriber failed to handle an item, cancelling its subscription.", e);
+					cancelled = true;
+					terminate();
+					return;
+				}
+				emitted++;
+			}
+			if (demand != Long.MAX_VALUE) {
+				requested.addAndGet(-emitted);
+			}
+		} catch (IOException e) {
+			fail(new DockerException("Failed to read the response stream.", e));
+		} catch (RuntimeException e) {
+			fail(e);
+		}
+	}
+
+	private void fail(Throwable failure) {
+		boolean wasCancelled = cancelled;
+		terminate();
+		if (!wasCancelled) {
+			subscriber.onError(failure);
+		}
+	}
+
+	private void terminate() {
+		done = true;
+		closeResponse();
+	}
+
+	private void closeResponse() {
+		ClientHttpResponse current = response;
+		if (current != null) {
+			current.close();
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.kpelykh.docker.client.retry;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Stops sending requests to a daemon which keeps failing, e.g. while it restarts. After a number of consecutive failures
+ * the circuit opens and requests fail right away. Once the open period passed a single trial request is let through:
+ * if it succeeds the circuit closes again, otherwise it stays open for another period. A trial whose outcome is never
+ * reported counts as failed after another open period, so the next request becomes the new trial.
+ */
+public class CircuitBreaker {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CircuitBreaker.class);
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureThreshold;
+
+	private final long openNanos;
+
+	private State state = State.CLOSED;
+
+	private int consecutiveFailures;
+
+	// when the circuit opened, or when the trial started while half open
+	private long openedAt;
+
+	/**
+	 * @param failureThreshold number of consecutive failures which open the circuit.
+	 * @param openPeriod how long the circuit stays open before a trial request.
+	 */
+	public CircuitBreaker(int failureThreshold, long openPeriod, TimeUnit unit) {
+		Preconditions.checkArgument(failureThreshold > 0, "Failure threshold must be positive");
+		this.failureThreshold = failureThreshold;
+		this.openNanos = unit.toNanos(openPeriod);
+	}
+
+	/**
+	 * @return whether a request may be sent now.
+	 */
+	public synchronized boolean allowRequest() {
+		if (state == State.CLOSED) {
+			return true;
+		}
+		long now = System.nanoTime();
+		if (now - openedAt < openNanos) {
+			return false;
+		}
+		if (state == State.HALF_OPEN) {
+			LOG.warn("Trial request to the docker daemon got no answer, sending another one.");
+		}
+		state = State.HALF_OPEN;
+		openedAt = now;
+		return true;
+	}
+
+	public synchronized void onSuccess() {
+		if (state != State.CLOSED) {
+			LOG.info("Docker daemon recovered, closing circuit.");
+		}
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+	}
+
+	public synchronized void onFailure() {
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+			LOG.warn("Docker daemon failed {} times in a row, opening circuit.", consecutiveFailures);
+			state = State.OPEN;
+			openedAt = System.nanoTime();
+		}
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+}
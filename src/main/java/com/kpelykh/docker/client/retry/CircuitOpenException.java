@@ -0,0 +1,16 @@
+package com.kpelykh.docker.client.retry;
+
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * Thrown instead of sending a request while the {@link CircuitBreaker} of the daemon is open.
+ */
+public class CircuitOpenException extends DockerException {
+
+	private static final long serialVersionUID = 8471306795468723391L;
+
+	public CircuitOpenException(String message) {
+		super(message);
+	}
+
+}
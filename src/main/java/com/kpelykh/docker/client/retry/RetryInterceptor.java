@@ -0,0 +1,207 @@
+package com.kpelykh.docker.client.retry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * Repeats requests which failed for transient reasons, i.e. an I/O error or a 500, 502, 503 or 504 from the daemon.
+ * Only requests which can safely be sent twice are repeated:
+ * <ul>
+ * <li>GET and HEAD requests.</li>
+ * <li>Stopping and killing a container.</li>
+ * <li>Creating a container with a name. If a repeated create conflicts with an existing container of that name, the
+ * first attempt succeeded after all and the existing container is returned instead of the conflict.</li>
+ * </ul>
+ * All other requests are sent once. Failures of every request count towards a {@link CircuitBreaker} per daemon, so a
+ * daemon which keeps failing is not flooded with further requests and retries.
+ * <p>
+ * The interceptor has to be the last one of its rest template, since every attempt continues the execution where the
+ * interceptor was called.
+ */
+public class RetryInterceptor implements ClientHttpRequestInterceptor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RetryInterceptor.class);
+
+	private static final Pattern STOP_OR_KILL = Pattern.compile(".*/containers/[^/]+/(stop|kill)");
+
+	private static final Pattern CREATE = Pattern.compile(".*/containers/create");
+
+	private static final Pattern NAME_PARAM = Pattern.compile("(?:^|&)name=([^&]+)");
+
+	private final RetryPolicy retryPolicy;
+
+	private final int failureThreshold;
+
+	private final long openPeriodNanos;
+
+	private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<String, CircuitBreaker>();
+
+	/**
+	 * @param failureThreshold number of consecutive failures which open the circuit of a daemon.
+	 * @param openPeriod how long an open circuit rejects requests.
+	 */
+	public RetryInterceptor(RetryPolicy retryPolicy, int failureThreshold, long openPeriod, TimeUnit unit) {
+		Preconditions.checkNotNull(retryPolicy, "Retry policy is required");
+		Preconditions.checkArgument(failureThreshold > 0, "Failure threshold must be positive");
+		this.retryPolicy = retryPolicy;
+		this.failureThreshold = failureThreshold;
+		this.openPeriodNanos = unit.toNanos(openPeriod);
+	}
+
+	/**
+	 * Default policy, opening the circuit for 10 seconds after 5 consecutive failures.
+	 */
+	public RetryInterceptor() {
+		this(new RetryPolicy(), 5, 10, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * @return the circuit breaker of the daemon at the given URI.
+	 */
+	public CircuitBreaker getCircuitBreaker(URI uri) {
+		String daemon = uri.getScheme() + "://" + uri.getAuthority();
+		CircuitBreaker circuitBreaker = circuitBreakers.get(daemon);
+		if (circuitBreaker == null) {
+			circuitBreaker = new CircuitBreaker(failureThreshold, openPeriodNanos, TimeUnit.NANOSECONDS);
+			CircuitBreaker existing = circuitBreakers.putIfAbsent(daemon, circuitBreaker);
+			if (existing != null) {
+				circuitBreaker = existing;
+			}
+		}
+		return circuitBreaker;
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		CircuitBreaker circuitBreaker = getCircuitBreaker(request.getURI());
+		String containerName = createdContainerName(request);
+		int maxAttempts = isIdempotent(request) || containerName != null ? retryPolicy.getMaxAttempts() : 1;
+
+		for (int attempt = 1;; attempt++) {
+			if (!circuitBreaker.allowRequest()) {
+				throw new CircuitOpenException("Docker daemon at " + request.getURI().getAuthority()
+						+ " keeps failing, not sending " + request.getMethod() + " " + request.getURI());
+			}
+			ClientHttpResponse response;
+			try {
+				response = execution.execute(request, body);
+			} catch (IOException e) {
+				circuitBreaker.onFailure();
+				if (attempt >= maxAttempts) {
+					throw e;
+				}
+				LOG.debug("Attempt {} of {} {} failed: {}", new Object[] { attempt, request.getMethod(), request.getURI(), e });
+				pause(attempt, request);
+				continue;
+			} catch (RuntimeException e) {
+				// not retried, but it has to end a trial request of a half open circuit
+				circuitBreaker.onFailure();
+				throw e;
+			}
+
+			int status = response.getRawStatusCode();
+			if (!isTransient(status)) {
+				circuitBreaker.onSuccess();
+				if (status == HttpStatus.CONFLICT.value() && attempt > 1 && containerName != null) {
+					response.close();
+					LOG.debug("Container '{}' was created by an earlier attempt, looking it up.", containerName);
+					return execution.execute(new LookupRequest(request.getURI(), containerName), new byte[0]);
+				}
+				return response;
+			}
+			circuitBreaker.onFailure();
+			if (attempt >= maxAttempts) {
+				return response;
+			}
+			response.close();
+			LOG.debug("Attempt {} of {} {} failed with status {}.", new Object[] { attempt, request.getMethod(), request.getURI(), status });
+			pause(attempt, request);
+		}
+	}
+
+	private void pause(int attempt, HttpRequest request) {
+		try {
+			Thread.sleep(retryPolicy.backoffMillis(attempt));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DockerException("Interrupted while retrying " + request.getMethod() + " " + request.getURI(), e);
+		}
+	}
+
+	private static boolean isTransient(int status) {
+		return status == 500 || status == 502 || status == 503 || status == 504;
+	}
+
+	private static boolean isIdempotent(HttpRequest request) {
+		HttpMethod method = request.getMethod();
+		if (method == HttpMethod.GET || method == HttpMethod.HEAD) {
+			return true;
+		}
+		return method == HttpMethod.POST && STOP_OR_KILL.matcher(request.getURI().getPath()).matches();
+	}
+
+	private static String createdContainerName(HttpRequest request) {
+		if (request.getMethod() != HttpMethod.POST || !CREATE.matcher(request.getURI().getPath()).matches()
+				|| request.getURI().getRawQuery() == null) {
+			return null;
+		}
+		Matcher matcher = NAME_PARAM.matcher(request.getURI().getRawQuery());
+		return matcher.find() ? matcher.group(1) : null;
+	}
+
+	/**
+	 * Inspects the container a repeated create conflicted with.
+	 */
+	private static class LookupRequest implements HttpRequest {
+
+		private final URI uri;
+
+		private final HttpHeaders headers = new HttpHeaders();
+
+		LookupRequest(URI createUri, String containerName) {
+			String path = createUri.getRawPath();
+			path = path.substring(0, path.length() - "create".length()) + containerName + "/json";
+			try {
+				this.uri = new URI(createUri.getScheme() + "://" + createUri.getRawAuthority() + path);
+			} catch (URISyntaxException e) {
+				throw new DockerException("Invalid container name '" + containerName + "'", e);
+			}
+		}
+
+		@Override
+		public HttpMethod getMethod() {
+			return HttpMethod.GET;
+		}
+
+		@Override
+		public URI getURI() {
+			return uri;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.kpelykh.docker.client.retry;
+
+import java.util.Random;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * How often and how fast a failed request is repeated: exponential backoff with full jitter, so clients which failed
+ * together do not retry together.
+ */
+public class RetryPolicy {
+
+	private final int maxAttempts;
+
+	private final long initialBackoffMillis;
+
+	private final long maxBackoffMillis;
+
+	private final double multiplier;
+
+	private final Random random = new Random();
+
+	/**
+	 * @param maxAttempts number of attempts including the first one.
+	 * @param initialBackoffMillis upper bound of the pause before the first retry.
+	 * @param maxBackoffMillis upper bound of any pause.
+	 * @param multiplier growth of the upper bound per retry.
+	 */
+	public RetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, double multiplier) {
+		Preconditions.checkArgument(maxAttempts > 0, "At least one attempt is required");
+		Preconditions.checkArgument(initialBackoffMillis >= 0 && maxBackoffMillis >= initialBackoffMillis, "Invalid backoff");
+		Preconditions.checkArgument(multiplier >= 1, "Multiplier must be at least 1");
+		this.maxAttempts = maxAttempts;
+		this.initialBackoffMillis = initialBackoffMillis;
+		this.maxBackoffMillis = maxBackoffMillis;
+		this.multiplier = multiplier;
+	}
+
+	/**
+	 * Three attempts, pausing up to 100ms and then up to 200ms.
+	 */
+	public RetryPolicy() {
+		this(3, 100, 2000, 2);
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * @param retry 1 for the first retry.
+	 * @return a random pause between zero and the backoff bound of the retry.
+	 */
+	public long backoffMillis(int retry) {
+		double bound = Math.min(maxBackoffMillis, initialBackoffMillis * Math.pow(multiplier, retry - 1));
+		return (long) (random.nextDouble() * bound);
+	}
+
+}
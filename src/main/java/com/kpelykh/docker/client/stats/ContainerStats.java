@@ -0,0 +1,213 @@
+package com.kpelykh.docker.client.stats;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resource usage of a container as reported by the stats stream of the docker daemon. The counters are cumulative
+ * values of the latest sample, the rates are derived from the difference to the sample before.
+ * <p>
+ * A stats stream reuses one instance for all of its samples, so listeners have to copy the values they want to keep.
+ */
+public class ContainerStats {
+
+	private long sampleNanos;
+
+	private long cpuTotalUsage;
+
+	private long systemCpuUsage;
+
+	private int onlineCpus;
+
+	private int perCpuCount;
+
+	private long memoryUsage;
+
+	private long memoryLimit;
+
+	private long networkRxBytes;
+
+	private long networkTxBytes;
+
+	private long blockReadBytes;
+
+	private long blockWriteBytes;
+
+	private boolean hasPrevious;
+
+	private long previousSampleNanos;
+
+	private long previousCpuTotalUsage;
+
+	private long previousSystemCpuUsage;
+
+	private long previousNetworkRxBytes;
+
+	private long previousNetworkTxBytes;
+
+	private long previousBlockReadBytes;
+
+	private long previousBlockWriteBytes;
+
+	private double cpuPercent;
+
+	private double networkRxBytesPerSecond;
+
+	private double networkTxBytesPerSecond;
+
+	private double blockReadBytesPerSecond;
+
+	private double blockWriteBytesPerSecond;
+
+	void reset() {
+		cpuTotalUsage = 0;
+		systemCpuUsage = 0;
+		onlineCpus = 0;
+		perCpuCount = 0;
+		memoryUsage = 0;
+		memoryLimit = 0;
+		networkRxBytes = 0;
+		networkTxBytes = 0;
+		blockReadBytes = 0;
+		blockWriteBytes = 0;
+	}
+
+	/**
+	 * Complete the sample which was just decoded: derive the rates from the previous sample and remember this one.
+	 */
+	void sampled(long nanos) {
+		sampleNanos = nanos;
+		if (hasPrevious) {
+			long cpuDelta = cpuTotalUsage - previousCpuTotalUsage;
+			long systemDelta = systemCpuUsage - previousSystemCpuUsage;
+			int cpus = onlineCpus > 0 ? onlineCpus : Math.max(perCpuCount, 1);
+			cpuPercent = cpuDelta > 0 && systemDelta > 0 ? (double) cpuDelta / systemDelta * cpus * 100 : 0;
+			double seconds = (double) (nanos - previousSampleNanos) / TimeUnit.SECONDS.toNanos(1);
+			networkRxBytesPerSecond = rate(networkRxBytes - previousNetworkRxBytes, seconds);
+			networkTxBytesPerSecond = rate(networkTxBytes - previousNetworkTxBytes, seconds);
+			blockReadBytesPerSecond = rate(blockReadBytes - previousBlockReadBytes, seconds);
+			blockWriteBytesPerSecond = rate(blockWriteBytes - previousBlockWriteBytes, seconds);
+		}
+		hasPrevious = true;
+		previousSampleNanos = nanos;
+		previousCpuTotalUsage = cpuTotalUsage;
+		previousSystemCpuUsage = systemCpuUsage;
+		previousNetworkRxBytes = networkRxBytes;
+		previousNetworkTxBytes = networkTxBytes;
+		previousBlockReadBytes = blockReadBytes;
+		previousBlockWriteBytes = blockWriteBytes;
+	}
+
+	private static double rate(long delta, double seconds) {
+		// counters start over when the container restarts
+		return delta > 0 && seconds > 0 ? delta / seconds : 0;
+	}
+
+	void setCpuTotalUsage(long cpuTotalUsage) {
+		this.cpuTotalUsage = cpuTotalUsage;
+	}
+
+	void setSystemCpuUsage(long systemCpuUsage) {
+		this.systemCpuUsage = systemCpuUsage;
+	}
+
+	void setOnlineCpus(int onlineCpus) {
+		this.onlineCpus = onlineCpus;
+	}
+
+	void setPerCpuCount(int perCpuCount) {
+		this.perCpuCount = perCpuCount;
+	}
+
+	void setMemoryUsage(long memoryUsage) {
+		this.memoryUsage = memoryUsage;
+	}
+
+	void setMemoryLimit(long memoryLimit) {
+		this.memoryLimit = memoryLimit;
+	}
+
+	void addNetworkBytes(long rxBytes, long txBytes) {
+		this.networkRxBytes += rxBytes;
+		this.networkTxBytes += txBytes;
+	}
+
+	void addBlockBytes(long readBytes, long writeBytes) {
+		this.blockReadBytes += readBytes;
+		this.blockWriteBytes += writeBytes;
+	}
+
+	/**
+	 * @return {@link System#nanoTime()} at which the sample was received.
+	 */
+	public long getSampleNanos() {
+		return sampleNanos;
+	}
+
+	public long getCpuTotalUsage() {
+		return cpuTotalUsage;
+	}
+
+	public long getSystemCpuUsage() {
+		return systemCpuUsage;
+	}
+
+	public long getMemoryUsage() {
+		return memoryUsage;
+	}
+
+	public long getMemoryLimit() {
+		return memoryLimit;
+	}
+
+	public long getNetworkRxBytes() {
+		return networkRxBytes;
+	}
+
+	public long getNetworkTxBytes() {
+		return networkTxBytes;
+	}
+
+	public long getBlockReadBytes() {
+		return blockReadBytes;
+	}
+
+	public long getBlockWriteBytes() {
+		return blockWriteBytes;
+	}
+
+	/**
+	 * @return CPU usage since the previous sample, 100% per fully used core.
+	 */
+	public double getCpuPercent() {
+		return cpuPercent;
+	}
+
+	public double getMemoryPercent() {
+		return memoryLimit > 0 ? (double) memoryUsage / memoryLimit * 100 : 0;
+	}
+
+	public double getNetworkRxBytesPerSecond() {
+		return networkRxBytesPerSecond;
+	}
+
+	public double getNetworkTxBytesPerSecond() {
+		return networkTxBytesPerSecond;
+	}
+
+	public double getBlockReadBytesPerSecond() {
+		return blockReadBytesPerSecond;
+	}
+
+	public double getBlockWriteBytesPerSecond() {
+		return blockWriteBytesPerSecond;
+	}
+
+	@Override
+	public String toString() {
+		return "ContainerStats{" + "cpuPercent=" + cpuPercent + ", memoryUsage=" + memoryUsage + ", memoryLimit=" + memoryLimit
+				+ ", networkRxBytesPerSecond=" + networkRxBytesPerSecond + ", networkTxBytesPerSecond=" + networkTxBytesPerSecond
+				+ ", blockReadBytesPerSecond=" + blockReadBytesPerSecond + ", blockWriteBytesPerSecond="
+				+ blockWriteBytesPerSecond + '}';
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.kpelykh.docker.client.stats;
+
+/**
+ * A value of {@link ContainerStats} which can be kept in a {@link TimeSeries}.
+ */
+public enum Metric {
+
+	CPU_PERCENT {
+		@Override
+		double read(ContainerStats stats) {
+			return stats.getCpuPercent();
+		}
+	},
+
+	MEMORY_USAGE {
+		@Override
+		double read(ContainerStats stats) {
+			return stats.getMemoryUsage();
+		}
+	},
+
+	MEMORY_PERCENT {
+		@Override
+		double read(ContainerStats stats) {
+			return stats.getMemoryPercent();
+		}
+	},
+
+	NETWORK_RX_BYTES_PER_SECOND {
+		@Override
+		double read(ContainerStats stats) {
+			return stats.getNetworkRxBytesPerSecond();
+		}
+	},
+
+	NETWORK_TX_BYTES_PER_SECOND {
+		@Override
+		double read(ContainerStats stats) {
+			return stats.getNetworkTxBytesPerSecond();
+		}
+	},
+
+	BLOCK_READ_BYTES_PER_SECOND {
+		@Override
+		double read(ContainerStats stats) {
+			return stats.getBlockReadBytesPerSecond();
+		}
+	},
+
+	BLOCK_WRITE_BYTES_PER_SECOND {
+		@Override
+		double read(ContainerStats stats) {
+			return stats.getBlockWriteBytesPerSecond();
+		}
+	};
+
+	abstract double read(ContainerStats stats);
+
+}
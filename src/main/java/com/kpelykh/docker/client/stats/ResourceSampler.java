@@ -0,0 +1,156 @@
+package com.kpelykh.docker.client.stats;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.model.Container;
+import com.kpelykh.docker.client.nio.StreamEngine;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
+
+/**
+ * Keeps a short resource usage history of every running container of a docker daemon. The running containers are
+ * looked up periodically, each of them is sampled from its stats stream into a {@link TimeSeries}. The history of a
+ * container is dropped once it is gone. The stats streams are multiplexed on the event loops of a {@link StreamEngine},
+ * so sampling a large fleet takes a few threads rather than one per container. Like the {@link StatsMonitor} it is built
+ * on, it only reaches daemons over plain TCP or a unix socket, not over TLS.
+ * <p>
+ * The daemon reports stats about once per second and the sampler keeps at most one sample per interval, so the memory
+ * taken per container is fixed by the retention.
+ */
+public class ResourceSampler {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ResourceSampler.class);
+
+	private static final long SAMPLE_INTERVAL_MILLIS = 1000;
+
+	private final DockerClient dockerClient;
+
+	private final int capacity;
+
+	private final Metric[] metrics;
+
+	private final ConcurrentMap<String, TimeSeries> series = new ConcurrentHashMap<String, TimeSeries>();
+
+	private final StatsMonitor monitor;
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory(
+			"docker-sampler"));
+
+	/**
+	 * @param retention how far back the history of each container goes.
+	 * @param metrics the metrics to record, all if none are given.
+	 */
+	public ResourceSampler(DockerClient dockerClient, long retention, TimeUnit unit, Metric... metrics) {
+		this(dockerClient, null, retention, unit, metrics);
+	}
+
+	/**
+	 * Sample on the event loops of the given engine, which keeps running after {@link #shutdown()}.
+	 * 
+	 * @param retention how far back the history of each container goes.
+	 * @param metrics the metrics to record, all if none are given.
+	 */
+	public ResourceSampler(DockerClient dockerClient, StreamEngine engine, long retention, TimeUnit unit,
+			Metric... metrics) {
+		long samples = unit.toMillis(retention) / SAMPLE_INTERVAL_MILLIS;
+		Preconditions.checkArgument(samples > 0 && samples <= Integer.MAX_VALUE, "Retention out of range");
+		this.dockerClient = dockerClient;
+		this.capacity = (int) samples;
+		this.metrics = metrics.length == 0 ? Metric.values() : metrics.clone();
+		StatsListener listener = new StatsListener() {
+			@Override
+			public void onStats(String containerId, ContainerStats stats) {
+				record(containerId, stats);
+			}
+
+			@Override
+			public void onClosed(String containerId, Throwable cause) {
+				if (cause != null) {
+					LOG.debug("Stats stream of container '" + containerId + "' failed, resubscribing on next refresh.", cause);
+				}
+			}
+		};
+		this.monitor = engine == null ? new StatsMonitor(dockerClient, listener) : new StatsMonitor(dockerClient, engine,
+				listener);
+	}
+
+	/**
+	 * Start sampling, looking for new and removed containers at the given period.
+	 */
+	public void start(long refreshPeriod, TimeUnit unit) {
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					refresh();
+				} catch (RuntimeException e) {
+					LOG.warn("Failed to list the containers to sample.", e);
+				}
+			}
+		}, 0, refreshPeriod, unit);
+	}
+
+	/**
+	 * Subscribe to the containers which started and drop those which are gone since the last refresh.
+	 */
+	public void refresh() {
+		Set<String> running = new HashSet<String>();
+		for (Container container : dockerClient.listContainers(false)) {
+			running.add(container.getId());
+			if (!monitor.isSubscribed(container.getId())) {
+				monitor.subscribe(container.getId());
+			}
+		}
+		for (String containerId : series.keySet()) {
+			if (!running.contains(containerId)) {
+				monitor.unsubscribe(containerId);
+				series.remove(containerId);
+			}
+		}
+	}
+
+	private void record(String containerId, ContainerStats stats) {
+		TimeSeries containerSeries = series.get(containerId);
+		if (containerSeries == null) {
+			containerSeries = new TimeSeries(capacity, metrics);
+			TimeSeries existing = series.putIfAbsent(containerId, containerSeries);
+			if (existing != null) {
+				containerSeries = existing;
+			}
+		}
+		long now = System.currentTimeMillis();
+		long latest = containerSeries.getLatestTimeMillis();
+		// the daemon's cadence jitters, only drop samples arriving clearly too early
+		if (latest < 0 || now - latest >= SAMPLE_INTERVAL_MILLIS / 2) {
+			containerSeries.record(now, stats);
+		}
+	}
+
+	/**
+	 * @return history of the container or <code>null</code> if it is not sampled.
+	 */
+	public TimeSeries getSeries(String containerId) {
+		return series.get(containerId);
+	}
+
+	public Set<String> getContainerIds() {
+		return series.keySet();
+	}
+
+	public void shutdown() {
+		scheduler.shutdownNow();
+		monitor.shutdown();
+		series.clear();
+	}
+
+}
@@ -0,0 +1,202 @@
+package com.kpelykh.docker.client.stats;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Decodes the samples of a stats stream straight from the parser tokens into a {@link ContainerStats}, without building
+ * a tree or binding objects per sample. Field names are canonicalized by the parser, so matching them does not allocate
+ * either.
+ */
+class StatsDecoder {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private JsonParser parser;
+
+	StatsDecoder(InputStream in) throws IOException {
+		this.parser = JSON_FACTORY.createParser(in);
+	}
+
+	/**
+	 * A decoder for single samples, see {@link #decode(byte[], int, ContainerStats)}.
+	 */
+	StatsDecoder() {
+	}
+
+	/**
+	 * Read a single sample, e.g. a line of a stats stream, from the given buffer. The parser reads the buffer in place
+	 * and recycles its own buffers, only the parser itself is created per sample.
+	 * @return <code>false</code> if the buffer holds no sample.
+	 */
+	boolean decode(byte[] sample, int length, ContainerStats stats) throws IOException {
+		parser = JSON_FACTORY.createParser(sample, 0, length);
+		try {
+			return next(stats);
+		} finally {
+			parser.close();
+		}
+	}
+
+	/**
+	 * Read the next sample into the given stats, blocking until it arrived.
+	 * @return <code>false</code> if the stream ended.
+	 */
+	boolean next(ContainerStats stats) throws IOException {
+		JsonToken token = parser.nextToken();
+		if (token == null) {
+			return false;
+		}
+		if (token != JsonToken.START_OBJECT) {
+			throw new IOException("Unexpected token " + token + " in stats stream.");
+		}
+		stats.reset();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if (value != JsonToken.START_OBJECT) {
+				parser.skipChildren();
+			} else if ("cpu_stats".equals(field)) {
+				readCpu(stats);
+			} else if ("memory_stats".equals(field)) {
+				readMemory(stats);
+			} else if ("network".equals(field)) {
+				readNetwork(stats);
+			} else if ("networks".equals(field)) {
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					if (parser.nextToken() == JsonToken.START_OBJECT) {
+						readNetwork(stats);
+					} else {
+						parser.skipChildren();
+					}
+				}
+			} else if ("blkio_stats".equals(field)) {
+				readBlockIo(stats);
+			} else {
+				parser.skipChildren();
+			}
+		}
+		stats.sampled(System.nanoTime());
+		return true;
+	}
+
+	private void readCpu(ContainerStats stats) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("cpu_usage".equals(field) && value == JsonToken.START_OBJECT) {
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String usageField = parser.getCurrentName();
+					JsonToken usageValue = parser.nextToken();
+					if ("total_usage".equals(usageField)) {
+						stats.setCpuTotalUsage(parser.getValueAsLong());
+					} else if ("percpu_usage".equals(usageField) && usageValue == JsonToken.START_ARRAY) {
+						int count = 0;
+						while (parser.nextToken() != JsonToken.END_ARRAY) {
+							count++;
+						}
+						stats.setPerCpuCount(count);
+					} else {
+						parser.skipChildren();
+					}
+				}
+			} else if ("system_cpu_usage".equals(field)) {
+				stats.setSystemCpuUsage(parser.getValueAsLong());
+			} else if ("online_cpus".equals(field)) {
+				stats.setOnlineCpus(parser.getValueAsInt());
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private void readMemory(ContainerStats stats) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			if ("usage".equals(field)) {
+				stats.setMemoryUsage(parser.getValueAsLong());
+			} else if ("limit".equals(field)) {
+				stats.setMemoryLimit(parser.getValueAsLong());
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private void readNetwork(ContainerStats stats) throws IOException {
+		long rxBytes = 0;
+		long txBytes = 0;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			if ("rx_bytes".equals(field)) {
+				rxBytes = parser.getValueAsLong();
+			} else if ("tx_bytes".equals(field)) {
+				txBytes = parser.getValueAsLong();
+			} else {
+				parser.skipChildren();
+			}
+		}
+		stats.addNetworkBytes(rxBytes, txBytes);
+	}
+
+	private void readBlockIo(ContainerStats stats) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("io_service_bytes_recursive".equals(field) && value == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					readBlockIoEntry(stats);
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private void readBlockIoEntry(ContainerStats stats) throws IOException {
+		boolean read = false;
+		boolean write = false;
+		long bytes = 0;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			if ("op".equals(field)) {
+				read = textEquals("read");
+				write = textEquals("write");
+			} else if ("value".equals(field)) {
+				bytes = parser.getValueAsLong();
+			} else {
+				parser.skipChildren();
+			}
+		}
+		stats.addBlockBytes(read ? bytes : 0, write ? bytes : 0);
+	}
+
+	/**
+	 * Compare the current string value without materializing it.
+	 */
+	private boolean textEquals(String expected) throws IOException {
+		if (parser.getCurrentToken() != JsonToken.VALUE_STRING || parser.getTextLength() != expected.length()) {
+			return false;
+		}
+		char[] text = parser.getTextCharacters();
+		int offset = parser.getTextOffset();
+		for (int i = 0; i < expected.length(); i++) {
+			if (Character.toLowerCase(text[offset + i]) != expected.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	void close() throws IOException {
+		parser.close();
+	}
+
+}
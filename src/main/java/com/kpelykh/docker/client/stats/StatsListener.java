@@ -0,0 +1,19 @@
+package com.kpelykh.docker.client.stats;
+
+/**
+ * Receives the samples of one or many stats streams.
+ */
+public interface StatsListener {
+
+	/**
+	 * Called for every sample. The stats instance is reused for the next sample of the same container.
+	 */
+	void onStats(String containerId, ContainerStats stats);
+
+	/**
+	 * Called once the stream of a container ended, e.g. because the container was removed.
+	 * @param cause the failure which ended the stream or <code>null</code> if it ended regularly.
+	 */
+	void onClosed(String containerId, Throwable cause);
+
+}
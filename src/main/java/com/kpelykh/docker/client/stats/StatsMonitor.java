@@ -0,0 +1,133 @@
+package com.kpelykh.docker.client.stats;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.nio.DaemonAddress;
+import com.kpelykh.docker.client.nio.StreamEngine;
+
+/**
+ * Streams the stats of many containers to one listener. The streams are multiplexed on the event loops of a
+ * {@link StreamEngine}, so thousands of containers take a few threads instead of one reader thread each. The listener
+ * is called on an event loop thread and must not block. It is never called concurrently for the same container.
+ * <p>
+ * The engine connects to the daemon by itself, over plain TCP or a unix socket. It does not use the transport of the
+ * client, so TLS, the request governor, connection lanes, endpoint draining and custom request factories do not apply
+ * to the stats streams. Subscribing fails for a client whose daemon URL is not {@code http}, {@code tcp} or
+ * {@code unix}, e.g. an {@code https} daemon.
+ */
+public class StatsMonitor {
+
+	private final DockerClient dockerClient;
+
+	private final StreamEngine engine;
+
+	private final boolean ownEngine;
+
+	private final StatsListener listener;
+
+	private final ConcurrentMap<String, StatsStream> streams = new ConcurrentHashMap<String, StatsStream>();
+
+	private volatile boolean shutdown;
+
+	/**
+	 * Follow the streams on an event loop of its own.
+	 */
+	public StatsMonitor(DockerClient dockerClient, StatsListener listener) {
+		this(dockerClient, new StreamEngine(), true, listener);
+	}
+
+	/**
+	 * Follow the streams on the event loops of the given engine, which keeps running after {@link #shutdown()}.
+	 */
+	public StatsMonitor(DockerClient dockerClient, StreamEngine engine, StatsListener listener) {
+		this(dockerClient, engine, false, listener);
+	}
+
+	private StatsMonitor(DockerClient dockerClient, StreamEngine engine, boolean ownEngine, final StatsListener listener) {
+		this.dockerClient = dockerClient;
+		this.engine = engine;
+		this.ownEngine = ownEngine;
+		this.listener = new StatsListener() {
+			@Override
+			public void onStats(String containerId, ContainerStats stats) {
+				listener.onStats(containerId, stats);
+			}
+
+			@Override
+			public void onClosed(String containerId, Throwable cause) {
+				StatsStream stream = streams.get(containerId);
+				if (stream != null && stream.isClosed()) {
+					streams.remove(containerId, stream);
+				}
+				listener.onClosed(containerId, cause);
+			}
+		};
+	}
+
+	/**
+	 * Start streaming the stats of the container from the daemon the client currently talks to. Subscribing to a
+	 * container twice has no effect.
+	 */
+	public synchronized void subscribe(String containerId) {
+		Preconditions.checkState(!shutdown, "Stats monitor is shut down");
+		if (streams.containsKey(containerId)) {
+			return;
+		}
+		StatsStream stream = new StatsStream(containerId, listener);
+		streams.put(containerId, stream);
+		try {
+			stream.opened(engine.followStats(daemonAddress(), containerId, stream));
+		} catch (RuntimeException e) {
+			streams.remove(containerId, stream);
+			throw e;
+		}
+	}
+
+	private DaemonAddress daemonAddress() {
+		String url = dockerClient.getDockerDeamonUrl();
+		String scheme = URI.create(url).getScheme();
+		if (!"http".equals(scheme) && !"tcp".equals(scheme) && !"unix".equals(scheme)) {
+			throw new DockerException("Stats are streamed over plain connections, which can't reach the daemon at '" + url
+					+ "'.");
+		}
+		return DaemonAddress.parse(url);
+	}
+
+	public void unsubscribe(String containerId) {
+		StatsStream stream = streams.remove(containerId);
+		if (stream != null) {
+			stream.close();
+		}
+	}
+
+	public boolean isSubscribed(String containerId) {
+		return streams.containsKey(containerId);
+	}
+
+	/**
+	 * @return number of containers whose stats are streamed.
+	 */
+	public int getSubscriptions() {
+		return streams.size();
+	}
+
+	/**
+	 * Close all streams, and stop the event loop unless it was shared.
+	 */
+	public synchronized void shutdown() {
+		shutdown = true;
+		for (StatsStream stream : streams.values()) {
+			stream.close();
+		}
+		streams.clear();
+		if (ownEngine) {
+			engine.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.kpelykh.docker.client.stats;
+
+import java.io.IOException;
+
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.model.LogFrame;
+import com.kpelykh.docker.client.nio.LineHandler;
+import com.kpelykh.docker.client.nio.StreamHandle;
+
+/**
+ * The stats stream of a single container followed by a {@link StatsMonitor} on an event loop. Every line of the stream
+ * is one sample, decoded in place from the line buffer into the same {@link ContainerStats}.
+ */
+class StatsStream implements LineHandler {
+
+	private final String containerId;
+
+	private final StatsListener listener;
+
+	private final ContainerStats stats = new ContainerStats();
+
+	private final StatsDecoder decoder = new StatsDecoder();
+
+	private StreamHandle handle;
+
+	private boolean closed;
+
+	// only touched on the event loop thread
+	private Throwable failure;
+
+	StatsStream(String containerId, StatsListener listener) {
+		this.containerId = containerId;
+		this.listener = listener;
+	}
+
+	void opened(StreamHandle handle) {
+		boolean closeNow;
+		synchronized (this) {
+			this.handle = handle;
+			closeNow = closed;
+		}
+		if (closeNow) {
+			handle.close();
+		}
+	}
+
+	synchronized boolean isClosed() {
+		return closed;
+	}
+
+	void close() {
+		StreamHandle current;
+		synchronized (this) {
+			closed = true;
+			current = handle;
+		}
+		if (current != null) {
+			current.close();
+		}
+	}
+
+	@Override
+	public void onFrame(LogFrame frame) {
+		onLine(frame.getPayload(), frame.getPayload().length);
+	}
+
+	@Override
+	public void onLine(byte[] line, int length) {
+		if (failure != null) {
+			return;
+		}
+		try {
+			if (decoder.decode(line, length, stats)) {
+				listener.onStats(containerId, stats);
+			}
+		} catch (IOException e) {
+			failure = new DockerException("Failed to read the stats of container '" + containerId + "'.", e);
+			close();
+		}
+	}
+
+	@Override
+	public void onClosed(Throwable cause) {
+		boolean closedByUser;
+		synchronized (this) {
+			closedByUser = closed && failure == null;
+			closed = true;
+		}
+		listener.onClosed(containerId, failure != null ? failure : closedByUser ? null : cause);
+	}
+
+}
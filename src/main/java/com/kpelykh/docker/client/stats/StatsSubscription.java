@@ -0,0 +1,84 @@
+package com.kpelykh.docker.client.stats;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * The stats stream of a single container. {@link #run()} reads the stream until it ends or the subscription is closed,
+ * passing every sample to the listener.
+ */
+public class StatsSubscription implements Runnable, Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StatsSubscription.class);
+
+	private final DockerClient dockerClient;
+
+	private final String containerId;
+
+	private final StatsListener listener;
+
+	private final ContainerStats stats = new ContainerStats();
+
+	private volatile ClientHttpResponse response;
+
+	private volatile boolean closed;
+
+	public StatsSubscription(DockerClient dockerClient, String containerId, StatsListener listener) {
+		this.dockerClient = dockerClient;
+		this.containerId = containerId;
+		this.listener = listener;
+	}
+
+	public String getContainerId() {
+		return containerId;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public void run() {
+		Throwable cause = null;
+		try {
+			response = dockerClient.openStream(HttpMethod.GET, "/containers/{containerId}/stats", containerId);
+			if (closed) {
+				return;
+			}
+			StatsDecoder decoder = new StatsDecoder(response.getBody());
+			try {
+				while (!closed && decoder.next(stats)) {
+					listener.onStats(containerId, stats);
+				}
+			} finally {
+				decoder.close();
+			}
+		} catch (IOException e) {
+			cause = closed ? null : new DockerException("Failed to read the stats of container '" + containerId + "'.", e);
+		} catch (RuntimeException e) {
+			cause = closed ? null : e;
+		} finally {
+			close();
+			LOG.debug("Stats stream of container '{}' ended.", containerId);
+			listener.onClosed(containerId, cause);
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		ClientHttpResponse current = response;
+		if (current != null) {
+			current.close();
+		}
+	}
+
+}
@@ -0,0 +1,168 @@
+package com.kpelykh.docker.client.stats;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Fixed-size history of some metrics of one container. Samples are kept in primitive ring buffers allocated up front,
+ * so a series takes <code>capacity * (8 + 4 * metrics)</code> bytes no matter how long it is recorded; once full, the
+ * oldest sample is overwritten.
+ * <p>
+ * Queries cover the samples within a window back from the latest sample and return {@link Double#NaN} if there are
+ * none.
+ */
+public class TimeSeries {
+
+	private final Metric[] metrics;
+
+	private final int[] columns = new int[Metric.values().length];
+
+	private final long[] timestamps;
+
+	private final float[] values;
+
+	private int next;
+
+	private int size;
+
+	/**
+	 * @param capacity number of samples to retain.
+	 */
+	public TimeSeries(int capacity, Metric... metrics) {
+		Preconditions.checkArgument(capacity > 0, "Capacity must be positive");
+		Preconditions.checkArgument(metrics.length > 0, "At least one metric is required");
+		this.metrics = metrics.clone();
+		Arrays.fill(columns, -1);
+		for (int i = 0; i < metrics.length; i++) {
+			columns[metrics[i].ordinal()] = i;
+		}
+		this.timestamps = new long[capacity];
+		this.values = new float[capacity * metrics.length];
+	}
+
+	/**
+	 * @param timeMillis time of the sample, has to be increasing.
+	 */
+	public synchronized void record(long timeMillis, ContainerStats stats) {
+		timestamps[next] = timeMillis;
+		int offset = next * metrics.length;
+		for (int i = 0; i < metrics.length; i++) {
+			values[offset + i] = (float) metrics[i].read(stats);
+		}
+		next = (next + 1) % timestamps.length;
+		if (size < timestamps.length) {
+			size++;
+		}
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return timestamps.length;
+	}
+
+	/**
+	 * @return time of the latest sample or <code>-1</code> if nothing was recorded yet.
+	 */
+	public synchronized long getLatestTimeMillis() {
+		return size == 0 ? -1 : timestamps[index(0)];
+	}
+
+	public synchronized double latest(Metric metric) {
+		int column = column(metric);
+		return size == 0 ? Double.NaN : values[index(0) * metrics.length + column];
+	}
+
+	public synchronized double min(Metric metric, long window, TimeUnit unit) {
+		int column = column(metric);
+		int count = count(window, unit);
+		double min = Double.NaN;
+		for (int i = 0; i < count; i++) {
+			float value = values[index(i) * metrics.length + column];
+			if (i == 0 || value < min) {
+				min = value;
+			}
+		}
+		return min;
+	}
+
+	public synchronized double max(Metric metric, long window, TimeUnit unit) {
+		int column = column(metric);
+		int count = count(window, unit);
+		double max = Double.NaN;
+		for (int i = 0; i < count; i++) {
+			float value = values[index(i) * metrics.length + column];
+			if (i == 0 || value > max) {
+				max = value;
+			}
+		}
+		return max;
+	}
+
+	public synchronized double average(Metric metric, long window, TimeUnit unit) {
+		int column = column(metric);
+		int count = count(window, unit);
+		if (count == 0) {
+			return Double.NaN;
+		}
+		double sum = 0;
+		for (int i = 0; i < count; i++) {
+			sum += values[index(i) * metrics.length + column];
+		}
+		return sum / count;
+	}
+
+	/**
+	 * @param percentile between 0 and 100, using the nearest-rank method.
+	 */
+	public double percentile(Metric metric, double percentile, long window, TimeUnit unit) {
+		Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100");
+		float[] sorted;
+		synchronized (this) {
+			int column = column(metric);
+			sorted = new float[count(window, unit)];
+			for (int i = 0; i < sorted.length; i++) {
+				sorted[i] = values[index(i) * metrics.length + column];
+			}
+		}
+		if (sorted.length == 0) {
+			return Double.NaN;
+		}
+		Arrays.sort(sorted);
+		int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+		return sorted[Math.max(rank - 1, 0)];
+	}
+
+	/**
+	 * @return position in the buffers of the sample <code>age</code> samples before the latest one.
+	 */
+	private int index(int age) {
+		return (next - 1 - age + 2 * timestamps.length) % timestamps.length;
+	}
+
+	/**
+	 * @return number of latest samples within the window.
+	 */
+	private int count(long window, TimeUnit unit) {
+		if (size == 0) {
+			return 0;
+		}
+		long from = timestamps[index(0)] - unit.toMillis(window);
+		int count = 0;
+		while (count < size && timestamps[index(count)] > from) {
+			count++;
+		}
+		return count;
+	}
+
+	private int column(Metric metric) {
+		int column = columns[metric.ordinal()];
+		Preconditions.checkArgument(column >= 0, "Metric " + metric + " is not recorded");
+		return column;
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.kpelykh.docker.client.tls;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How many TLS connections were opened and how long it took, as a measure of how well connections are kept alive and
+ * sessions resumed.
+ */
+public class HandshakeMetrics {
+
+	final AtomicLong handshakes = new AtomicLong();
+
+	final AtomicLong resumed = new AtomicLong();
+
+	final AtomicLong failures = new AtomicLong();
+
+	final AtomicLong totalNanos = new AtomicLong();
+
+	final AtomicLong maxNanos = new AtomicLong();
+
+	void record(long nanos, boolean resumedSession) {
+		handshakes.incrementAndGet();
+		if (resumedSession) {
+			resumed.incrementAndGet();
+		}
+		totalNanos.addAndGet(nanos);
+		long max = maxNanos.get();
+		while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+			max = maxNanos.get();
+		}
+	}
+
+	/**
+	 * @return number of successful handshakes, full or resumed.
+	 */
+	public long getHandshakes() {
+		return handshakes.get();
+	}
+
+	/**
+	 * @return number of handshakes which resumed a cached session.
+	 */
+	public long getResumed() {
+		return resumed.get();
+	}
+
+	public long getFullHandshakes() {
+		return handshakes.get() - resumed.get();
+	}
+
+	public long getFailures() {
+		return failures.get();
+	}
+
+	/**
+	 * @return average time to connect and complete the handshake.
+	 */
+	public double getAverageMillis() {
+		long count = handshakes.get();
+		return count == 0 ? 0 : (double) totalNanos.get() / count / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	public double getMaxMillis() {
+		return (double) maxNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public String toString() {
+		return "HandshakeMetrics{" + "handshakes=" + getHandshakes() + ", resumed=" + getResumed() + ", failures=" + getFailures()
+				+ ", averageMillis=" + getAverageMillis() + ", maxMillis=" + getMaxMillis() + '}';
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.kpelykh.docker.client.tls;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.params.HttpParams;
+
+/**
+ * Records the time to connect and complete the handshake of every TLS connection, and whether it resumed a cached
+ * session.
+ */
+class MeteredSSLSocketFactory extends SSLSocketFactory {
+
+	private final HandshakeMetrics metrics;
+
+	MeteredSSLSocketFactory(TlsSettings settings, HandshakeMetrics metrics) {
+		super(settings.getSslContext(), BROWSER_COMPATIBLE_HOSTNAME_VERIFIER);
+		this.metrics = metrics;
+	}
+
+	@Override
+	public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress, HttpParams params)
+			throws IOException {
+		long startMillis = System.currentTimeMillis();
+		long start = System.nanoTime();
+		Socket connected;
+		try {
+			// the handshake is done while verifying the host name
+			connected = super.connectSocket(socket, remoteAddress, localAddress, params);
+		} catch (IOException e) {
+			metrics.failures.incrementAndGet();
+			throw e;
+		}
+		SSLSession session = ((SSLSocket) connected).getSession();
+		// a resumed session was created by an earlier handshake
+		metrics.record(System.nanoTime() - start, session.getCreationTime() < startMillis);
+		return connected;
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.kpelykh.docker.client.tls;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.TrustManagerFactory;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerException;
+
+/**
+ * The client certificate and trusted certificates for daemons which require TLS. All connections made with the same
+ * settings share one SSL session cache, so a new connection to a daemon resumes an earlier session instead of doing a
+ * full handshake.
+ */
+public class TlsSettings {
+
+	private final SSLContext sslContext;
+
+	public TlsSettings(SSLContext sslContext) {
+		Preconditions.checkNotNull(sslContext, "SSL context was not specified");
+		this.sslContext = sslContext;
+	}
+
+	/**
+	 * @param keyStore holds the client certificate and its key, a {@code .p12} or {@code .pfx} file is read as PKCS12,
+	 *            any other as JKS.
+	 * @param trustStore holds the certificates of the daemons or of their CA, may be <code>null</code> to use the
+	 *            default trust store of the JVM.
+	 */
+	public static TlsSettings fromKeyStores(File keyStore, String keyStorePassword, File trustStore, String trustStorePassword) {
+		try {
+			KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+			keyManagerFactory.init(load(keyStore, keyStorePassword), keyStorePassword.toCharArray());
+			TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+			trustManagerFactory.init(trustStore == null ? null : load(trustStore, trustStorePassword));
+			SSLContext sslContext = SSLContext.getInstance("TLS");
+			sslContext.init(keyManagerFactory.getKeyManagers(), trustManagerFactory.getTrustManagers(), null);
+			return new TlsSettings(sslContext);
+		} catch (GeneralSecurityException e) {
+			throw new DockerException("Failed to set up TLS.", e);
+		} catch (IOException e) {
+			throw new DockerException("Failed to read the key stores.", e);
+		}
+	}
+
+	private static KeyStore load(File file, String password) throws GeneralSecurityException, IOException {
+		String name = file.getName().toLowerCase();
+		KeyStore keyStore = KeyStore.getInstance(name.endsWith(".p12") || name.endsWith(".pfx") ? "PKCS12" : "JKS");
+		InputStream in = new FileInputStream(file);
+		try {
+			keyStore.load(in, password == null ? null : password.toCharArray());
+		} finally {
+			in.close();
+		}
+		return keyStore;
+	}
+
+	public SSLContext getSslContext() {
+		return sslContext;
+	}
+
+	/**
+	 * @param size maximum number of cached sessions, 0 for no limit.
+	 */
+	public void setSessionCacheSize(int size) {
+		sessionContext().setSessionCacheSize(size);
+	}
+
+	/**
+	 * @param timeoutSeconds how long a session can be resumed, 0 for no limit.
+	 */
+	public void setSessionTimeout(int timeoutSeconds) {
+		sessionContext().setSessionTimeout(timeoutSeconds);
+	}
+
+	private SSLSessionContext sessionContext() {
+		return sslContext.getClientSessionContext();
+	}
+
+}
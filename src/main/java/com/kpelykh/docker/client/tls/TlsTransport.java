@@ -0,0 +1,69 @@
+package com.kpelykh.docker.client.tls;
+
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.lanes.ConnectionLanes;
+
+/**
+ * Talks to daemons at {@code https} URLs, authenticating with a client certificate. Connections are kept alive in the
+ * pools of {@link ConnectionLanes}, one pool per daemon and lane, and new connections resume sessions from the cache
+ * shared through the {@link TlsSettings}, so a full handshake is rare. Plain {@code http} URLs keep working.
+ * <p>
+ * Usage:
+ * 
+ * <pre>
+ * TlsTransport tls = new TlsTransport(TlsSettings.fromKeyStores(keyStore, &quot;secret&quot;, trustStore, &quot;secret&quot;));
+ * DockerClient dockerClient = new DockerClient(&quot;https://docker-host:2376&quot;);
+ * tls.configure(dockerClient);
+ * </pre>
+ */
+public class TlsTransport {
+
+	private static final int HTTPS_PORT = 443;
+
+	private static final int HTTP_PORT = 80;
+
+	private final HandshakeMetrics handshakeMetrics = new HandshakeMetrics();
+
+	private final SchemeRegistry schemeRegistry = new SchemeRegistry();
+
+	public TlsTransport(TlsSettings settings) {
+		schemeRegistry.register(new Scheme("http", HTTP_PORT, PlainSocketFactory.getSocketFactory()));
+		schemeRegistry.register(new Scheme("https", HTTPS_PORT, new MeteredSSLSocketFactory(settings, handshakeMetrics)));
+	}
+
+	/**
+	 * @return registry for further connection pools which should use the same TLS settings and metrics.
+	 */
+	public SchemeRegistry getSchemeRegistry() {
+		return schemeRegistry;
+	}
+
+	/**
+	 * The limits are per lane, not per daemon: lanes used for several daemons share them, and a single daemon may take
+	 * all of them.
+	 * @param maxControlConnections connections for short requests.
+	 * @param maxStreamConnections connections for streams.
+	 */
+	public ConnectionLanes createConnectionLanes(int maxControlConnections, int maxStreamConnections) {
+		return new ConnectionLanes(maxControlConnections, maxStreamConnections, schemeRegistry);
+	}
+
+	/**
+	 * Send the requests of the client over new connection lanes with 20 control and 10 stream connections.
+	 * @return the lanes, to be shut down when the client is no longer used.
+	 */
+	public ConnectionLanes configure(DockerClient dockerClient) {
+		ConnectionLanes connectionLanes = createConnectionLanes(20, 10);
+		dockerClient.setConnectionLanes(connectionLanes);
+		return connectionLanes;
+	}
+
+	public HandshakeMetrics getHandshakeMetrics() {
+		return handshakeMetrics;
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.kpelykh.docker.client.utils;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates named daemon threads, so background work of the client never keeps the JVM alive.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+	private final String namePrefix;
+
+	private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+	public DaemonThreadFactory(String namePrefix) {
+		this.namePrefix = namePrefix;
+	}
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, namePrefix + "-" + threadNumber.getAndIncrement());
+		thread.setDaemon(true);
+		return thread;
+	}
+
+}
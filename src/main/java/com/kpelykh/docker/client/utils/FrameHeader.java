@@ -0,0 +1,52 @@
+package com.kpelykh.docker.client.utils;
+
+import java.io.IOException;
+
+import com.kpelykh.docker.client.model.LogFrame.StreamType;
+
+/**
+ * Parses the 8 byte header the daemon puts in front of every chunk of attach and logs output of a container without a
+ * TTY: the stream type, three zero bytes and the big-endian payload length.
+ */
+public final class FrameHeader {
+
+	public static final int SIZE = 8;
+
+	/**
+	 * Largest payload accepted, the daemon sends chunks of a few kilobytes.
+	 */
+	public static final int MAX_PAYLOAD_LENGTH = 16 * 1024 * 1024;
+
+	private FrameHeader() {
+	}
+
+	/**
+	 * @return <code>true</code> if the first bytes of a stream look like a frame header rather than output of a container
+	 *         with a TTY.
+	 */
+	public static boolean isMultiplexed(byte[] header) {
+		return header[0] >= 0 && header[0] <= 2 && header[1] == 0 && header[2] == 0 && header[3] == 0;
+	}
+
+	/**
+	 * @throws IOException if the header is malformed.
+	 */
+	public static StreamType streamType(byte[] header) throws IOException {
+		if (!isMultiplexed(header)) {
+			throw new IOException("Malformed frame header, unknown stream type " + header[0] + ".");
+		}
+		return StreamType.values()[header[0]];
+	}
+
+	/**
+	 * @throws IOException if the length is negative or exceeds {@link #MAX_PAYLOAD_LENGTH}.
+	 */
+	public static int payloadLength(byte[] header) throws IOException {
+		int length = (header[4] & 0xff) << 24 | (header[5] & 0xff) << 16 | (header[6] & 0xff) << 8 | (header[7] & 0xff);
+		if (length < 0 || length > MAX_PAYLOAD_LENGTH) {
+			throw new IOException("Malformed frame header, payload length " + (length & 0xffffffffL) + " out of range.");
+		}
+		return length;
+	}
+
+}
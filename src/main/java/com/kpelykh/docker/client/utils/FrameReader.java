@@ -0,0 +1,80 @@
+package com.kpelykh.docker.client.utils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import com.kpelykh.docker.client.model.LogFrame;
+import com.kpelykh.docker.client.model.LogFrame.StreamType;
+
+/**
+ * Reads the output of the attach and logs endpoints frame by frame. Without a TTY the daemon prefixes every chunk with an
+ * 8 byte header holding the stream type and the payload length. With a TTY the output is passed on as is, which is
+ * detected from the first header, i.e. once the first 8 bytes arrived.
+ */
+public class FrameReader {
+
+	private static final int RAW_CHUNK_SIZE = 8192;
+
+	private final InputStream in;
+
+	private final byte[] header = new byte[FrameHeader.SIZE];
+
+	private Boolean multiplexed;
+
+	public FrameReader(InputStream in) {
+		this.in = in;
+	}
+
+	/**
+	 * Read the next frame, blocking until it arrived completely.
+	 * @return <code>null</code> at the end of the stream.
+	 * @throws IOException also if a frame header is malformed.
+	 */
+	public LogFrame next() throws IOException {
+		if (multiplexed == null) {
+			int read = readFully(header, 0, FrameHeader.SIZE);
+			if (read == 0) {
+				return null;
+			}
+			multiplexed = read == FrameHeader.SIZE && FrameHeader.isMultiplexed(header);
+			if (!multiplexed) {
+				return new LogFrame(StreamType.RAW, Arrays.copyOf(header, read));
+			}
+		} else if (multiplexed) {
+			int read = readFully(header, 0, FrameHeader.SIZE);
+			if (read == 0) {
+				return null;
+			}
+			if (read < FrameHeader.SIZE) {
+				throw new EOFException("Stream ended within a frame header.");
+			}
+		} else {
+			byte[] chunk = new byte[RAW_CHUNK_SIZE];
+			int read = in.read(chunk);
+			return read < 0 ? null : new LogFrame(StreamType.RAW, Arrays.copyOf(chunk, read));
+		}
+
+		StreamType streamType = FrameHeader.streamType(header);
+		int length = FrameHeader.payloadLength(header);
+		byte[] payload = new byte[length];
+		if (readFully(payload, 0, length) < length) {
+			throw new EOFException("Stream ended within a frame.");
+		}
+		return new LogFrame(streamType, payload);
+	}
+
+	private int readFully(byte[] buffer, int offset, int length) throws IOException {
+		int total = 0;
+		while (total < length) {
+			int read = in.read(buffer, offset + total, length - total);
+			if (read < 0) {
+				break;
+			}
+			total += read;
+		}
+		return total;
+	}
+
+}
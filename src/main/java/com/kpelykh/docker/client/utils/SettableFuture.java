@@ -0,0 +1,88 @@
+package com.kpelykh.docker.client.utils;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link Future} which is completed explicitly by whoever produces the result. Only the first completion counts.
+ */
+public class SettableFuture<T> implements Future<T> {
+
+	private final CountDownLatch done = new CountDownLatch(1);
+
+	private final AtomicBoolean completed = new AtomicBoolean();
+
+	private T value;
+
+	private Throwable failure;
+
+	private boolean cancelled;
+
+	public boolean set(T value) {
+		if (!completed.compareAndSet(false, true)) {
+			return false;
+		}
+		this.value = value;
+		done.countDown();
+		return true;
+	}
+
+	public boolean setException(Throwable failure) {
+		if (!completed.compareAndSet(false, true)) {
+			return false;
+		}
+		this.failure = failure;
+		done.countDown();
+		return true;
+	}
+
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		if (!completed.compareAndSet(false, true)) {
+			return false;
+		}
+		this.cancelled = true;
+		done.countDown();
+		return true;
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return isDone() && cancelled;
+	}
+
+	@Override
+	public boolean isDone() {
+		return done.getCount() == 0;
+	}
+
+	@Override
+	public T get() throws InterruptedException, ExecutionException {
+		done.await();
+		return report();
+	}
+
+	@Override
+	public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		if (!done.await(timeout, unit)) {
+			throw new TimeoutException();
+		}
+		return report();
+	}
+
+	private T report() throws ExecutionException {
+		if (cancelled) {
+			throw new CancellationException();
+		}
+		if (failure != null) {
+			throw new ExecutionException(failure);
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,639 @@
+package com.kpelykh.docker.client.watch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.EventStream;
+import com.kpelykh.docker.client.NotFoundException;
+import com.kpelykh.docker.client.model.ContainerInspectResponse;
+import com.kpelykh.docker.client.model.Event;
+import com.kpelykh.docker.client.model.Ports;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
+import com.kpelykh.docker.client.utils.SettableFuture;
+
+/**
+ * Waits for container state changes without polling. State changes are taken from the event stream of the daemon, port
+ * probes are non-blocking connects. All waiting containers, their deadlines and probes are handled by a single thread, so
+ * thousands of containers can be watched at the same time.
+ */
+public class ContainerWatcher implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ContainerWatcher.class);
+
+	private static final long PROBE_INTERVAL_MILLIS = 250;
+
+	private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+	// events which arrive while a waiter is being registered must not get lost
+	private static final long RECENT_EVENT_RETENTION_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+	private static final Set<String> RUNNING_EVENTS = new HashSet<String>(Arrays.asList("start", "restart", "unpause"));
+
+	private static final Set<String> EXIT_EVENTS = new HashSet<String>(Arrays.asList("die", "destroy"));
+
+	private final DockerClient dockerClient;
+
+	private final Selector selector;
+
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+
+	// waiters whose registration task did not run yet, failed by close if it never will
+	private final Queue<Waiter> registering = new ConcurrentLinkedQueue<Waiter>();
+
+	private final ExecutorService inspector = Executors.newSingleThreadExecutor(new DaemonThreadFactory("docker-watch-inspect"));
+
+	// the following fields are only accessed by the watcher thread
+
+	private final Map<String, List<Waiter>> waiters = new HashMap<String, List<Waiter>>();
+
+	private final PriorityQueue<Timer> timers = new PriorityQueue<Timer>();
+
+	private final ArrayDeque<RecentEvent> recentEvents = new ArrayDeque<RecentEvent>();
+
+	private volatile boolean closed;
+
+	private volatile EventStream eventStream;
+
+	private Thread watcherThread;
+
+	private Thread eventThread;
+
+	public ContainerWatcher(DockerClient dockerClient) throws DockerException {
+		this.dockerClient = dockerClient;
+		try {
+			this.selector = Selector.open();
+		} catch (IOException e) {
+			throw new DockerException("Failed to open selector.", e);
+		}
+	}
+
+	public synchronized void start() {
+		Preconditions.checkState(!closed, "Container watcher is closed");
+		if (watcherThread != null) {
+			return;
+		}
+		DaemonThreadFactory threadFactory = new DaemonThreadFactory("docker-watch");
+		watcherThread = threadFactory.newThread(new Runnable() {
+			@Override
+			public void run() {
+				watch();
+			}
+		});
+		eventThread = threadFactory.newThread(new Runnable() {
+			@Override
+			public void run() {
+				readEvents();
+			}
+		});
+		watcherThread.start();
+		eventThread.start();
+	}
+
+	/**
+	 * @param containerId id or name of the container.
+	 * @return a future which completes with the container id once the container is running. It fails with a
+	 *         {@link TimeoutException} if the container does not start within the timeout.
+	 */
+	public Future<String> awaitRunning(String containerId, long timeout, TimeUnit unit) {
+		StateWaiter waiter = new StateWaiter(deadline(timeout, unit), RUNNING_EVENTS);
+		return await(containerId, waiter, true);
+	}
+
+	/**
+	 * @param containerId id or name of the container.
+	 * @return a future which completes with the container id once the container is not running anymore. It fails with a
+	 *         {@link TimeoutException} if the container does not exit within the timeout.
+	 */
+	public Future<String> awaitExit(String containerId, long timeout, TimeUnit unit) {
+		StateWaiter waiter = new StateWaiter(deadline(timeout, unit), EXIT_EVENTS);
+		return await(containerId, waiter, false);
+	}
+
+	private Future<String> await(String containerId, StateWaiter waiter, boolean awaitedRunningState) {
+		start();
+		long inspectStarted = System.nanoTime();
+		try {
+			ContainerInspectResponse response = dockerClient.inspectContainer(containerId);
+			if (response.getState().running == awaitedRunningState) {
+				waiter.future.set(response.getId());
+			} else {
+				register(response.getId(), waiter, inspectStarted);
+			}
+		} catch (RuntimeException e) {
+			waiter.future.setException(e);
+		}
+		return waiter.future;
+	}
+
+	/**
+	 * @param containerId id or name of the container.
+	 * @param containerPort exposed tcp port of the container.
+	 * @return a future which completes with the host address of the port once a connection can be established. It fails with
+	 *         a {@link TimeoutException} if the port does not accept connections within the timeout.
+	 */
+	public Future<InetSocketAddress> awaitHealthy(String containerId, int containerPort, long timeout, TimeUnit unit) {
+		start();
+		HealthWaiter waiter = new HealthWaiter(deadline(timeout, unit), containerPort);
+		long inspectStarted = System.nanoTime();
+		try {
+			ContainerInspectResponse response = dockerClient.inspectContainer(containerId);
+			if (response.getState().running) {
+				waiter.address = resolveAddress(response, containerPort);
+			}
+			register(response.getId(), waiter, inspectStarted);
+		} catch (RuntimeException e) {
+			waiter.future.setException(e);
+		}
+		return waiter.future;
+	}
+
+	private static long deadline(long timeout, TimeUnit unit) {
+		return System.nanoTime() + unit.toNanos(timeout);
+	}
+
+	private InetSocketAddress resolveAddress(ContainerInspectResponse response, int containerPort) {
+		Ports ports = response.getNetworkSettings() == null ? null : response.getNetworkSettings().ports;
+		Ports.Port binding = ports == null ? null : ports.getAllPorts().get(Integer.toString(containerPort));
+		if (binding == null || StringUtils.isEmpty(binding.getHostPort())) {
+			throw new DockerException("Port " + containerPort + " of container '" + response.getId() + "' is not mapped to the host.");
+		}
+		String host = binding.getHostIp();
+		if (StringUtils.isEmpty(host) || "0.0.0.0".equals(host)) {
+			host = daemonHost();
+		}
+		return new InetSocketAddress(host, Integer.parseInt(binding.getHostPort()));
+	}
+
+	/**
+	 * @return the host on which ports published on all interfaces are reachable, looked up for every address as the daemon
+	 *         URL may be switched.
+	 */
+	private String daemonHost() {
+		URI url = URI.create(dockerClient.getDockerDeamonUrl());
+		if ("unix".equals(url.getScheme())) {
+			// the daemon runs on this machine
+			return "localhost";
+		}
+		if (url.getHost() == null) {
+			throw new DockerException("Can't tell the host of the docker daemon from '" + url + "'.");
+		}
+		return url.getHost();
+	}
+
+	private void register(final String containerId, final Waiter waiter, final long inspectStarted) {
+		registering.add(waiter);
+		if (closed) {
+			// the watcher may be gone already, nobody would run the task
+			failRegistering();
+			return;
+		}
+		post(new Runnable() {
+			@Override
+			public void run() {
+				if (!registering.remove(waiter)) {
+					// failed by close
+					return;
+				}
+				waiter.containerId = containerId;
+				waiter.key = key(containerId);
+				List<Waiter> containerWaiters = waiters.get(waiter.key);
+				if (containerWaiters == null) {
+					containerWaiters = new ArrayList<Waiter>();
+					waiters.put(waiter.key, containerWaiters);
+				}
+				containerWaiters.add(waiter);
+				waiter.deadlineTimer = schedule(waiter.deadline, new Runnable() {
+					@Override
+					public void run() {
+						waiter.fail(new TimeoutException("Timed out waiting for container '" + containerId + "'."));
+					}
+				});
+				for (RecentEvent event : recentEvents) {
+					if (event.key.equals(waiter.key) && event.received - inspectStarted >= 0) {
+						waiter.onEvent(event.status);
+					}
+				}
+				waiter.registered();
+			}
+		});
+	}
+
+	// short and full container ids share the first 12 characters
+	private static String key(String containerId) {
+		return containerId.length() > 12 ? containerId.substring(0, 12) : containerId;
+	}
+
+	private void post(Runnable task) {
+		tasks.add(task);
+		selector.wakeup();
+	}
+
+	private Timer schedule(long deadline, Runnable action) {
+		Timer timer = new Timer(deadline, action);
+		timers.add(timer);
+		return timer;
+	}
+
+	private void watch() {
+		try {
+			while (!closed) {
+				selector.select(runDueTimers());
+				Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+				while (selectedKeys.hasNext()) {
+					SelectionKey key = selectedKeys.next();
+					selectedKeys.remove();
+					((HealthWaiter) key.attachment()).connectable();
+				}
+				Runnable task;
+				while ((task = tasks.poll()) != null) {
+					task.run();
+				}
+			}
+		} catch (IOException e) {
+			LOG.error("Container watcher failed.", e);
+		} catch (ClosedSelectorException e) {
+			// closed
+		} finally {
+			closed = true;
+			tasks.clear();
+			failRegistering();
+			failAll(new DockerException("Container watcher was closed."));
+		}
+	}
+
+	/**
+	 * Fail the waiters whose registration task will not run anymore. Every waiter is taken off the queue once, either by
+	 * its task or here, so it is failed or registered but not both.
+	 */
+	private void failRegistering() {
+		Waiter waiter;
+		while ((waiter = registering.poll()) != null) {
+			waiter.future().setException(new DockerException("Container watcher was closed."));
+		}
+	}
+
+	/**
+	 * @return milliseconds until the next timer is due, 0 if there is none.
+	 */
+	private long runDueTimers() {
+		while (!timers.isEmpty()) {
+			Timer next = timers.peek();
+			long remaining = next.deadline - System.nanoTime();
+			if (remaining > 0) {
+				return Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining));
+			}
+			timers.poll();
+			if (!next.cancelled) {
+				next.action.run();
+			}
+		}
+		return 0;
+	}
+
+	private void failAll(Throwable cause) {
+		List<Waiter> pending = new ArrayList<Waiter>();
+		for (Collection<Waiter> containerWaiters : waiters.values()) {
+			pending.addAll(containerWaiters);
+		}
+		for (Waiter waiter : pending) {
+			waiter.fail(cause);
+		}
+	}
+
+	private void readEvents() {
+		long since = System.currentTimeMillis() / 1000 - 1;
+		while (!closed) {
+			try {
+				EventStream stream = dockerClient.events(since);
+				eventStream = stream;
+				try {
+					while (!closed && stream.hasNext()) {
+						final Event event = stream.next();
+						since = event.getTime();
+						post(new Runnable() {
+							@Override
+							public void run() {
+								onEvent(event);
+							}
+						});
+					}
+				} finally {
+					stream.close();
+				}
+			} catch (RuntimeException e) {
+				if (!closed) {
+					LOG.warn("Event stream of the docker daemon failed, reconnecting.", e);
+					try {
+						Thread.sleep(RECONNECT_DELAY_MILLIS);
+					} catch (InterruptedException interrupted) {
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	private void onEvent(Event event) {
+		if (event.getId() == null || event.getStatus() == null) {
+			return;
+		}
+		long now = System.nanoTime();
+		String key = key(event.getId());
+		recentEvents.add(new RecentEvent(key, event.getStatus(), now));
+		while (now - recentEvents.peekFirst().received > RECENT_EVENT_RETENTION_NANOS) {
+			recentEvents.pollFirst();
+		}
+		List<Waiter> containerWaiters = waiters.get(key);
+		if (containerWaiters != null) {
+			for (Waiter waiter : new ArrayList<Waiter>(containerWaiters)) {
+				waiter.onEvent(event.getStatus());
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		tasks.clear();
+		failRegistering();
+		EventStream stream = eventStream;
+		if (stream != null) {
+			stream.close();
+		}
+		try {
+			selector.close();
+		} catch (IOException e) {
+			LOG.warn("Failed to close selector.", e);
+		}
+		inspector.shutdownNow();
+	}
+
+	private abstract class Waiter {
+
+		final long deadline;
+
+		String containerId;
+
+		String key;
+
+		Timer deadlineTimer;
+
+		Waiter(long deadline) {
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Called once the waiter is registered and has seen all events since the container was inspected.
+		 */
+		void registered() {
+		}
+
+		abstract SettableFuture<?> future();
+
+		abstract void onEvent(String status);
+
+		abstract void fail(Throwable cause);
+
+		void done() {
+			deadlineTimer.cancelled = true;
+			List<Waiter> containerWaiters = waiters.get(key);
+			if (containerWaiters != null) {
+				containerWaiters.remove(this);
+				if (containerWaiters.isEmpty()) {
+					waiters.remove(key);
+				}
+			}
+		}
+
+	}
+
+	private class StateWaiter extends Waiter {
+
+		final SettableFuture<String> future = new SettableFuture<String>();
+
+		final Set<String> statuses;
+
+		StateWaiter(long deadline, Set<String> statuses) {
+			super(deadline);
+			this.statuses = statuses;
+		}
+
+		@Override
+		SettableFuture<?> future() {
+			return future;
+		}
+
+		@Override
+		void onEvent(String status) {
+			if (statuses.contains(status)) {
+				future.set(containerId);
+				done();
+			} else if ("destroy".equals(status)) {
+				fail(new NotFoundException("Container '" + containerId + "' was removed."));
+			}
+		}
+
+		@Override
+		void fail(Throwable cause) {
+			future.setException(cause);
+			done();
+		}
+
+	}
+
+	private class HealthWaiter extends Waiter {
+
+		final SettableFuture<InetSocketAddress> future = new SettableFuture<InetSocketAddress>();
+
+		final int containerPort;
+
+		InetSocketAddress address;
+
+		SocketChannel channel;
+
+		boolean resolving;
+
+		HealthWaiter(long deadline, int containerPort) {
+			super(deadline);
+			this.containerPort = containerPort;
+		}
+
+		@Override
+		SettableFuture<?> future() {
+			return future;
+		}
+
+		@Override
+		void registered() {
+			if (address != null) {
+				probe();
+			}
+		}
+
+		@Override
+		void onEvent(String status) {
+			if (EXIT_EVENTS.contains(status)) {
+				fail(new DockerException("Container '" + containerId + "' exited before port " + containerPort + " became available."));
+			} else if (RUNNING_EVENTS.contains(status) && address == null && !resolving) {
+				resolve();
+			}
+		}
+
+		private void resolve() {
+			resolving = true;
+			inspector.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						final InetSocketAddress resolved = resolveAddress(dockerClient.inspectContainer(containerId), containerPort);
+						post(new Runnable() {
+							@Override
+							public void run() {
+								address = resolved;
+								probe();
+							}
+						});
+					} catch (final RuntimeException e) {
+						post(new Runnable() {
+							@Override
+							public void run() {
+								fail(e);
+							}
+						});
+					}
+				}
+			});
+		}
+
+		void probe() {
+			if (future.isDone()) {
+				return;
+			}
+			try {
+				channel = SocketChannel.open();
+				channel.configureBlocking(false);
+				if (channel.connect(address)) {
+					succeed();
+				} else {
+					channel.register(selector, SelectionKey.OP_CONNECT, this);
+				}
+			} catch (IOException e) {
+				retry();
+			}
+		}
+
+		void connectable() {
+			try {
+				if (channel.finishConnect()) {
+					succeed();
+				}
+			} catch (IOException e) {
+				retry();
+			}
+		}
+
+		private void retry() {
+			closeChannel();
+			schedule(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PROBE_INTERVAL_MILLIS), new Runnable() {
+				@Override
+				public void run() {
+					probe();
+				}
+			});
+		}
+
+		private void succeed() {
+			closeChannel();
+			future.set(address);
+			done();
+		}
+
+		@Override
+		void fail(Throwable cause) {
+			closeChannel();
+			future.setException(cause);
+			done();
+		}
+
+		private void closeChannel() {
+			if (channel != null) {
+				try {
+					channel.close();
+				} catch (IOException ignore) {
+					// nothing to do
+				}
+				channel = null;
+			}
+		}
+
+	}
+
+	private static class Timer implements Comparable<Timer> {
+
+		final long deadline;
+
+		final Runnable action;
+
+		boolean cancelled;
+
+		Timer(long deadline, Runnable action) {
+			this.deadline = deadline;
+			this.action = action;
+		}
+
+		@Override
+		public int compareTo(Timer other) {
+			long diff = deadline - other.deadline;
+			return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+		}
+
+	}
+
+	private static class RecentEvent {
+
+		final String key;
+
+		final String status;
+
+		final long received;
+
+		RecentEvent(String key, String status, long received) {
+			this.key = key;
+			this.status = status;
+			this.received = received;
+		}
+
+	}
+
+}
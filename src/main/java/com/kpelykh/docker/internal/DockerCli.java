@@ -0,0 +1,135 @@
+package com.kpelykh.docker.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerClientBuilder;
+import com.kpelykh.docker.client.DockerTemplate;
+
+/**
+ * Runs the commands of {@link DockerCommandProvider} from the shell, without an OSGi framework or Spring context. The
+ * client is built on first use, so usage errors exit before any of it is loaded.
+ * <p>
+ * Usage: {@code java -jar docker-spring-<version>-cli.jar [-H url] command [args]}, the cli jar embeds the dependencies.
+ * With the plain bundle jar, put its dependencies on the class path and run
+ * {@code java -cp <jars> com.kpelykh.docker.internal.DockerCli ...} instead.
+ * <p>
+ * The command {@code -} reads one command per line from the standard input and runs them all in the same process, which
+ * saves the JVM start of every command in shell loops.
+ */
+public class DockerCli {
+
+	private static final String USAGE = "Usage: [-H url] (info | version | ps | build <tag> <folder> | create <image> <name>"
+			+ " | start <containerId> <hostPort> <containerPort> | -)";
+
+	private final String url;
+
+	private final PrintStream err;
+
+	private DockerTemplate dockerTemplate;
+
+	private DockerCommandProvider commands;
+
+	DockerCli(String url, PrintStream err) {
+		this.url = url;
+		this.err = err;
+	}
+
+	public static void main(String[] args) {
+		System.exit(run(args));
+	}
+
+	/**
+	 * @return the exit code, 0 if all commands succeeded.
+	 */
+	public static int run(String... args) {
+		List<String> arguments = new ArrayList<String>(Arrays.asList(args));
+		String url = null;
+		if (arguments.size() >= 2 && "-H".equals(arguments.get(0))) {
+			url = arguments.get(1);
+			arguments = arguments.subList(2, arguments.size());
+		}
+		if (arguments.isEmpty()) {
+			System.err.println(USAGE);
+			return 2;
+		}
+		DockerCli cli = new DockerCli(url, System.err);
+		try {
+			if (arguments.size() == 1 && "-".equals(arguments.get(0))) {
+				return cli.runLines(new BufferedReader(new InputStreamReader(System.in)));
+			}
+			return cli.execute(arguments);
+		} finally {
+			cli.close();
+		}
+	}
+
+	private int runLines(BufferedReader in) {
+		int exitCode = 0;
+		try {
+			String line;
+			while ((line = in.readLine()) != null) {
+				line = line.trim();
+				if (!line.isEmpty()) {
+					exitCode = Math.max(exitCode, execute(Arrays.asList(line.split("\\s+"))));
+				}
+			}
+		} catch (IOException e) {
+			err.println("Failed to read commands: " + e.getMessage());
+			return 1;
+		}
+		return exitCode;
+	}
+
+	int execute(List<String> arguments) {
+		String command = arguments.get(0);
+		List<String> parameters = arguments.subList(1, arguments.size());
+		try {
+			if ("info".equals(command) && parameters.isEmpty()) {
+				commands().info();
+			} else if ("version".equals(command) && parameters.isEmpty()) {
+				commands().version();
+			} else if ("ps".equals(command) && parameters.isEmpty()) {
+				commands().ps();
+			} else if ("build".equals(command) && parameters.size() == 2) {
+				commands().build(parameters.get(0), parameters.get(1));
+			} else if ("create".equals(command) && parameters.size() == 2) {
+				commands().create(parameters.get(0), parameters.get(1));
+			} else if ("start".equals(command) && parameters.size() == 3) {
+				commands().start(parameters.get(0), Integer.parseInt(parameters.get(1)), Integer.parseInt(parameters.get(2)));
+			} else {
+				err.println(USAGE);
+				return 2;
+			}
+			return 0;
+		} catch (NumberFormatException e) {
+			err.println("Invalid port: " + e.getMessage());
+			return 2;
+		} catch (RuntimeException e) {
+			err.println(command + " failed: " + e.getMessage());
+			return 1;
+		}
+	}
+
+	private DockerCommandProvider commands() {
+		if (commands == null) {
+			DockerClient dockerClient = (url == null ? DockerClientBuilder.fromConfig() : DockerClientBuilder.forUrl(url)).build();
+			dockerTemplate = new DockerTemplate(dockerClient);
+			commands = new DockerCommandProvider(dockerClient, dockerTemplate);
+		}
+		return commands;
+	}
+
+	void close() {
+		if (dockerTemplate != null) {
+			dockerTemplate.close();
+		}
+	}
+
+}
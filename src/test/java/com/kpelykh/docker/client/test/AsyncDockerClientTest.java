@@ -0,0 +1,85 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.kpelykh.docker.client.NotFoundException;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.ContainerInspectResponse;
+import com.kpelykh.docker.client.nio.AsyncDockerClient;
+import com.kpelykh.docker.client.nio.DaemonAddress;
+import com.kpelykh.docker.client.nio.HttpEngine;
+
+public class AsyncDockerClientTest extends AbstractDockerClientTest {
+
+	private static final int MAX_CONNECTIONS = 2;
+
+	private AsyncDockerClient asyncClient;
+
+	@Before
+	public void setUpAsyncClient() {
+		asyncClient = new AsyncDockerClient(new HttpEngine(DaemonAddress.parse(dockerClient.getDockerDeamonUrl()), MAX_CONNECTIONS));
+	}
+
+	@After
+	public void shutdownAsyncClient() {
+		asyncClient.shutdown();
+	}
+
+	@Test
+	public void shouldRunContainerLifecycle() throws Exception {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "sleep", "60" });
+		String containerId = asyncClient.createContainer(containerConfig, null).get(10, TimeUnit.SECONDS).getId();
+		tmpContainers.add(containerId);
+
+		asyncClient.startContainer(containerId, null).get(10, TimeUnit.SECONDS);
+		ContainerInspectResponse inspect = asyncClient.inspectContainer(containerId).get(10, TimeUnit.SECONDS);
+		assertThat(inspect.getState().running, is(true));
+
+		asyncClient.kill(containerId).get(10, TimeUnit.SECONDS);
+		assertThat(asyncClient.waitContainer(containerId).get(10, TimeUnit.SECONDS).getStatusCode(), is(equalTo(137)));
+	}
+
+	@Test
+	public void shouldFailWithNotFound() throws Exception {
+		try {
+			asyncClient.inspectContainer(UUID.randomUUID().toString()).get(10, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			assertThat(e.getCause(), is(instanceOf(NotFoundException.class)));
+			return;
+		}
+		throw new AssertionError("Inspecting a missing container did not fail.");
+	}
+
+	@Test
+	public void shouldReuseConnections() throws Exception {
+		List<Future<Void>> pings = new ArrayList<Future<Void>>();
+		for (int i = 0; i < 200; i++) {
+			pings.add(asyncClient.ping());
+		}
+		for (Future<Void> ping : pings) {
+			ping.get(10, TimeUnit.SECONDS);
+		}
+
+		HttpEngine engine = asyncClient.getEngine();
+		assertThat(engine.getRequests(), is(equalTo(200L)));
+		assertThat(engine.getConnects(), is(lessThanOrEqualTo((long) MAX_CONNECTIONS)));
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.EventStream;
+import com.kpelykh.docker.client.lanes.ConnectionLanes;
+
+public class ConnectionLanesTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldServeControlCallsWhileStreamLaneIsFull() {
+		ConnectionLanes lanes = new ConnectionLanes(2, 1);
+		DockerClient lanedClient = new DockerClient(dockerClient.getDockerDeamonUrl());
+		lanedClient.setConnectionLanes(lanes);
+		try {
+			EventStream events = lanedClient.events(System.currentTimeMillis() / 1000);
+			try {
+				assertThat(lanes.getStreamLane().getLeased(), is(equalTo(1)));
+				for (int i = 0; i < 10; i++) {
+					lanedClient.listContainers(true);
+				}
+				assertThat(lanes.getControlLane().getRequests(), is(greaterThanOrEqualTo(10L)));
+				assertThat(lanes.getControlLane().getLeased(), is(equalTo(0)));
+			} finally {
+				events.close();
+			}
+			assertThat(lanes.getStreamLane().getLeased(), is(equalTo(0)));
+		} finally {
+			lanes.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.kpelykh.docker.client.batch.ContainerBatch;
+import com.kpelykh.docker.client.batch.ContainerBatchResult;
+import com.kpelykh.docker.client.batch.ContainerSpec;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.HostConfig;
+
+public class ContainerBatchTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldStartAllContainers() throws Exception {
+		List<ContainerSpec> specs = new ArrayList<ContainerSpec>();
+		for (int i = 0; i < 5; i++) {
+			specs.add(new ContainerSpec(sleepingBusybox(), new HostConfig()));
+		}
+
+		List<ContainerBatchResult> results = new ContainerBatch(dockerClient, 3).createAndStart(specs);
+
+		assertThat(results.size(), is(5));
+		for (ContainerBatchResult result : results) {
+			tmpContainers.add(result.getContainerId());
+			assertThat(result.isStarted(), is(true));
+			assertThat(dockerClient.inspectContainer(result.getContainerId()).getState().running, is(true));
+		}
+	}
+
+	@Test
+	public void shouldStartLinkedContainerAfterItsLink() throws Exception {
+		String dbName = "batch-db-" + System.currentTimeMillis();
+		HostConfig webHostConfig = new HostConfig();
+		webHostConfig.setLinks(new String[] { dbName + ":db" });
+		List<ContainerSpec> specs = new ArrayList<ContainerSpec>();
+		specs.add(new ContainerSpec("batch-web-" + System.currentTimeMillis(), sleepingBusybox(), webHostConfig));
+		specs.add(new ContainerSpec(dbName, sleepingBusybox(), new HostConfig()));
+
+		List<ContainerBatchResult> results = new ContainerBatch(dockerClient, 2).createAndStart(specs);
+
+		for (ContainerBatchResult result : results) {
+			tmpContainers.add(result.getContainerId());
+			assertThat(result.isStarted(), is(true));
+		}
+	}
+
+	@Test
+	public void shouldFailDependentsOfFailedContainer() throws Exception {
+		ContainerConfig broken = new ContainerConfig();
+		broken.setImage("does_not_exist");
+		String brokenName = "batch-broken-" + System.currentTimeMillis();
+		HostConfig hostConfig = new HostConfig();
+		hostConfig.setLinks(new String[] { brokenName + ":broken" });
+		List<ContainerSpec> specs = new ArrayList<ContainerSpec>();
+		specs.add(new ContainerSpec(brokenName, broken, new HostConfig()));
+		specs.add(new ContainerSpec("batch-dependent-" + System.currentTimeMillis(), sleepingBusybox(), hostConfig));
+
+		List<ContainerBatchResult> results = new ContainerBatch(dockerClient, 2).createAndStart(specs);
+
+		assertThat(results.get(0).getError(), is(notNullValue()));
+		assertThat(results.get(1).getContainerId(), is(nullValue()));
+		assertThat(results.get(1).getError().getMessage(), containsString(brokenName));
+	}
+
+	private ContainerConfig sleepingBusybox() {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "sleep", "9999" });
+		return containerConfig;
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.HostConfig;
+import com.kpelykh.docker.client.pool.ContainerPool;
+import com.kpelykh.docker.client.pool.ContainerPoolManager;
+import com.kpelykh.docker.client.pool.PooledContainer;
+import com.kpelykh.docker.client.pool.WarmMode;
+
+public class ContainerPoolTest extends AbstractDockerClientTest {
+
+	private ContainerPoolManager poolManager;
+
+	@After
+	public void shutdownPools() {
+		if (poolManager != null) {
+			poolManager.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldHandOutStartedContainer() throws Exception {
+		poolManager = new ContainerPoolManager(dockerClient);
+		poolManager.createPool("busybox", sleepingBusybox(), new HostConfig(), 2, WarmMode.CREATED);
+
+		PooledContainer container = poolManager.acquire("busybox", 30, TimeUnit.SECONDS);
+
+		assertThat(dockerClient.inspectContainer(container.getId()).getState().running, is(true));
+		container.destroy();
+	}
+
+	@Test
+	public void shouldHandOutUnpausedContainer() throws Exception {
+		poolManager = new ContainerPoolManager(dockerClient);
+		poolManager.createPool("busybox", sleepingBusybox(), new HostConfig(), 1, WarmMode.PAUSED);
+
+		PooledContainer container = poolManager.acquire("busybox", 30, TimeUnit.SECONDS);
+
+		assertThat(dockerClient.inspectContainer(container.getId()).getState().paused, is(false));
+		container.destroy();
+	}
+
+	@Test
+	public void shouldRecycleReleasedContainer() throws Exception {
+		poolManager = new ContainerPoolManager(dockerClient);
+		ContainerPool pool = poolManager.createPool("busybox", sleepingBusybox(), new HostConfig(), 1, WarmMode.PAUSED);
+
+		PooledContainer container = pool.acquire(30, TimeUnit.SECONDS);
+		container.release();
+
+		assertThat(dockerClient.inspectContainer(container.getId()).getState().paused, is(true));
+		assertThat(pool.getMetrics().getInUse(), is(equalTo(0)));
+		assertThat(pool.getMetrics().getAcquired(), is(equalTo(1L)));
+	}
+
+	@Test(expected = DockerException.class)
+	public void shouldTimeOutWhenNoContainerBecomesAvailable() throws Exception {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("does_not_exist");
+		poolManager = new ContainerPoolManager(dockerClient);
+		poolManager.createPool("broken", containerConfig, new HostConfig(), 1, WarmMode.CREATED);
+
+		poolManager.acquire("broken", 1, TimeUnit.SECONDS);
+	}
+
+	private ContainerConfig sleepingBusybox() {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "sleep", "9999" });
+		return containerConfig;
+	}
+
+}
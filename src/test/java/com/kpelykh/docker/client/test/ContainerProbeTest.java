@@ -0,0 +1,61 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.kpelykh.docker.client.ContainerStatus;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.NotFoundException;
+import com.kpelykh.docker.client.model.ContainerConfig;
+
+public class ContainerProbeTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldProbeMissingContainerWithoutException() {
+		String name = UUID.randomUUID().toString();
+
+		assertThat(dockerClient.containerExists(name), is(false));
+		assertThat(dockerClient.probeContainer(name), is(equalTo(ContainerStatus.ABSENT)));
+	}
+
+	@Test
+	public void shouldProbeContainerState() {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "sleep", "60" });
+		String containerId = dockerClient.createContainer(containerConfig).getId();
+		tmpContainers.add(containerId);
+
+		assertThat(dockerClient.containerExists(containerId), is(true));
+		assertThat(dockerClient.probeContainer(containerId), is(equalTo(ContainerStatus.STOPPED)));
+
+		dockerClient.startContainer(containerId);
+		assertThat(dockerClient.probeContainer(containerId), is(equalTo(ContainerStatus.RUNNING)));
+
+		dockerClient.pauseContainer(containerId);
+		assertThat(dockerClient.probeContainer(containerId), is(equalTo(ContainerStatus.PAUSED)));
+
+		dockerClient.unpauseContainer(containerId);
+		dockerClient.kill(containerId);
+		assertThat(dockerClient.probeContainer(containerId), is(equalTo(ContainerStatus.STOPPED)));
+	}
+
+	@Test
+	public void shouldThrowStacklessNotFound() {
+		DockerClient stacklessClient = new DockerClient(dockerClient.getDockerDeamonUrl());
+		stacklessClient.setStacklessNotFound(true);
+		try {
+			stacklessClient.inspectContainer(UUID.randomUUID().toString());
+		} catch (NotFoundException e) {
+			assertThat(e.getStackTrace().length, is(equalTo(0)));
+			return;
+		}
+		throw new AssertionError("Inspecting a missing container did not fail.");
+	}
+
+}
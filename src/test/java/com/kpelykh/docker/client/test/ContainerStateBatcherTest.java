@@ -0,0 +1,69 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.kpelykh.docker.client.ContainerStatus;
+import com.kpelykh.docker.client.coalesce.ContainerStateBatcher;
+import com.kpelykh.docker.client.model.ContainerConfig;
+
+public class ContainerStateBatcherTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldAnswerConcurrentQueriesFromOneList() throws Exception {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "sleep", "60" });
+		final String runningId = dockerClient.createContainer(containerConfig).getId();
+		tmpContainers.add(runningId);
+		dockerClient.startContainer(runningId);
+		final String name = "batched-" + UUID.randomUUID().toString().substring(0, 8);
+		tmpContainers.add(dockerClient.createContainer(containerConfig, name).getId());
+
+		final ContainerStateBatcher batcher = new ContainerStateBatcher(dockerClient, 50, TimeUnit.MILLISECONDS);
+		ExecutorService executor = Executors.newFixedThreadPool(30);
+		List<Future<ContainerStatus>> running = new ArrayList<Future<ContainerStatus>>();
+		List<Future<ContainerStatus>> created = new ArrayList<Future<ContainerStatus>>();
+		try {
+			for (int i = 0; i < 30; i++) {
+				running.add(executor.submit(new Callable<ContainerStatus>() {
+					@Override
+					public ContainerStatus call() {
+						return batcher.probeContainer(runningId.substring(0, 12));
+					}
+				}));
+				created.add(executor.submit(new Callable<ContainerStatus>() {
+					@Override
+					public ContainerStatus call() {
+						return batcher.probeContainer(name);
+					}
+				}));
+			}
+			for (Future<ContainerStatus> status : running) {
+				assertThat(status.get(30, TimeUnit.SECONDS), is(equalTo(ContainerStatus.RUNNING)));
+			}
+			for (Future<ContainerStatus> status : created) {
+				assertThat(status.get(30, TimeUnit.SECONDS), is(equalTo(ContainerStatus.STOPPED)));
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertThat(batcher.getQueries(), is(equalTo(60L)));
+		assertThat(batcher.getListRequests(), is(lessThan(10L)));
+		assertThat(batcher.probeContainer(UUID.randomUUID().toString()), is(equalTo(ContainerStatus.ABSENT)));
+	}
+
+}
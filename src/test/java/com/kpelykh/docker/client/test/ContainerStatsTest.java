@@ -0,0 +1,106 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.stats.ContainerStats;
+import com.kpelykh.docker.client.stats.Metric;
+import com.kpelykh.docker.client.stats.ResourceSampler;
+import com.kpelykh.docker.client.stats.StatsListener;
+import com.kpelykh.docker.client.stats.StatsMonitor;
+import com.kpelykh.docker.client.stats.StatsSubscription;
+import com.kpelykh.docker.client.stats.TimeSeries;
+
+public class ContainerStatsTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldStreamStatsOfContainer() throws Exception {
+		String containerId = startSleepingBusybox();
+		final CountDownLatch samples = new CountDownLatch(2);
+		final AtomicLong memoryUsage = new AtomicLong();
+
+		StatsSubscription subscription = dockerClient.stats(containerId, new StatsListener() {
+			@Override
+			public void onStats(String containerId, ContainerStats stats) {
+				memoryUsage.set(stats.getMemoryUsage());
+				samples.countDown();
+			}
+
+			@Override
+			public void onClosed(String containerId, Throwable cause) {
+			}
+		});
+		try {
+			assertThat(samples.await(10, TimeUnit.SECONDS), is(true));
+			assertThat(memoryUsage.get(), is(greaterThan(0L)));
+		} finally {
+			subscription.close();
+		}
+	}
+
+	@Test
+	public void shouldStreamStatsOfManyContainers() throws Exception {
+		final CountDownLatch containers = new CountDownLatch(3);
+		final Set<String> sampled = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		StatsMonitor monitor = new StatsMonitor(dockerClient, new StatsListener() {
+			@Override
+			public void onStats(String containerId, ContainerStats stats) {
+				if (sampled.add(containerId)) {
+					containers.countDown();
+				}
+			}
+
+			@Override
+			public void onClosed(String containerId, Throwable cause) {
+			}
+		});
+		String[] containerIds = new String[3];
+		for (int i = 0; i < containerIds.length; i++) {
+			containerIds[i] = startSleepingBusybox();
+			monitor.subscribe(containerIds[i]);
+		}
+		try {
+			assertThat(containers.await(10, TimeUnit.SECONDS), is(true));
+		} finally {
+			monitor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldSampleRunningContainers() throws Exception {
+		String containerId = startSleepingBusybox();
+		ResourceSampler sampler = new ResourceSampler(dockerClient, 1, TimeUnit.MINUTES, Metric.MEMORY_USAGE);
+		sampler.start(1, TimeUnit.SECONDS);
+		try {
+			Thread.sleep(5000);
+			TimeSeries series = sampler.getSeries(containerId);
+			assertThat(series.capacity(), is(60));
+			assertThat(series.size(), is(greaterThan(1)));
+			assertThat(series.max(Metric.MEMORY_USAGE, 1, TimeUnit.MINUTES), is(greaterThan(0d)));
+		} finally {
+			sampler.shutdown();
+		}
+	}
+
+	private String startSleepingBusybox() {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "sleep", "9999" });
+		String containerId = dockerClient.createContainer(containerConfig).getId();
+		tmpContainers.add(containerId);
+		dockerClient.startContainer(containerId);
+		return containerId;
+	}
+
+}
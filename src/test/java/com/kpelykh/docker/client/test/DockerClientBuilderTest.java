@@ -0,0 +1,45 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import org.junit.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerClientBuilder;
+import com.kpelykh.docker.client.lanes.ConnectionLanes;
+import com.kpelykh.docker.client.model.Version;
+import com.kpelykh.docker.internal.DockerCli;
+
+public class DockerClientBuilderTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldBuildWorkingClient() {
+		DockerClient builtClient = DockerClientBuilder.forUrl(dockerClient.getDockerDeamonUrl()).withWarmUp(1).build();
+
+		assertThat(builtClient.isReady(), is(true));
+		Version version = builtClient.version();
+		assertThat(version.getVersion(), is(notNullValue()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void shouldRejectTwoTransports() {
+		ConnectionLanes lanes = new ConnectionLanes(2, 1);
+		try {
+			DockerClientBuilder.forUrl(dockerClient.getDockerDeamonUrl()).withConnectionLanes(lanes)
+					.withRequestFactory(new SimpleClientHttpRequestFactory()).build();
+		} finally {
+			lanes.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldRunCommandLine() {
+		assertThat(DockerCli.run("-H", dockerClient.getDockerDeamonUrl(), "version"), is(0));
+		assertThat(DockerCli.run("-H", dockerClient.getDockerDeamonUrl(), "start", "abc"), is(2));
+		assertThat(DockerCli.run(), is(2));
+	}
+
+}
@@ -0,0 +1,175 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.NotFoundException;
+import com.kpelykh.docker.client.cluster.DockerCluster;
+import com.kpelykh.docker.client.cluster.DockerHost;
+import com.kpelykh.docker.client.cluster.FleetIterator;
+import com.kpelykh.docker.client.cluster.HostItem;
+import com.kpelykh.docker.client.cluster.HostQuery;
+import com.kpelykh.docker.client.cluster.ImageLocalityPlacementStrategy;
+import com.kpelykh.docker.client.cluster.RoundRobinPlacementStrategy;
+import com.kpelykh.docker.client.cluster.ScatterGather;
+import com.kpelykh.docker.client.model.Container;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.ContainerCreateResponse;
+
+public class DockerClusterTest {
+
+	// both hosts point to the local daemon, the cluster can't tell the difference
+	private DockerCluster uut = new DockerCluster(Arrays.asList(new DockerClient(), new DockerClient()));
+
+	@After
+	public void shutdown() {
+		uut.shutdown();
+	}
+
+	@Test
+	public void shouldPlaceContainersRoundRobin() {
+		List<DockerHost> hosts = uut.getHosts();
+		RoundRobinPlacementStrategy strategy = new RoundRobinPlacementStrategy();
+
+		assertThat(strategy.select(hosts, null), is(sameInstance(hosts.get(0))));
+		assertThat(strategy.select(hosts, null), is(sameInstance(hosts.get(1))));
+		assertThat(strategy.select(hosts, null), is(sameInstance(hosts.get(0))));
+	}
+
+	@Test
+	public void shouldRouteFollowUpOperationsToOwningHost() {
+		uut.checkHealth();
+		uut.setPlacementStrategy(new RoundRobinPlacementStrategy());
+
+		ContainerCreateResponse first = uut.createContainer(busybox());
+		ContainerCreateResponse second = uut.createContainer(busybox());
+
+		DockerHost firstOwner = uut.getOwner(first.getId());
+		DockerHost secondOwner = uut.getOwner(second.getId());
+		assertThat(firstOwner, is(not(sameInstance(secondOwner))));
+		assertThat(uut.inspectContainer(first.getId()).getId(), is(equalTo(first.getId())));
+
+		uut.removeContainer(first.getId());
+		uut.removeContainer(second.getId());
+	}
+
+	@Test
+	public void shouldRouteByContainerName() {
+		uut.checkHealth();
+		String containerName = UUID.randomUUID().toString();
+
+		ContainerCreateResponse container = uut.createContainer(busybox(), containerName);
+
+		assertThat(uut.getOwner(containerName), is(sameInstance(uut.getOwner(container.getId()))));
+
+		uut.removeContainer(containerName);
+	}
+
+	@Test(expected = NotFoundException.class)
+	public void shouldNotFindUnknownContainer() {
+		uut.checkHealth();
+
+		uut.getOwner(UUID.randomUUID().toString());
+	}
+
+	@Test
+	public void shouldFailOverWhenHostIsUnreachable() {
+		DockerCluster cluster = new DockerCluster(Arrays.asList(new DockerClient("http://localhost:1"), new DockerClient()));
+		try {
+			cluster.setPlacementStrategy(new ImageLocalityPlacementStrategy(new RoundRobinPlacementStrategy()));
+			DockerHost unreachable = cluster.getHosts().get(0);
+
+			ContainerCreateResponse container = cluster.createContainer(busybox());
+
+			assertThat(unreachable.isHealthy(), is(false));
+			assertThat(cluster.getOwner(container.getId()), is(sameInstance(cluster.getHosts().get(1))));
+			cluster.removeContainer(container.getId());
+		} finally {
+			cluster.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldSkipUnreachableHostWhenLookingUpOwner() {
+		ContainerCreateResponse container = new DockerClient().createContainer(busybox());
+		DockerCluster cluster = new DockerCluster(Arrays.asList(new DockerClient("http://localhost:1"), new DockerClient()));
+		try {
+			assertThat(cluster.getOwner(container.getId().substring(0, 12)), is(sameInstance(cluster.getHosts().get(1))));
+			assertThat(cluster.getHosts().get(0).isHealthy(), is(false));
+
+			cluster.removeContainer(container.getId().substring(0, 12));
+		} finally {
+			cluster.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldListContainersOfAllHosts() {
+		uut.checkHealth();
+		ContainerCreateResponse container = uut.createContainer(busybox());
+
+		FleetIterator<Container> containers = uut.listContainers(true);
+		int found = 0;
+		while (containers.hasNext()) {
+			HostItem<Container> next = containers.next();
+			if (next.getItem().getId().startsWith(container.getId())) {
+				found++;
+			}
+		}
+
+		// both hosts are the same daemon
+		assertThat(found, is(equalTo(2)));
+		assertThat(containers.isPartial(), is(false));
+
+		uut.removeContainer(container.getId());
+	}
+
+	@Test
+	public void shouldReturnPartialResultWhenHostIsSlow() {
+		final List<DockerHost> hosts = uut.getHosts();
+		ScatterGather scatterGather = new ScatterGather(Executors.newCachedThreadPool());
+		scatterGather.setTimeoutMillis(200);
+
+		FleetIterator<String> result = scatterGather.query(hosts, new HostQuery<String>() {
+			@Override
+			public List<String> execute(DockerClient dockerClient) {
+				if (dockerClient == hosts.get(1).getDockerClient()) {
+					try {
+						Thread.sleep(5000);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return Collections.singletonList("item");
+			}
+		});
+
+		List<HostItem<String>> items = result.toList();
+		assertThat(items.size(), is(equalTo(1)));
+		assertThat(items.get(0).getHost(), is(sameInstance(hosts.get(0))));
+		assertThat(result.getTimedOutHosts(), is(equalTo(Collections.singletonList(hosts.get(1)))));
+		assertThat(result.isPartial(), is(true));
+		assertThat(hosts.get(1).isHealthy(), is(false));
+	}
+
+	private ContainerConfig busybox() {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "true" });
+		return containerConfig;
+	}
+
+}
@@ -22,6 +22,7 @@ import org.hamcrest.Matcher;
 import org.junit.Test;
 
 import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.JsonArrayStream;
 import com.kpelykh.docker.client.NotFoundException;
 import com.kpelykh.docker.client.model.ChangeLog;
 import com.kpelykh.docker.client.model.Container;
@@ -62,6 +63,27 @@ public class DockerContainersEndpointsTest extends AbstractDockerClientTest {
 		assertThat(container2.getImage(), startsWith("busybox"));
 	}
 
+	@Test
+	public void shouldStreamContainers() throws DockerException {
+		ContainerCreateResponse busyboxContainer = createBusybox("echo");
+
+		int listed = dockerClient.listContainers(true).size();
+		int streamed = 0;
+		boolean found = false;
+		JsonArrayStream<Container> containers = dockerClient.streamContainers(true);
+		try {
+			while (containers.hasNext()) {
+				Container container = containers.next();
+				found |= container.getId().startsWith(busyboxContainer.getId());
+				streamed++;
+			}
+		} finally {
+			containers.close();
+		}
+		assertThat(streamed, is(equalTo(listed)));
+		assertThat(found, is(true));
+	}
+
 	@Test
 	public void shouldBeAbleToCreateNewContainerForExistingImage() throws DockerException {
 
@@ -21,6 +21,7 @@ import org.hamcrest.Matcher;
 import org.junit.Test;
 
 import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.JsonArrayStream;
 import com.kpelykh.docker.client.NotFoundException;
 import com.kpelykh.docker.client.model.CommitConfig;
 import com.kpelykh.docker.client.model.ContainerCreateResponse;
@@ -42,6 +43,21 @@ public class DockerImagesEndpointsTest extends AbstractDockerClientTest {
 		assertThat(images.size(), equalTo(info.getImages()));
 	}
 
+	@Test
+	public void shouldStreamImages() throws DockerException {
+		int streamed = 0;
+		JsonArrayStream<Image> images = dockerClient.streamImages(null, true);
+		try {
+			while (images.hasNext()) {
+				assertThat(images.next().getId(), not(isEmptyString()));
+				streamed++;
+			}
+		} finally {
+			images.close();
+		}
+		assertThat(streamed, equalTo(dockerClient.getImages(true).size()));
+	}
+
 	@Test
 	public void shouldBeAbleToFindAndReadFirstImage() throws DockerException {
 		List<Image> images = dockerClient.getImages(true);
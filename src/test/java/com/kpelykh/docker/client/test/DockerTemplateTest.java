@@ -1,6 +1,7 @@
 package com.kpelykh.docker.client.test;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.UUID;
@@ -70,4 +71,37 @@ public class DockerTemplateTest {
 		uut.remove(containerName);
 	}
 
+	@Test
+	public void shouldAwaitRunningAndExitedContainer() throws Exception {
+		String containerId = uut.createContainer(IMAGE_NAME, null, 8080);
+		uut.start(containerId, 18093, 8080);
+
+		assertTrue(uut.awaitRunning(containerId, 10000));
+
+		uut.stop(containerId);
+		assertNotNull(uut.awaitExit(containerId, 30000));
+
+		uut.remove(containerId);
+	}
+
+	@Test
+	public void shouldTimeOutAwaitingContainerWhichIsNotStarted() throws Exception {
+		String containerId = uut.createContainer(IMAGE_NAME, null, 8080);
+
+		assertFalse(uut.awaitRunning(containerId, 500));
+
+		uut.remove(containerId);
+	}
+
+	@Test
+	public void shouldAwaitHealthyContainer() throws Exception {
+		String containerId = uut.createContainer(IMAGE_NAME, null, 8080);
+		uut.start(containerId, 18094, 8080);
+
+		assertTrue(uut.awaitHealthy(containerId, 8080, 60000));
+
+		uut.stop(containerId);
+		uut.remove(containerId);
+	}
+
 }
@@ -0,0 +1,103 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.EventStream;
+import com.kpelykh.docker.client.endpoint.EndpointTransport;
+
+public class EndpointTransportTest extends AbstractDockerClientTest {
+
+	private EndpointTransport endpointTransport;
+
+	private DockerClient switchingClient;
+
+	private String otherUrl;
+
+	@Before
+	public void setUpTransport() {
+		endpointTransport = new EndpointTransport();
+		switchingClient = new DockerClient(dockerClient.getDockerDeamonUrl());
+		switchingClient.setEndpointTransport(endpointTransport);
+		// the same daemon under another authority, which counts as another endpoint
+		URI url = URI.create(dockerClient.getDockerDeamonUrl());
+		String otherHost = "localhost".equals(url.getHost()) ? "127.0.0.1" : "localhost";
+		otherUrl = url.getScheme() + "://" + otherHost + ":" + url.getPort();
+	}
+
+	@After
+	public void shutdownTransport() {
+		endpointTransport.shutdown();
+	}
+
+	@Test
+	public void shouldDrainStreamOfPreviousUrl() {
+		EventStream events = switchingClient.events(System.currentTimeMillis() / 1000);
+		try {
+			switchingClient.setDockerDeamonUrl(otherUrl);
+			assertThat(endpointTransport.getDaemonUrl(), is(equalTo(otherUrl)));
+			assertThat(endpointTransport.getDrainingEndpoints(), is(equalTo(1)));
+
+			switchingClient.listContainers(true);
+			assertThat(endpointTransport.getPool().getControlLane().getRequests(), is(equalTo(1L)));
+		} finally {
+			events.close();
+		}
+		assertThat(endpointTransport.getDrainingEndpoints(), is(equalTo(0)));
+	}
+
+	@Test
+	public void shouldClosePreviousPoolAtDeadline() throws Exception {
+		endpointTransport.setDrainTimeout(200, TimeUnit.MILLISECONDS);
+		EventStream events = switchingClient.events(System.currentTimeMillis() / 1000);
+		try {
+			switchingClient.setDockerDeamonUrl(otherUrl);
+			assertThat(endpointTransport.getDrainingEndpoints(), is(equalTo(1)));
+
+			Thread.sleep(1000);
+			assertThat(endpointTransport.getDrainingEndpoints(), is(equalTo(0)));
+		} finally {
+			events.close();
+		}
+	}
+
+	@Test
+	public void shouldCloseIdlePoolRightAway() {
+		switchingClient.ping();
+		switchingClient.setDockerDeamonUrl(otherUrl);
+
+		assertThat(endpointTransport.getDrainingEndpoints(), is(equalTo(0)));
+		assertThat(switchingClient.ping(), is(equalTo(200)));
+	}
+
+	@Test
+	public void shouldSendRequestOfClosedUrlToCurrentUrl() throws Exception {
+		String previousUrl = switchingClient.getDockerDeamonUrl();
+		switchingClient.setDockerDeamonUrl(otherUrl);
+		assertThat(endpointTransport.getDrainingEndpoints(), is(equalTo(0)));
+
+		// a call which read the previous URL right before the switch
+		ClientHttpRequest request = endpointTransport.createRequest(URI.create(previousUrl + "/_ping"), HttpMethod.GET);
+		URI sentTo = request.getURI();
+		assertThat(sentTo.getScheme() + "://" + sentTo.getRawAuthority(), is(equalTo(otherUrl)));
+		ClientHttpResponse response = request.execute();
+		try {
+			assertThat(response.getRawStatusCode(), is(equalTo(200)));
+		} finally {
+			response.close();
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.projection.FieldProjection;
+import com.kpelykh.docker.client.projection.ProjectedFields;
+
+public class FieldProjectionTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldReadSelectedFieldsOnly() {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "sleep", "60" });
+		String containerId = dockerClient.createContainer(containerConfig).getId();
+		tmpContainers.add(containerId);
+		dockerClient.startContainer(containerId);
+
+		ProjectedFields container = dockerClient.inspectContainer(containerId,
+				FieldProjection.of("Id", "State.Running", "Config.Image"));
+		assertThat(container.getString("Id"), is(equalTo(containerId)));
+		assertThat(container.getBoolean("State.Running"), is(true));
+		assertThat(container.getString("Config.Image"), is(equalTo("busybox")));
+		assertThat(container.contains("HostConfig"), is(false));
+		assertThat(container.asMap().size(), is(equalTo(3)));
+
+		dockerClient.kill(containerId);
+		container = dockerClient.inspectContainer(containerId, FieldProjection.of("State.Running"));
+		assertThat(container.getBoolean("State.Running"), is(false));
+	}
+
+	@Test
+	public void shouldReadSelectedFieldsOfListedContainers() {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "true" });
+		String containerId = dockerClient.createContainer(containerConfig).getId();
+		tmpContainers.add(containerId);
+
+		List<ProjectedFields> containers = dockerClient.listContainers(true, FieldProjection.of("Id", "Names"));
+		boolean found = false;
+		for (ProjectedFields container : containers) {
+			if (container.getString("Id").equals(containerId)) {
+				found = true;
+				assertThat(container.getStrings("Names").size(), is(equalTo(1)));
+			}
+		}
+		assertThat(found, is(true));
+	}
+
+}
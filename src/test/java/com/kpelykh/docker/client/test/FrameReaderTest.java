@@ -0,0 +1,56 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.kpelykh.docker.client.model.LogFrame;
+import com.kpelykh.docker.client.model.LogFrame.StreamType;
+import com.kpelykh.docker.client.utils.FrameReader;
+
+public class FrameReaderTest {
+
+	@Test
+	public void shouldReadFrames() throws IOException {
+		FrameReader reader = reader(1, 0, 0, 0, 0, 0, 0, 2, 'h', 'i', 2, 0, 0, 0, 0, 0, 0, 1, '!');
+
+		LogFrame stdout = reader.next();
+		assertThat(stdout.getStreamType(), is(StreamType.STDOUT));
+		assertThat(stdout.getText(), is(equalTo("hi")));
+		assertThat(reader.next().getStreamType(), is(StreamType.STDERR));
+		assertThat(reader.next(), is(nullValue()));
+	}
+
+	@Test(expected = IOException.class)
+	public void shouldRejectUnknownStreamType() throws IOException {
+		FrameReader reader = reader(1, 0, 0, 0, 0, 0, 0, 1, 'a', 7, 0, 0, 0, 0, 0, 0, 1, 'b');
+
+		reader.next();
+		reader.next();
+	}
+
+	@Test(expected = IOException.class)
+	public void shouldRejectOversizedFrame() throws IOException {
+		reader(1, 0, 0, 0, 0x7f, 0xff, 0xff, 0xff).next();
+	}
+
+	@Test(expected = IOException.class)
+	public void shouldRejectNegativeLength() throws IOException {
+		reader(1, 0, 0, 0, 0xff, 0xff, 0xff, 0xff).next();
+	}
+
+	private static FrameReader reader(int... bytes) {
+		byte[] data = new byte[bytes.length];
+		for (int i = 0; i < bytes.length; i++) {
+			data[i] = (byte) bytes[i];
+		}
+		return new FrameReader(new ByteArrayInputStream(data));
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.hedge.HedgingClientHttpRequestFactory;
+import com.kpelykh.docker.client.hedge.LatencyTracker;
+import com.kpelykh.docker.client.model.ContainerConfig;
+
+public class HedgingTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldTrackLatencyAndHedgeInspects() throws Exception {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "true" });
+		String containerId = dockerClient.createContainer(containerConfig).getId();
+		tmpContainers.add(containerId);
+
+		HedgingClientHttpRequestFactory hedging = new HedgingClientHttpRequestFactory();
+		hedging.setPercentile(0.5);
+		hedging.setMinDelay(0, TimeUnit.MILLISECONDS);
+		DockerClient hedgingClient = new DockerClient(dockerClient.getDockerDeamonUrl());
+		hedgingClient.setRequestFactory(hedging);
+		try {
+			for (int i = 0; i < 100; i++) {
+				assertThat(hedgingClient.inspectContainer(containerId).getId(), is(equalTo(containerId)));
+			}
+		} finally {
+			hedging.shutdown();
+		}
+
+		LatencyTracker latencyTracker = hedging.getLatencyTracker("/containers/{id}/json");
+		assertThat(latencyTracker, is(notNullValue()));
+		assertThat(latencyTracker.getSampleCount(), is(greaterThan(0)));
+		// with the median as hedge delay, the slower half of the inspects is sent twice
+		assertThat(hedging.getHedged(), is(greaterThan(0L)));
+	}
+
+}
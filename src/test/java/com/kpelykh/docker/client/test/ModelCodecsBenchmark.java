@@ -0,0 +1,53 @@
+package com.kpelykh.docker.client.test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kpelykh.docker.client.codec.ModelCodecs;
+import com.kpelykh.docker.client.model.Container;
+
+/**
+ * Compares how fast Jackson and the model codecs read container lists. Not part of the test suite, run its main method
+ * with the test class path.
+ */
+public class ModelCodecsBenchmark {
+
+	public static void main(String[] args) throws IOException {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < 200; i++) {
+			json.append(i == 0 ? "" : ",").append(ModelCodecsTest.CONTAINER);
+		}
+		String containers = json.append(']').toString();
+
+		long jacksonFirst = firstRead(new ObjectMapper(), containers);
+		long codecsFirst = firstRead(ModelCodecs.newObjectMapper(), containers);
+		System.out.println("First list read took " + jacksonFirst + "us with Jackson and " + codecsFirst
+				+ "us with the codecs.");
+
+		ObjectMapper jackson = new ObjectMapper();
+		ObjectMapper codecs = ModelCodecs.newObjectMapper();
+		for (int round = 0; round < 3; round++) {
+			long jacksonRate = (long) listsPerSecond(jackson, containers);
+			long codecsRate = (long) listsPerSecond(codecs, containers);
+			System.out.println("Reading lists of 200 containers: " + jacksonRate + "/s with Jackson, " + codecsRate
+					+ "/s with the codecs.");
+		}
+	}
+
+	private static long firstRead(ObjectMapper mapper, String json) throws IOException {
+		long start = System.nanoTime();
+		mapper.readValue(json, Container[].class);
+		return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+	}
+
+	private static double listsPerSecond(ObjectMapper mapper, String json) throws IOException {
+		int reads = 2000;
+		long start = System.nanoTime();
+		for (int i = 0; i < reads; i++) {
+			mapper.readValue(json, Container[].class);
+		}
+		return reads * (double) TimeUnit.SECONDS.toNanos(1) / (System.nanoTime() - start);
+	}
+
+}
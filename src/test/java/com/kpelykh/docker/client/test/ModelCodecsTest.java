@@ -0,0 +1,92 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kpelykh.docker.client.codec.ModelCodecs;
+import com.kpelykh.docker.client.model.Container;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.ContainerInspectResponse;
+import com.kpelykh.docker.client.model.HostPortBinding;
+import com.kpelykh.docker.client.model.ImageInspectResponse;
+import com.kpelykh.docker.client.model.Info;
+
+/**
+ * Checks that the codecs bind like Jackson does, see {@link ModelCodecsBenchmark} for their speed.
+ */
+public class ModelCodecsTest {
+
+	private static final ObjectMapper JACKSON = new ObjectMapper();
+
+	static final String CONTAINER = "{\"Id\":\"8dfafdbc3a40\",\"Image\":\"busybox:latest\",\"Command\":\"echo 1\","
+			+ "\"Created\":1367854155,\"Status\":\"Exit 0\",\"Ports\":[{\"IP\":\"0.0.0.0\",\"PrivatePort\":2222,\"PublicPort\":3333,"
+			+ "\"Type\":\"tcp\"}],\"SizeRw\":12288,\"SizeRootFs\":\"0\",\"Names\":[\"/boring_feynman\",null],\"Labels\":{\"a\":[1]}}";
+
+	private static final String INSPECTED_CONTAINER = "{\"Id\":\"4fa6e0f0c678\",\"Created\":\"2013-05-07T14:51:42.041847+02:00\","
+			+ "\"Path\":\"date\",\"Args\":[],\"Config\":{\"Hostname\":\"4fa6e0f0c678\",\"User\":\"\",\"Memory\":0,\"MemorySwap\":0,"
+			+ "\"AttachStdin\":false,\"AttachStdout\":true,\"AttachStderr\":true,\"PortSpecs\":null,\"Tty\":false,\"OpenStdin\":false,"
+			+ "\"StdinOnce\":false,\"Env\":[\"PATH=/bin\"],\"Cmd\":[\"date\"],\"Dns\":null,\"Image\":\"base\",\"Volumes\":null,"
+			+ "\"VolumesFrom\":\"\",\"WorkingDir\":\"\",\"ExposedPorts\":{\"80/tcp\":{}},\"OnBuild\":null,\"Unknown\":{\"x\":1}},"
+			+ "\"State\":{\"Running\":true,\"Paused\":false,\"Pid\":\"42\",\"ExitCode\":0,\"StartedAt\":\"2013-05-07T14:51:42Z\","
+			+ "\"FinishedAt\":\"0001-01-01T00:00:00Z\",\"Ghost\":false},\"Image\":\"b750fe79269d\",\"NetworkSettings\":{"
+			+ "\"IPAddress\":\"172.17.0.2\",\"IPPrefixLen\":16,\"Gateway\":\"172.17.42.1\",\"Bridge\":\"docker0\","
+			+ "\"PortMapping\":null,\"Ports\":{\"80/tcp\":[{\"HostIp\":\"0.0.0.0\",\"HostPort\":\"49153\"}]}},"
+			+ "\"SysInitPath\":\"/usr/bin/docker\",\"ResolvConfPath\":\"/etc/resolv.conf\",\"Volumes\":{},\"VolumesRW\":{},"
+			+ "\"HostConfig\":{\"Binds\":null,\"Privileged\":false},\"Name\":\"/test\",\"Driver\":\"aufs\",\"ExecDriver\":\"native-0.2\","
+			+ "\"MountLabel\":\"\"}";
+
+	private static final String INSPECTED_IMAGE = "{\"Id\":\"b750fe79269d\",\"Parent\":\"27cf78414709\",\"Created\":"
+			+ "\"2013-03-23T22:24:18.818426-07:00\",\"Container\":\"3d67245a8d72\",\"ContainerConfig\":{\"Image\":\"base\","
+			+ "\"Cmd\":[\"/bin/sh\"]},\"Size\":6824592,\"DockerVersion\":\"0.11.1\",\"Config\":null,\"Architecture\":\"amd64\","
+			+ "\"Os\":\"linux\"}";
+
+	private static final String INFO = "{\"Containers\":11,\"Images\":16,\"Driver\":\"aufs\",\"DriverStatus\":[[\"Root Dir\","
+			+ "\"/var/lib/docker/aufs\"],[\"Dirs\",\"39\"]],\"Debug\":0,\"NFd\":11,\"NGoroutines\":21,\"MemoryLimit\":1,"
+			+ "\"SwapLimit\":0,\"IPv4Forwarding\":1,\"ExecutionDriver\":\"native-0.2\",\"KernelVersion\":\"3.12.0-1-amd64\"}";
+
+	@Test
+	public void shouldReadLikeJackson() throws IOException {
+		ObjectMapper codecs = ModelCodecs.newObjectMapper();
+
+		assertSameBinding(codecs, "[" + CONTAINER + "," + CONTAINER + "]", Container[].class);
+		assertSameBinding(codecs, INSPECTED_CONTAINER, ContainerInspectResponse.class);
+		assertSameBinding(codecs, INSPECTED_IMAGE, ImageInspectResponse.class);
+		assertSameBinding(codecs, INFO, Info.class);
+		assertSameBinding(codecs, "{}", ContainerConfig.class);
+	}
+
+	@Test
+	public void shouldWriteLikeJackson() throws IOException {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "sleep", "60" });
+		containerConfig.setEnv(new String[] { "A=1", null });
+		containerConfig.setMemoryLimit(Long.MAX_VALUE);
+		containerConfig.setExposedPorts(Collections.<String, Map<String, HostPortBinding>> singletonMap("80/tcp",
+				new HashMap<String, HostPortBinding>()));
+
+		JsonNode expected = JACKSON.readTree(JACKSON.writeValueAsString(containerConfig));
+		JsonNode actual = JACKSON.readTree(ModelCodecs.newObjectMapper().writeValueAsString(containerConfig));
+
+		assertThat(actual, is(equalTo(expected)));
+	}
+
+	private static void assertSameBinding(ObjectMapper codecs, String json, Class<?> type) throws IOException {
+		assertThat(tree(codecs.readValue(json, type)), is(equalTo(tree(JACKSON.readValue(json, type)))));
+	}
+
+	private static JsonNode tree(Object value) {
+		return JACKSON.valueToTree(value);
+	}
+
+}
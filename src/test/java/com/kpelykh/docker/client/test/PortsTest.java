@@ -0,0 +1,59 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kpelykh.docker.client.model.Ports;
+import com.kpelykh.docker.client.model.Ports.Port;
+
+public class PortsTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	public void shouldReadAllBindingsOfInspectedPorts() throws Exception {
+		Ports ports = mapper.readValue("{\"80/tcp\": [{\"HostIp\": \"0.0.0.0\", \"HostPort\": \"8080\"},"
+				+ " {\"HostIp\": \"127.0.0.1\", \"HostPort\": \"8081\"}], \"53/udp\": [{\"HostIp\": \"\", \"HostPort\": \"5353\"}],"
+				+ " \"22/tcp\": null}", Ports.class);
+
+		List<Port> bindings = ports.getBindings("80");
+		assertThat(bindings.size(), is(equalTo(2)));
+		assertThat(bindings.get(0).getHostPort(), is(equalTo("8080")));
+		assertThat(bindings.get(1).getHostIp(), is(equalTo("127.0.0.1")));
+		assertThat(bindings.get(1).getScheme(), is(equalTo("tcp")));
+		assertThat(ports.getAllPorts().get("80").getHostPort(), is(equalTo("8080")));
+		assertThat(ports.getAllPorts().get("53").getScheme(), is(equalTo("udp")));
+		assertThat(ports.getAllPorts().get("22"), is(nullValue()));
+		assertThat(ports.getBindings().size(), is(equalTo(3)));
+	}
+
+	@Test
+	public void shouldReadPortsOfListedContainers() throws Exception {
+		Ports ports = mapper.readValue("[{\"IP\": \"0.0.0.0\", \"PrivatePort\": 80, \"PublicPort\": 49153, \"Type\": \"tcp\"},"
+				+ " {\"PrivatePort\": 443, \"Type\": \"tcp\"}]", Ports.class);
+
+		assertThat(ports.getBindings().size(), is(equalTo(1)));
+		Port port = ports.getAllPorts().get("80");
+		assertThat(port.getHostIp(), is(equalTo("0.0.0.0")));
+		assertThat(port.getHostPort(), is(equalTo("49153")));
+	}
+
+	@Test
+	public void shouldWriteAllBindings() throws Exception {
+		Ports ports = new Ports();
+		ports.addPort(Port.makePort("80/tcp", "0.0.0.0", "8080"));
+		ports.addPort(Port.makePort("80/tcp", "127.0.0.1", "8081"));
+
+		Ports copy = mapper.readValue(mapper.writeValueAsString(ports), Ports.class);
+		assertThat(copy.getBindings("80").size(), is(equalTo(2)));
+		assertThat(copy.getBindings("80").get(1).getHostPort(), is(equalTo("8081")));
+	}
+
+}
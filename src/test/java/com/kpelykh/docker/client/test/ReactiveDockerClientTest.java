@@ -0,0 +1,123 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.LogFrame;
+import com.kpelykh.docker.client.model.ProgressMessage;
+import com.kpelykh.docker.client.reactive.ReactiveDockerClient;
+
+public class ReactiveDockerClientTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldPublishContainerOutputOnDemand() throws Exception {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "sh", "-c", "echo one; echo two; echo three" });
+		String containerId = dockerClient.createContainer(containerConfig).getId();
+		tmpContainers.add(containerId);
+		dockerClient.startContainer(containerId);
+		dockerClient.waitContainer(containerId);
+
+		CollectingSubscriber<LogFrame> subscriber = new CollectingSubscriber<LogFrame>(1);
+		new ReactiveDockerClient(dockerClient).logs(containerId, false).subscribe(subscriber);
+
+		assertThat(subscriber.await(), is(true));
+		StringBuilder output = new StringBuilder();
+		for (LogFrame frame : subscriber.items) {
+			output.append(frame.getText());
+		}
+		assertThat(output.toString(), containsString("one\ntwo\nthree"));
+	}
+
+	@Test
+	public void shouldPublishBuildProgress() throws Exception {
+		File baseDir = new File(Thread.currentThread().getContextClassLoader().getResource("nginx").getFile());
+
+		CollectingSubscriber<ProgressMessage> subscriber = new CollectingSubscriber<ProgressMessage>(Long.MAX_VALUE);
+		Publisher<ProgressMessage> build = new ReactiveDockerClient(dockerClient).build(baseDir, null);
+		build.subscribe(subscriber);
+
+		assertThat(subscriber.await(), is(true));
+		assertThat(subscriber.failure, is((Throwable) null));
+		assertThat(subscriber.items.get(subscriber.items.size() - 1).getStream(), containsString("Successfully built"));
+	}
+
+	@Test
+	public void shouldPublishPullFailureAsError() throws Exception {
+		CollectingSubscriber<ProgressMessage> subscriber = new CollectingSubscriber<ProgressMessage>(Long.MAX_VALUE);
+		new ReactiveDockerClient(dockerClient).pull("does_not_exist_" + System.currentTimeMillis(), "latest").subscribe(subscriber);
+
+		assertThat(subscriber.await(), is(true));
+		assertThat(subscriber.failure, is(notNullValue()));
+	}
+
+	/**
+	 * Requests a fixed number of items at a time, asking for more once they all arrived.
+	 */
+	private static class CollectingSubscriber<T> implements Subscriber<T> {
+
+		private final long batch;
+
+		private final List<T> items = new CopyOnWriteArrayList<T>();
+
+		private final CountDownLatch terminated = new CountDownLatch(1);
+
+		private volatile Throwable failure;
+
+		private Subscription subscription;
+
+		private long outstanding;
+
+		CollectingSubscriber(long batch) {
+			this.batch = batch;
+		}
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			this.subscription = subscription;
+			outstanding = batch;
+			subscription.request(batch);
+		}
+
+		@Override
+		public void onNext(T item) {
+			items.add(item);
+			if (batch != Long.MAX_VALUE && --outstanding == 0) {
+				outstanding = batch;
+				subscription.request(batch);
+			}
+		}
+
+		@Override
+		public void onError(Throwable failure) {
+			this.failure = failure;
+			terminated.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			terminated.countDown();
+		}
+
+		boolean await() throws InterruptedException {
+			return terminated.await(60, TimeUnit.SECONDS);
+		}
+
+	}
+
+}
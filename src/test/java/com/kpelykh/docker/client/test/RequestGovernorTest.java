@@ -0,0 +1,81 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.DockerException;
+import com.kpelykh.docker.client.governor.EndpointClass;
+import com.kpelykh.docker.client.governor.GovernorMetrics;
+import com.kpelykh.docker.client.governor.RequestGovernor;
+import com.kpelykh.docker.client.model.ContainerConfig;
+
+public class RequestGovernorTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldAdmitConcurrentCreatesWithinLimits() throws Exception {
+		RequestGovernor governor = new RequestGovernor();
+		governor.setLimits(EndpointClass.MUTATE, 2, 20, 2);
+		final DockerClient governedClient = new DockerClient(dockerClient.getDockerDeamonUrl());
+		governedClient.setRequestGovernor(governor);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<String>> containerIds = new ArrayList<Future<String>>();
+		try {
+			for (int i = 0; i < 8; i++) {
+				containerIds.add(executor.submit(new Callable<String>() {
+					@Override
+					public String call() {
+						ContainerConfig containerConfig = new ContainerConfig();
+						containerConfig.setImage("busybox");
+						containerConfig.setCmd(new String[] { "true" });
+						return governedClient.createContainer(containerConfig).getId();
+					}
+				}));
+			}
+			for (Future<String> containerId : containerIds) {
+				tmpContainers.add(containerId.get(30, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		GovernorMetrics metrics = governor.getMetrics(EndpointClass.MUTATE);
+		assertThat(metrics.getAdmitted(), is(greaterThanOrEqualTo(8L)));
+		assertThat(metrics.getInFlight(), is(equalTo(0)));
+		assertThat(metrics.getQueued(), is(equalTo(0)));
+	}
+
+	@Test
+	public void shouldRejectRequestWhichWaitsTooLong() throws Exception {
+		RequestGovernor governor = new RequestGovernor();
+		governor.setLimits(EndpointClass.READ, 0, 0.1, 1);
+		governor.setMaxQueueWait(100, TimeUnit.MILLISECONDS);
+		DockerClient governedClient = new DockerClient(dockerClient.getDockerDeamonUrl());
+		governedClient.setRequestGovernor(governor);
+
+		governedClient.listContainers(true);
+		try {
+			governedClient.listContainers(true);
+		} catch (DockerException e) {
+			assertThat(e.getMessage(), containsString("was not admitted within 100ms"));
+			assertThat(governor.getMetrics(EndpointClass.READ).getRejected(), is(equalTo(1L)));
+			return;
+		}
+		throw new AssertionError("Request beyond the rate limit was admitted.");
+	}
+
+}
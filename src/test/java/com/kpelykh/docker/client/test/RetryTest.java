@@ -0,0 +1,195 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.kpelykh.docker.client.ConflictException;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.retry.CircuitBreaker;
+import com.kpelykh.docker.client.retry.CircuitOpenException;
+import com.kpelykh.docker.client.retry.RetryInterceptor;
+import com.kpelykh.docker.client.retry.RetryPolicy;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
+
+public class RetryTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldReportConflictOfNamedCreate() {
+		DockerClient retryingClient = new DockerClient(dockerClient.getDockerDeamonUrl());
+		retryingClient.setRetryInterceptor(new RetryInterceptor());
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "true" });
+		String name = "retry-" + UUID.randomUUID().toString().substring(0, 8);
+
+		tmpContainers.add(retryingClient.createContainer(containerConfig, name).getId());
+		try {
+			retryingClient.createContainer(containerConfig, name);
+		} catch (ConflictException e) {
+			assertThat(e.getMessage(), containsString(name));
+			return;
+		}
+		throw new AssertionError("Second create of '" + name + "' did not conflict.");
+	}
+
+	@Test
+	public void shouldOpenCircuitOfUnreachableDaemon() throws Exception {
+		String unreachable = "http://localhost:1";
+		RetryInterceptor retryInterceptor = new RetryInterceptor(new RetryPolicy(2, 1, 1, 1), 2, 1, TimeUnit.MINUTES);
+		DockerClient retryingClient = new DockerClient(unreachable);
+		retryingClient.setRetryInterceptor(retryInterceptor);
+
+		try {
+			retryingClient.listContainers(true);
+		} catch (ResourceAccessException expected) {
+			// both attempts failed
+		}
+		CircuitBreaker circuitBreaker = retryInterceptor.getCircuitBreaker(new URI(unreachable));
+		assertThat(circuitBreaker.getState(), is(equalTo(CircuitBreaker.State.OPEN)));
+		try {
+			retryingClient.listContainers(true);
+		} catch (CircuitOpenException expected) {
+			return;
+		}
+		throw new AssertionError("Request was sent to a daemon with an open circuit.");
+	}
+
+	@Test
+	public void shouldLookUpContainerCreatedByDroppedAttempt() throws Exception {
+		FakeDaemon daemon = new FakeDaemon("4fa6e0f0c678");
+		try {
+			DockerClient retryingClient = new DockerClient("http://localhost:" + daemon.getPort());
+			retryingClient.setRetryInterceptor(new RetryInterceptor(new RetryPolicy(2, 1, 1, 1), 5, 1, TimeUnit.MINUTES));
+			ContainerConfig containerConfig = new ContainerConfig();
+			containerConfig.setImage("busybox");
+
+			assertThat(retryingClient.createContainer(containerConfig, "retried").getId(), is(equalTo("4fa6e0f0c678")));
+			assertThat(daemon.getRequests(), contains("POST /containers/create?name=retried",
+					"POST /containers/create?name=retried", "GET /containers/retried/json"));
+		} finally {
+			daemon.close();
+		}
+	}
+
+	@Test
+	public void shouldSendNewTrialIfTrialWasLost() throws Exception {
+		CircuitBreaker circuitBreaker = new CircuitBreaker(1, 50, TimeUnit.MILLISECONDS);
+		circuitBreaker.onFailure();
+		Thread.sleep(60);
+		assertThat(circuitBreaker.allowRequest(), is(true));
+		assertThat(circuitBreaker.allowRequest(), is(false));
+
+		// the trial never reports back
+		Thread.sleep(60);
+		assertThat(circuitBreaker.allowRequest(), is(true));
+		circuitBreaker.onSuccess();
+		assertThat(circuitBreaker.getState(), is(equalTo(CircuitBreaker.State.CLOSED)));
+	}
+
+	/**
+	 * Creates the container but drops the connection before answering the first create, so the retry conflicts with
+	 * the container created by the first attempt.
+	 */
+	private static class FakeDaemon implements Runnable {
+
+		private final String containerId;
+
+		private final ServerSocket serverSocket;
+
+		private final List<String> requests = new CopyOnWriteArrayList<String>();
+
+		FakeDaemon(String containerId) throws IOException {
+			this.containerId = containerId;
+			serverSocket = new ServerSocket(0);
+			new DaemonThreadFactory("fake-daemon").newThread(this).start();
+		}
+
+		int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		List<String> getRequests() {
+			return requests;
+		}
+
+		@Override
+		public void run() {
+			while (!serverSocket.isClosed()) {
+				try {
+					Socket socket = serverSocket.accept();
+					try {
+						serve(socket);
+					} finally {
+						socket.close();
+					}
+				} catch (IOException e) {
+					// closed
+				}
+			}
+		}
+
+		private void serve(Socket socket) throws IOException {
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "US-ASCII"));
+			String requestLine = in.readLine();
+			if (requestLine == null) {
+				return;
+			}
+			int contentLength = 0;
+			for (String header = in.readLine(); header != null && !header.isEmpty(); header = in.readLine()) {
+				if (header.toLowerCase().startsWith("content-length:")) {
+					contentLength = Integer.parseInt(header.substring("content-length:".length()).trim());
+				}
+			}
+			in.skip(contentLength);
+			String request = requestLine.substring(0, requestLine.lastIndexOf(' '));
+			requests.add(request);
+
+			if (request.startsWith("POST /containers/create")) {
+				if (requests.size() == 1) {
+					// created, but the answer is lost
+					return;
+				}
+				respond(socket, "409 Conflict", "text/plain", "Conflict, The name retried is already assigned to "
+						+ containerId + ".");
+			} else if (request.equals("GET /containers/retried/json")) {
+				respond(socket, "200 OK", "application/json", "{\"Id\":\"" + containerId + "\"}");
+			} else {
+				respond(socket, "404 Not Found", "text/plain", "No such container");
+			}
+		}
+
+		private static void respond(Socket socket, String status, String contentType, String body) throws IOException {
+			byte[] content = body.getBytes("US-ASCII");
+			OutputStream out = socket.getOutputStream();
+			out.write(("HTTP/1.1 " + status + "\r\nContent-Type: " + contentType + "\r\nContent-Length: "
+					+ content.length + "\r\nConnection: close\r\n\r\n").getBytes("US-ASCII"));
+			out.write(content);
+			out.flush();
+		}
+
+		void close() throws IOException {
+			serverSocket.close();
+		}
+
+	}
+
+}
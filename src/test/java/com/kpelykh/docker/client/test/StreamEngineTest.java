@@ -0,0 +1,155 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.kpelykh.docker.client.NotFoundException;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.LogFrame;
+import com.kpelykh.docker.client.nio.DaemonAddress;
+import com.kpelykh.docker.client.nio.StreamEngine;
+import com.kpelykh.docker.client.nio.StreamHandle;
+import com.kpelykh.docker.client.nio.StreamHandler;
+
+public class StreamEngineTest extends AbstractDockerClientTest {
+
+	private static final int CONTAINERS = 5;
+
+	private StreamEngine streamEngine;
+
+	private DaemonAddress address;
+
+	@Before
+	public void setUpEngine() {
+		streamEngine = new StreamEngine();
+		address = DaemonAddress.parse(dockerClient.getDockerDeamonUrl());
+	}
+
+	@After
+	public void shutdownEngine() {
+		streamEngine.shutdown();
+	}
+
+	@Test
+	public void shouldFollowLogsOfSeveralContainers() throws Exception {
+		List<String> containerIds = new ArrayList<String>();
+		for (int i = 0; i < CONTAINERS; i++) {
+			ContainerConfig containerConfig = new ContainerConfig();
+			containerConfig.setImage("busybox");
+			containerConfig.setCmd(new String[] { "sh", "-c", "echo container" + i + "; sleep 60" });
+			String containerId = dockerClient.createContainer(containerConfig).getId();
+			tmpContainers.add(containerId);
+			containerIds.add(containerId);
+		}
+
+		final ConcurrentHashMap<String, String> firstLines = new ConcurrentHashMap<String, String>();
+		final CountDownLatch received = new CountDownLatch(CONTAINERS);
+		final CountDownLatch closed = new CountDownLatch(CONTAINERS);
+		final List<Throwable> failures = new ArrayList<Throwable>();
+		List<StreamHandle> handles = new ArrayList<StreamHandle>();
+		for (final String containerId : containerIds) {
+			handles.add(streamEngine.followLogs(address, containerId, new StreamHandler() {
+				@Override
+				public void onFrame(LogFrame frame) {
+					if (firstLines.putIfAbsent(containerId, frame.getText().trim()) == null) {
+						received.countDown();
+					}
+				}
+
+				@Override
+				public void onClosed(Throwable cause) {
+					if (cause != null) {
+						synchronized (failures) {
+							failures.add(cause);
+						}
+					}
+					closed.countDown();
+				}
+			}));
+		}
+		for (String containerId : containerIds) {
+			dockerClient.startContainer(containerId);
+		}
+
+		assertThat(received.await(30, TimeUnit.SECONDS), is(true));
+		for (int i = 0; i < CONTAINERS; i++) {
+			assertThat(firstLines.get(containerIds.get(i)), is(equalTo("container" + i)));
+		}
+		assertThat(streamEngine.getOpenStreams(), is(equalTo(CONTAINERS)));
+
+		for (StreamHandle handle : handles) {
+			handle.close();
+		}
+		assertThat(closed.await(10, TimeUnit.SECONDS), is(true));
+		assertThat(failures.isEmpty(), is(true));
+		assertThat(streamEngine.getOpenStreams(), is(equalTo(0)));
+	}
+
+	@Test
+	public void shouldReportMissingContainer() throws Exception {
+		final CountDownLatch closed = new CountDownLatch(1);
+		final Throwable[] failure = new Throwable[1];
+		streamEngine.followLogs(address, UUID.randomUUID().toString(), new StreamHandler() {
+			@Override
+			public void onFrame(LogFrame frame) {
+				throw new AssertionError("Unexpected frame " + frame);
+			}
+
+			@Override
+			public void onClosed(Throwable cause) {
+				failure[0] = cause;
+				closed.countDown();
+			}
+		});
+
+		assertThat(closed.await(10, TimeUnit.SECONDS), is(true));
+		assertThat(failure[0], is(instanceOf(NotFoundException.class)));
+	}
+
+	@Test
+	public void shouldEndStreamsOnShutdown() throws Exception {
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "sleep", "60" });
+		String containerId = dockerClient.createContainer(containerConfig).getId();
+		tmpContainers.add(containerId);
+		dockerClient.startContainer(containerId);
+
+		final CountDownLatch closed = new CountDownLatch(1);
+		final Throwable[] failure = new Throwable[1];
+		StreamHandle handle = streamEngine.followStats(address, containerId, new StreamHandler() {
+			@Override
+			public void onFrame(LogFrame frame) {
+			}
+
+			@Override
+			public void onClosed(Throwable cause) {
+				failure[0] = cause;
+				closed.countDown();
+			}
+		});
+		assertThat(handle.isOpen(), is(true));
+
+		streamEngine.shutdown();
+
+		assertThat(closed.await(10, TimeUnit.SECONDS), is(true));
+		assertThat(failure[0], is(not(nullValue())));
+		assertThat(handle.isOpen(), is(false));
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.model.Container;
+import com.kpelykh.docker.client.model.ContainerConfig;
+import com.kpelykh.docker.client.model.HostPortBinding;
+
+public class StreamingCodecsTest extends AbstractDockerClientTest {
+
+	private static final ObjectMapper JACKSON = new ObjectMapper();
+
+	@Test
+	public void shouldBindDaemonResponsesLikeJackson() {
+		DockerClient codecClient = new DockerClient(dockerClient.getDockerDeamonUrl());
+		codecClient.setStreamingCodecs(true);
+
+		ContainerConfig containerConfig = new ContainerConfig();
+		containerConfig.setImage("busybox");
+		containerConfig.setCmd(new String[] { "sleep", "60" });
+		Map<String, Map<String, HostPortBinding>> exposedPorts = new HashMap<String, Map<String, HostPortBinding>>();
+		exposedPorts.put("80/tcp", new HashMap<String, HostPortBinding>());
+		containerConfig.setExposedPorts(exposedPorts);
+		String containerId = codecClient.createContainer(containerConfig).getId();
+		tmpContainers.add(containerId);
+		codecClient.startContainer(containerId);
+
+		assertThat(tree(codecClient.inspectContainer(containerId)), is(equalTo(tree(dockerClient.inspectContainer(containerId)))));
+		assertThat(tree(codecClient.inspectImage("busybox")), is(equalTo(tree(dockerClient.inspectImage("busybox")))));
+		assertThat(codecClient.info().getDriver(), is(equalTo(dockerClient.info().getDriver())));
+
+		List<Container> containers = codecClient.listContainers(true);
+		assertThat(tree(containers), is(equalTo(tree(dockerClient.listContainers(true)))));
+	}
+
+	private static JsonNode tree(Object value) {
+		return JACKSON.valueToTree(value);
+	}
+
+}
@@ -0,0 +1,159 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.SSLServerSocket;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.lanes.ConnectionLanes;
+import com.kpelykh.docker.client.tls.HandshakeMetrics;
+import com.kpelykh.docker.client.tls.TlsSettings;
+import com.kpelykh.docker.client.tls.TlsTransport;
+import com.kpelykh.docker.client.utils.DaemonThreadFactory;
+
+/**
+ * Runs against a local fake daemon which terminates TLS and requires a client certificate.
+ */
+public class TlsTransportTest {
+
+	private static final String PASSWORD = "changeit";
+
+	private FakeTlsDaemon daemon;
+
+	private TlsTransport tlsTransport;
+
+	private ConnectionLanes connectionLanes;
+
+	private DockerClient dockerClient;
+
+	@Before
+	public void setUp() throws Exception {
+		daemon = new FakeTlsDaemon(TlsSettings.fromKeyStores(resource("daemon.jks"), PASSWORD, resource("daemon-trust.jks"),
+				PASSWORD));
+		tlsTransport = new TlsTransport(TlsSettings.fromKeyStores(resource("client.jks"), PASSWORD, resource("client-trust.jks"),
+				PASSWORD));
+		dockerClient = new DockerClient("https://localhost:" + daemon.getPort());
+		connectionLanes = tlsTransport.configure(dockerClient);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		connectionLanes.shutdown();
+		daemon.close();
+	}
+
+	@Test
+	public void shouldReuseTlsConnection() {
+		for (int i = 0; i < 10; i++) {
+			assertThat(dockerClient.ping(), is(equalTo(200)));
+		}
+
+		HandshakeMetrics metrics = tlsTransport.getHandshakeMetrics();
+		assertThat(metrics.getHandshakes(), is(equalTo(1L)));
+		assertThat(daemon.getConnections(), is(equalTo(1)));
+	}
+
+	@Test
+	public void shouldResumeSessionOnNewConnection() {
+		assertThat(dockerClient.ping(), is(equalTo(200)));
+		connectionLanes.getControlLane().closeIdleConnections(0, TimeUnit.MILLISECONDS);
+		assertThat(dockerClient.ping(), is(equalTo(200)));
+
+		HandshakeMetrics metrics = tlsTransport.getHandshakeMetrics();
+		assertThat(metrics.getHandshakes(), is(equalTo(2L)));
+		assertThat(metrics.getFullHandshakes(), is(equalTo(1L)));
+		assertThat(metrics.getResumed(), is(equalTo(1L)));
+		assertThat(daemon.getConnections(), is(equalTo(2)));
+	}
+
+	private File resource(String name) throws URISyntaxException {
+		return new File(getClass().getResource("/tls/" + name).toURI());
+	}
+
+	/**
+	 * Answers every request with an empty 200 response and keeps connections alive.
+	 */
+	private static class FakeTlsDaemon implements Runnable {
+
+		private final SSLServerSocket serverSocket;
+
+		private final AtomicInteger connections = new AtomicInteger();
+
+		private final DaemonThreadFactory threadFactory = new DaemonThreadFactory("fake-tls-daemon");
+
+		FakeTlsDaemon(TlsSettings settings) throws IOException {
+			serverSocket = (SSLServerSocket) settings.getSslContext().getServerSocketFactory().createServerSocket(0);
+			serverSocket.setNeedClientAuth(true);
+			threadFactory.newThread(this).start();
+		}
+
+		int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		int getConnections() {
+			return connections.get();
+		}
+
+		@Override
+		public void run() {
+			while (!serverSocket.isClosed()) {
+				try {
+					final Socket socket = serverSocket.accept();
+					connections.incrementAndGet();
+					threadFactory.newThread(new Runnable() {
+						@Override
+						public void run() {
+							serve(socket);
+						}
+					}).start();
+				} catch (IOException e) {
+					// closed
+				}
+			}
+		}
+
+		private void serve(Socket socket) {
+			try {
+				BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "US-ASCII"));
+				OutputStream out = socket.getOutputStream();
+				String line;
+				while ((line = in.readLine()) != null) {
+					if (line.isEmpty()) {
+						out.write("HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: 2\r\n\r\nOK".getBytes("US-ASCII"));
+						out.flush();
+					}
+				}
+			} catch (IOException e) {
+				// connection closed by the client
+			} finally {
+				try {
+					socket.close();
+				} catch (IOException ignore) {
+				}
+			}
+		}
+
+		void close() throws IOException {
+			serverSocket.close();
+		}
+
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.kpelykh.docker.client.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+
+import com.kpelykh.docker.client.DockerClient;
+import com.kpelykh.docker.client.lanes.ConnectionLanes;
+
+public class WarmUpTest extends AbstractDockerClientTest {
+
+	@Test
+	public void shouldBeReadyAfterWarmUp() {
+		ConnectionLanes lanes = new ConnectionLanes(4, 1);
+		DockerClient warmClient = new DockerClient(dockerClient.getDockerDeamonUrl());
+		warmClient.setConnectionLanes(lanes);
+		try {
+			warmClient.setWarmUpConnections(3);
+			assertThat(warmClient.isReady(), is(false));
+
+			warmClient.afterPropertiesSet();
+
+			assertThat(warmClient.isReady(), is(true));
+			assertThat(lanes.getControlLane().getAvailable(), is(greaterThanOrEqualTo(1)));
+		} finally {
+			lanes.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldNotBeReadyIfWarmUpFailed() {
+		DockerClient unreachableClient = new DockerClient("http://localhost:1");
+		unreachableClient.setWarmUpConnections(1);
+
+		unreachableClient.afterPropertiesSet();
+
+		assertThat(unreachableClient.isReady(), is(false));
+	}
+
+	@Test
+	public void shouldBeReadyWithoutWarmUp() {
+		DockerClient coldClient = new DockerClient(dockerClient.getDockerDeamonUrl());
+		coldClient.afterPropertiesSet();
+
+		assertThat(coldClient.isReady(), is(true));
+	}
+
+	@Test
+	public void shouldWarmUpWithoutExtraConnections() {
+		DockerClient warmClient = new DockerClient(dockerClient.getDockerDeamonUrl());
+
+		warmClient.warmUp(0);
+
+		assertThat(warmClient.isReady(), is(true));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNegativeConnections() {
+		new DockerClient(dockerClient.getDockerDeamonUrl()).warmUp(-1);
+	}
+
+}